@@ -40,8 +40,10 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Manages the camera and allows UI updates on top of it (e.g. overlaying extra Graphics or
@@ -107,15 +109,14 @@ public class CameraSource {
   private VisionImageProcessor frameProcessor;
 
   /**
-   * Map to convert between a byte array, received from the camera, and its associated byte buffer.
-   * We use byte buffers internally because this is a more efficient way to call into native code
-   * later (avoids a potential copy).
+   * The byte buffers wrapping the preview buffers given to the camera, to convert a byte array
+   * received from the camera back to its buffer. We use byte buffers internally because this is a
+   * more efficient way to call into native code later (avoids a potential copy).
    *
-   * <p><b>Note:</b> uses IdentityHashMap here instead of HashMap because the behavior of an array's
-   * equals, hashCode and toString methods is both useless and unexpected. IdentityHashMap enforces
-   * identity ('==') check on the keys.
+   * <p>There are only a handful, so they are looked up by identity in a plain array. The array is
+   * replaced, never modified, so the camera thread can read it without locking.
    */
-  private final IdentityHashMap<byte[], ByteBuffer> bytesToByteBuffer = new IdentityHashMap<>();
+  private volatile ByteBuffer[] previewBuffers = new ByteBuffer[0];
 
   public CameraSource(Activity activity, GraphicOverlay overlay) {
     this.activity = activity;
@@ -224,7 +225,7 @@ public class CameraSource {
     }
 
     // Release the reference to any image buffers, since these will no longer be in use.
-    bytesToByteBuffer.clear();
+    previewBuffers = new ByteBuffer[0];
   }
 
   /** Changes the facing of the camera. */
@@ -573,7 +574,9 @@ public class CameraSource {
       throw new IllegalStateException("Failed to create valid buffer for camera source.");
     }
 
-    bytesToByteBuffer.put(byteArray, buffer);
+    ByteBuffer[] buffers = Arrays.copyOf(previewBuffers, previewBuffers.length + 1);
+    buffers[buffers.length - 1] = buffer;
+    previewBuffers = buffers;
     return byteArray;
   }
 
@@ -599,6 +602,24 @@ public class CameraSource {
     }
   }
 
+  /** Returns how many preview frames the camera has delivered since this source was created. */
+  public long getFramesReceived() {
+    return processingRunnable.framesReceived.get();
+  }
+
+  /**
+   * Returns how many preview frames were handed back to the camera unprocessed, because a newer
+   * frame arrived while they were pending.
+   */
+  public long getFramesDropped() {
+    return processingRunnable.framesDropped.get();
+  }
+
+  /** Returns how many preview frames the frame processor has been called with. */
+  public long getFramesProcessed() {
+    return processingRunnable.framesProcessed.get();
+  }
+
   /**
    * This runnable controls access to the underlying receiver, calling it to process frames when
    * available from the camera. This is designed to run detection on frames as fast as possible
@@ -608,24 +629,30 @@ public class CameraSource {
    * frames come in, the most recent frame is held onto as pending. As soon as detection and its
    * associated processing is done for the previous frame, detection on the mostly recently received
    * frame will immediately start on the same thread.
+   *
+   * <p>The pending frame is a single-slot mailbox swapped atomically, so the camera callback never
+   * takes a lock or waits for detection: a frame replaced before it was picked up goes straight
+   * back to the camera from the callback thread.
    */
   private class FrameProcessingRunnable implements Runnable {
 
-    // This lock guards all of the member variables below.
-    private final Object lock = new Object();
-    private boolean active = true;
+    private volatile boolean active = true;
+    // The thread running this runnable, parked while it waits for a frame.
+    private volatile Thread runner;
+
+    // The newest frame awaiting processing, if any.
+    private final AtomicReference<ByteBuffer> pendingFrameData = new AtomicReference<>();
 
-    // These pending variables hold the state associated with the new frame awaiting processing.
-    private ByteBuffer pendingFrameData;
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong framesProcessed = new AtomicLong();
 
     FrameProcessingRunnable() {}
 
-    /** Marks the runnable as active/not active. Signals any blocked threads to continue. */
+    /** Marks the runnable as active/not active. Wakes up the processing thread to notice. */
     void setActive(boolean active) {
-      synchronized (lock) {
-        this.active = active;
-        lock.notifyAll();
-      }
+      this.active = active;
+      LockSupport.unpark(runner);
     }
 
     /**
@@ -634,32 +661,42 @@ public class CameraSource {
      */
     @SuppressWarnings("ByteBufferBackingArray")
     void setNextFrame(byte[] data, Camera camera) {
-      synchronized (lock) {
-        if (pendingFrameData != null) {
-          camera.addCallbackBuffer(pendingFrameData.array());
-          pendingFrameData = null;
-        }
+      framesReceived.incrementAndGet();
+      ByteBuffer buffer = findPreviewBuffer(data);
+      if (buffer == null) {
+        Log.d(
+            TAG,
+            "Skipping frame. Could not find ByteBuffer associated with the image "
+                + "data from the camera.");
+        framesDropped.incrementAndGet();
+        return;
+      }
 
-        if (!bytesToByteBuffer.containsKey(data)) {
-          Log.d(
-              TAG,
-              "Skipping frame. Could not find ByteBuffer associated with the image "
-                  + "data from the camera.");
-          return;
-        }
+      ByteBuffer previous = pendingFrameData.getAndSet(buffer);
+      if (previous != null) {
+        // Latest frame wins; the one it replaced was never picked up.
+        framesDropped.incrementAndGet();
+        camera.addCallbackBuffer(previous.array());
+      }
 
-        pendingFrameData = bytesToByteBuffer.get(data);
+      // Wake the processor thread if it is waiting on the next frame (see below).
+      LockSupport.unpark(runner);
+    }
 
-        // Notify the processor thread if it is waiting on the next frame (see below).
-        lock.notifyAll();
+    private ByteBuffer findPreviewBuffer(byte[] data) {
+      for (ByteBuffer buffer : previewBuffers) {
+        if (buffer.array() == data) {
+          return buffer;
+        }
       }
+      return null;
     }
 
     /**
      * As long as the processing thread is active, this executes detection on frames continuously.
      * The next pending frame is either immediately available or hasn't been received yet. Once it
-     * is available, we transfer the frame info to local variables and run detection on that frame.
-     * It immediately loops back for the next frame without pausing.
+     * is available, we take it out of the mailbox and run detection on that frame. It immediately
+     * loops back for the next frame without pausing.
      *
      * <p>If detection takes longer than the time in between new frames from the camera, this will
      * mean that this loop will run without ever waiting on a frame, avoiding any context switching
@@ -669,59 +706,45 @@ public class CameraSource {
      * FPS setting above to allow for some idle time in between frames.
      */
     @SuppressLint("InlinedApi")
-    @SuppressWarnings({"GuardedBy", "ByteBufferBackingArray"})
+    @SuppressWarnings("ByteBufferBackingArray")
     @Override
     public void run() {
-      ByteBuffer data;
-
-      while (true) {
-        synchronized (lock) {
-          while (active && (pendingFrameData == null)) {
-            try {
-              // Wait for the next frame to be received from the camera, since we
-              // don't have it yet.
-              lock.wait();
-            } catch (InterruptedException e) {
-              Log.d(TAG, "Frame processing loop terminated.", e);
-              return;
-            }
-          }
-
-          if (!active) {
-            // Exit the loop once this camera source is stopped or released.  We check
-            // this here, immediately after the wait() above, to handle the case where
-            // setActive(false) had been called, triggering the termination of this
-            // loop.
-            return;
+      runner = Thread.currentThread();
+      try {
+        while (active) {
+          // Taking the frame out of the mailbox ensures this buffer isn't recycled back to the
+          // camera before we are done using that data.
+          ByteBuffer data = pendingFrameData.getAndSet(null);
+          if (data == null) {
+            // Wait for the next frame to be received from the camera, since we don't have it yet.
+            // A frame arriving before we park leaves a permit, so park returns right away.
+            LockSupport.park(this);
+            continue;
           }
 
-          // Hold onto the frame data locally, so that we can use this for detection
-          // below.  We need to clear pendingFrameData to ensure that this buffer isn't
-          // recycled back to the camera before we are done using that data.
-          data = pendingFrameData;
-          pendingFrameData = null;
-        }
-
-        // The code below needs to run outside of synchronization, because this will allow
-        // the camera to add pending frame(s) while we are running detection on the current
-        // frame.
-
-        try {
-          synchronized (processorLock) {
-            frameProcessor.processByteBuffer(
-                data,
-                new FrameMetadata.Builder()
-                    .setWidth(previewSize.getWidth())
-                    .setHeight(previewSize.getHeight())
-                    .setRotation(rotationDegrees)
-                    .build(),
-                graphicOverlay);
+          try {
+            synchronized (processorLock) {
+              frameProcessor.processByteBuffer(
+                  data,
+                  new FrameMetadata.Builder()
+                      .setWidth(previewSize.getWidth())
+                      .setHeight(previewSize.getHeight())
+                      .setRotation(rotationDegrees)
+                      .build(),
+                  graphicOverlay);
+            }
+            framesProcessed.incrementAndGet();
+          } catch (Exception t) {
+            Log.e(TAG, "Exception thrown from receiver.", t);
+          } finally {
+            camera.addCallbackBuffer(data.array());
           }
-        } catch (Exception t) {
-          Log.e(TAG, "Exception thrown from receiver.", t);
-        } finally {
-          camera.addCallbackBuffer(data.array());
         }
+      } finally {
+        // Exit once this camera source is stopped or released. A frame still pending belongs to a
+        // camera that is about to be released.
+        pendingFrameData.set(null);
+        runner = null;
       }
     }
   }
@@ -0,0 +1,112 @@
+package com.kathline.barcode;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Skips detection on frames of a scene that has not changed since a frame of it last came back
+ * without results, such as a scanner pointed at an empty counter. Each frame is reduced to the mean
+ * luminance of a 32 x 32 grid, sampled from a few rows and columns of the NV21 Y plane; the scene
+ * counts as changed once any cell moves by more than the threshold. Unchanged scenes are still
+ * detected again once per recheck interval, in case focus or exposure settled on something
+ * readable.
+ *
+ * <p>At most one frame is in detection at a time: {@link #shouldDetect} remembers its signature
+ * until {@link #detectFinished} reports how it went.
+ */
+final class FrameChangeGate {
+
+  static final int DEFAULT_THRESHOLD = 8;
+  static final long DEFAULT_RECHECK_INTERVAL_MS = 1000;
+
+  private static final int GRID = 32;
+  private static final int ROWS_PER_CELL = 2;
+  private static final int PIXELS_PER_CELL_ROW = 8;
+
+  private final int[] sums = new int[GRID * GRID];
+  private final int[] counts = new int[GRID * GRID];
+  private final int[] pendingSignature = new int[GRID * GRID];
+  private final int[] emptySignature = new int[GRID * GRID];
+  private boolean hasPendingSignature;
+  private boolean hasEmptySignature;
+  private long lastDetectionMs;
+  private int threshold = DEFAULT_THRESHOLD;
+  private long recheckIntervalMs = DEFAULT_RECHECK_INTERVAL_MS;
+
+  /**
+   * @param threshold         largest change of a cell's mean luminance (0-255) still considered
+   *                          the same scene; 0 disables the gate
+   * @param recheckIntervalMs how often an unchanged scene is detected anyway
+   */
+  synchronized void configure(int threshold, long recheckIntervalMs) {
+    this.threshold = threshold;
+    this.recheckIntervalMs = recheckIntervalMs;
+    hasEmptySignature = false;
+  }
+
+  /**
+   * @param data  an NV21 frame
+   * @param nowMs current time in milliseconds, from a monotonic clock
+   * @return false if detection on the frame should be skipped
+   */
+  synchronized boolean shouldDetect(ByteBuffer data, int width, int height, long nowMs) {
+    if (threshold <= 0) {
+      hasPendingSignature = false;
+      return true;
+    }
+    computeSignature(data, width, height);
+    hasPendingSignature = true;
+    if (!hasEmptySignature
+        || nowMs - lastDetectionMs >= recheckIntervalMs
+        || maxDifference(pendingSignature, emptySignature) > threshold) {
+      lastDetectionMs = nowMs;
+      return true;
+    }
+    return false;
+  }
+
+  /** Reports whether the last frame let through found anything. */
+  synchronized void detectFinished(boolean empty) {
+    if (!hasPendingSignature) {
+      return;
+    }
+    hasPendingSignature = false;
+    if (empty) {
+      System.arraycopy(pendingSignature, 0, emptySignature, 0, emptySignature.length);
+    }
+    hasEmptySignature = empty;
+  }
+
+  private void computeSignature(ByteBuffer data, int width, int height) {
+    Arrays.fill(sums, 0);
+    Arrays.fill(counts, 0);
+    for (int gy = 0; gy < GRID; gy++) {
+      int cellTop = gy * height / GRID;
+      int cellHeight = (gy + 1) * height / GRID - cellTop;
+      for (int r = 0; r < ROWS_PER_CELL && r < cellHeight; r++) {
+        int rowOffset = (cellTop + (2 * r + 1) * cellHeight / (2 * ROWS_PER_CELL)) * width;
+        for (int gx = 0; gx < GRID; gx++) {
+          int cellLeft = gx * width / GRID;
+          int cellRight = (gx + 1) * width / GRID;
+          int step = Math.max(1, (cellRight - cellLeft) / PIXELS_PER_CELL_ROW);
+          int cell = gy * GRID + gx;
+          for (int x = cellLeft; x < cellRight; x += step) {
+            sums[cell] += data.get(rowOffset + x) & 0xff;
+            counts[cell]++;
+          }
+        }
+      }
+    }
+    for (int i = 0; i < pendingSignature.length; i++) {
+      pendingSignature[i] = counts[i] == 0 ? 0 : sums[i] / counts[i];
+    }
+  }
+
+  private static int maxDifference(int[] a, int[] b) {
+    int max = 0;
+    for (int i = 0; i < a.length; i++) {
+      max = Math.max(max, Math.abs(a[i] - b[i]));
+    }
+    return max;
+  }
+}
@@ -19,10 +19,13 @@ package com.kathline.barcode;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Matrix;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
 
+import androidx.annotation.Nullable;
+
 import com.google.common.base.Preconditions;
 
 import java.util.ArrayList;
@@ -66,6 +69,7 @@ public class GraphicOverlay extends View {
   private float postScaleHeightOffset;
   private boolean isImageFlipped;
   private boolean needUpdateTransformation = true;
+  @Nullable private volatile LatencyHistogram drawHistogram;
 
   /**
    * Base class for a custom graphics object to be rendered within the graphic overlay. Subclass
@@ -242,6 +246,7 @@ public class GraphicOverlay extends View {
   protected void onDraw(Canvas canvas) {
     super.onDraw(canvas);
 
+    long startNanos = SystemClock.elapsedRealtimeNanos();
     synchronized (lock) {
       updateTransformationIfNeeded();
 
@@ -249,6 +254,15 @@ public class GraphicOverlay extends View {
         graphic.draw(canvas);
       }
     }
+    LatencyHistogram histogram = drawHistogram;
+    if (histogram != null) {
+      histogram.recordNanos(SystemClock.elapsedRealtimeNanos() - startNanos);
+    }
+  }
+
+  /** Sets where to record how long drawing the graphics takes, or null to stop recording. */
+  public void setDrawHistogram(@Nullable LatencyHistogram histogram) {
+    drawHistogram = histogram;
   }
 
   @Override
@@ -0,0 +1,103 @@
+package com.kathline.barcode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size latency histogram in the style of HdrHistogram: values are bucketed in microseconds,
+ * exactly below 64 us and with 32 linear buckets per power of two above, so any recorded value is
+ * reported within about 3%. Values above a minute are counted as a minute.
+ *
+ * <p>Recording is lock-free and allocation-free, and can happen from any thread. Reads taken while
+ * other threads record are not an atomic snapshot, which is fine for monitoring.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int EXACT_BUCKETS = 2 * SUB_BUCKETS;
+  private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+  private static final int BUCKETS = indexFor(MAX_MICROS) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalMicros = new AtomicLong();
+  private final AtomicLong maxMicros = new AtomicLong();
+
+  private static int indexFor(long micros) {
+    if (micros < EXACT_BUCKETS) {
+      return (int) micros;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+    int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+    return EXACT_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /** Returns the largest value that falls into the bucket. */
+  private static long highestFor(int index) {
+    if (index < EXACT_BUCKETS) {
+      return index;
+    }
+    int shift = (index - EXACT_BUCKETS) / SUB_BUCKETS + 1;
+    int subBucket = (index - EXACT_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((long) (subBucket + 1) << shift) - 1;
+  }
+
+  public void recordNanos(long nanos) {
+    long micros = Math.max(0L, Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    counts.incrementAndGet(indexFor(micros));
+    count.incrementAndGet();
+    totalMicros.addAndGet(micros);
+    long max;
+    while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+      // retry
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getMaxMicros() {
+    return maxMicros.get();
+  }
+
+  public long getMeanMicros() {
+    long n = count.get();
+    return n == 0L ? 0L : totalMicros.get() / n;
+  }
+
+  /**
+   * @param percentile between 0 and 100
+   * @return the value at or below which that share of the recorded values fall, in microseconds;
+   *     0 when nothing was recorded
+   */
+  public long getPercentileMicros(double percentile) {
+    long n = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      n += counts.get(i);
+    }
+    if (n == 0L) {
+      return 0L;
+    }
+    long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * n));
+    long seen = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(highestFor(i), maxMicros.get());
+      }
+    }
+    return maxMicros.get();
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0L);
+    }
+    count.set(0L);
+    totalMicros.set(0L);
+    maxMicros.set(0L);
+  }
+}
@@ -0,0 +1,231 @@
+package com.kathline.barcode;
+
+import androidx.annotation.NonNull;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-stage latency histograms and frame counters of a {@link VisionProcessorBase}. Numbers cover
+ * one reporting interval: {@link #snapshotAndReset(long)} hands them out as a {@link Snapshot} and
+ * starts the next interval, so each snapshot can be shipped as is.
+ */
+public final class ProcessorMetrics {
+
+  /** The stages a live frame goes through, each with its own histogram. */
+  public enum Stage {
+    /** Converting the camera buffer to a bitmap for manual preview drawing, when enabled. */
+    FRAME_CONVERSION,
+    /** Wrapping the frame in an {@code InputImage}. */
+    INPUT_IMAGE,
+    /** From handing the image to the detector until its result is delivered. */
+    DETECTOR,
+    /** The subclass's {@code onSuccess}. */
+    RESULT_CALLBACK,
+    /** Drawing the overlay graphics, on the UI thread. */
+    OVERLAY_DRAW,
+    /** From receiving the frame until its result has been handled. */
+    FRAME
+  }
+
+  /** Receives a snapshot at the end of every reporting interval, on the main thread. */
+  public interface Listener {
+    void onMetrics(@NonNull Snapshot snapshot);
+  }
+
+  /** Latency summary of one stage, in microseconds. */
+  public static final class StageStats {
+    private final long count;
+    private final long p50;
+    private final long p95;
+    private final long p99;
+    private final long max;
+    private final long mean;
+
+    StageStats(LatencyHistogram histogram) {
+      count = histogram.getCount();
+      p50 = histogram.getPercentileMicros(50.0);
+      p95 = histogram.getPercentileMicros(95.0);
+      p99 = histogram.getPercentileMicros(99.0);
+      max = histogram.getMaxMicros();
+      mean = histogram.getMeanMicros();
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getP50Micros() {
+      return p50;
+    }
+
+    public long getP95Micros() {
+      return p95;
+    }
+
+    public long getP99Micros() {
+      return p99;
+    }
+
+    public long getMaxMicros() {
+      return max;
+    }
+
+    public long getMeanMicros() {
+      return mean;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      return String.format(
+          Locale.US,
+          "n=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+          count, p50 / 1000.0, p95 / 1000.0, p99 / 1000.0, max / 1000.0);
+    }
+  }
+
+  /** The metrics of one reporting interval. */
+  public static final class Snapshot {
+    private final long intervalMs;
+    private final long framesProcessed;
+    private final long framesDropped;
+    private final long framesFailed;
+    private final long framesSkipped;
+    private final Map<Stage, StageStats> stages;
+
+    Snapshot(
+        long intervalMs,
+        long framesProcessed,
+        long framesDropped,
+        long framesFailed,
+        long framesSkipped,
+        Map<Stage, StageStats> stages) {
+      this.intervalMs = intervalMs;
+      this.framesProcessed = framesProcessed;
+      this.framesDropped = framesDropped;
+      this.framesFailed = framesFailed;
+      this.framesSkipped = framesSkipped;
+      this.stages = stages;
+    }
+
+    public long getIntervalMs() {
+      return intervalMs;
+    }
+
+    /** Frames whose detection succeeded. */
+    public long getFramesProcessed() {
+      return framesProcessed;
+    }
+
+    /** Frames replaced by a newer one before the detector got to them. */
+    public long getFramesDropped() {
+      return framesDropped;
+    }
+
+    /** Frames whose detection failed. */
+    public long getFramesFailed() {
+      return framesFailed;
+    }
+
+    /** Frames not handed to the detector because the scene had not changed. */
+    public long getFramesSkipped() {
+      return framesSkipped;
+    }
+
+    @NonNull
+    public StageStats getStage(@NonNull Stage stage) {
+      return stages.get(stage);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      StringBuilder result = new StringBuilder();
+      result.append(intervalMs).append("ms: processed=").append(framesProcessed)
+          .append(" dropped=").append(framesDropped)
+          .append(" failed=").append(framesFailed)
+          .append(" skipped=").append(framesSkipped);
+      for (Map.Entry<Stage, StageStats> entry : stages.entrySet()) {
+        result.append('\n').append(entry.getKey()).append(": ").append(entry.getValue());
+      }
+      return result.toString();
+    }
+  }
+
+  private final EnumMap<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+  private final AtomicLong framesProcessed = new AtomicLong();
+  private final AtomicLong framesDropped = new AtomicLong();
+  private final AtomicLong framesFailed = new AtomicLong();
+  private final AtomicLong framesSkipped = new AtomicLong();
+  private volatile long intervalStartMs;
+
+  ProcessorMetrics(long nowMs) {
+    for (Stage stage : Stage.values()) {
+      histograms.put(stage, new LatencyHistogram());
+    }
+    intervalStartMs = nowMs;
+  }
+
+  @NonNull
+  public LatencyHistogram getHistogram(@NonNull Stage stage) {
+    return histograms.get(stage);
+  }
+
+  void record(Stage stage, long nanos) {
+    histograms.get(stage).recordNanos(nanos);
+  }
+
+  void frameProcessed() {
+    framesProcessed.incrementAndGet();
+  }
+
+  void frameDropped() {
+    framesDropped.incrementAndGet();
+  }
+
+  void frameFailed() {
+    framesFailed.incrementAndGet();
+  }
+
+  void frameSkipped() {
+    framesSkipped.incrementAndGet();
+  }
+
+  long getIntervalStartMs() {
+    return intervalStartMs;
+  }
+
+  /** Returns the metrics of the current interval so far. */
+  @NonNull
+  public Snapshot snapshot(long nowMs) {
+    Map<Stage, StageStats> stages = new EnumMap<>(Stage.class);
+    for (Map.Entry<Stage, LatencyHistogram> entry : histograms.entrySet()) {
+      stages.put(entry.getKey(), new StageStats(entry.getValue()));
+    }
+    return new Snapshot(
+        nowMs - intervalStartMs,
+        framesProcessed.get(),
+        framesDropped.get(),
+        framesFailed.get(),
+        framesSkipped.get(),
+        stages);
+  }
+
+  /** Returns the metrics of the current interval and starts a new one. */
+  @NonNull
+  Snapshot snapshotAndReset(long nowMs) {
+    Snapshot snapshot = snapshot(nowMs);
+    for (LatencyHistogram histogram : histograms.values()) {
+      histogram.reset();
+    }
+    framesProcessed.set(0L);
+    framesDropped.set(0L);
+    framesFailed.set(0L);
+    framesSkipped.set(0L);
+    intervalStartMs = nowMs;
+    return snapshot;
+  }
+}
@@ -32,18 +32,19 @@ import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.TaskExecutors;
 import com.google.mlkit.vision.common.InputImage;
 
-import java.nio.ByteBuffer;
-import java.util.Timer;
-import java.util.TimerTask;
+import com.kathline.barcode.ProcessorMetrics.Stage;
 
-import static java.lang.Math.max;
-import static java.lang.Math.min;
+import java.nio.ByteBuffer;
 
 /**
  * Abstract base class for vision frame processors. Subclasses need to implement {@link
  * #onSuccess(Object, GraphicOverlay, InputImage)} to define what they want to with the detection results and
  * {@link #detectInImage(InputImage)} to specify the detector object.
  *
+ * <p>Every stage of a frame is timed into the histograms of {@link #getMetrics()}. Set a {@link
+ * ProcessorMetrics.Listener} to receive them, with p50/p95/p99 and frame counts, once per
+ * reporting interval.
+ *
  * @param <T> The type of the detected feature.
  */
 public abstract class VisionProcessorBase<T> implements VisionImageProcessor {
@@ -51,23 +52,23 @@ public abstract class VisionProcessorBase<T> implements VisionImageProcessor {
     protected static final String MANUAL_TESTING_LOG = "LogTagForTest";
     private static final String TAG = "VisionProcessorBase";
 
+    private static final long DEFAULT_REPORT_INTERVAL_MS = 10000;
+
     private final ActivityManager activityManager;
-    private final Timer fpsTimer = new Timer();
     private final ScopedExecutor executor;
+    private final ProcessorMetrics metrics;
+    private final FrameChangeGate frameChangeGate = new FrameChangeGate();
 
     // Whether this processor is already shut down
     private boolean isShutdown;
 
-    // Used to calculate latency, running in the same thread, no sync needed.
-    private int numRuns = 0;
-    private long totalFrameMs = 0;
-    private long maxFrameMs = 0;
-    private long minFrameMs = Long.MAX_VALUE;
-    private long totalDetectorMs = 0;
-    private long maxDetectorMs = 0;
-    private long minDetectorMs = Long.MAX_VALUE;
+    // Used on the main thread only, where results are delivered, no sync needed.
+    @Nullable
+    private ProcessorMetrics.Listener metricsListener;
+    private long reportIntervalMs = DEFAULT_REPORT_INTERVAL_MS;
 
     // Frame count that have been processed so far in an one second interval to calculate FPS.
+    private long fpsIntervalStartMs;
     private int frameProcessedInOneSecondInterval = 0;
     private int framesPerSecond = 0;
 
@@ -89,34 +90,79 @@ public abstract class VisionProcessorBase<T> implements VisionImageProcessor {
     protected VisionProcessorBase(Context context) {
         activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
         executor = new ScopedExecutor(TaskExecutors.MAIN_THREAD);
-        fpsTimer.scheduleAtFixedRate(
-                new TimerTask() {
-                    @Override
-                    public void run() {
-                        framesPerSecond = frameProcessedInOneSecondInterval;
-                        frameProcessedInOneSecondInterval = 0;
-                    }
-                },
-                /* delay= */ 0,
-                /* period= */ 1000);
+        fpsIntervalStartMs = SystemClock.elapsedRealtime();
+        metrics = new ProcessorMetrics(fpsIntervalStartMs);
+    }
+
+    /** Returns the latency histograms and frame counters of the current reporting interval. */
+    @NonNull
+    public ProcessorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the listener that receives the metrics at the end of every reporting interval, on the
+     * main thread. The histograms start over after each report.
+     *
+     * @param listener         the listener, or null to only log the metrics
+     * @param reportIntervalMs how often to report, in milliseconds
+     */
+    public void setMetricsListener(@Nullable ProcessorMetrics.Listener listener, long reportIntervalMs) {
+        if (reportIntervalMs <= 0) {
+            throw new IllegalArgumentException("reportIntervalMs must be positive: " + reportIntervalMs);
+        }
+        this.metricsListener = listener;
+        this.reportIntervalMs = reportIntervalMs;
+    }
+
+    /**
+     * Sets when live frames skip detection: after a frame came back without results, frames of the
+     * same scene are skipped until any cell of a 32 x 32 grid over the frame changes its mean
+     * luminance by more than {@code threshold}, or {@code recheckIntervalMs} has passed.
+     *
+     * @param threshold         luminance change (0-255) that counts as a new scene, or 0 to detect
+     *                          on every frame
+     * @param recheckIntervalMs how often an unchanged scene is detected anyway, in milliseconds
+     */
+    public void setFrameChangeGating(int threshold, long recheckIntervalMs) {
+        if (threshold < 0 || recheckIntervalMs < 0) {
+            throw new IllegalArgumentException(
+                    "threshold and recheckIntervalMs must not be negative: "
+                            + threshold + ", " + recheckIntervalMs);
+        }
+        frameChangeGate.configure(threshold, recheckIntervalMs);
+    }
+
+    /**
+     * Returns whether the detector found nothing in the frame, so that frames of the same scene can
+     * be skipped. The default treats every result as a find, which never skips a frame.
+     */
+    protected boolean isEmptyResult(@NonNull T results) {
+        return false;
     }
 
     // -----------------Code for processing single still image----------------------------------------
     @Override
     public void processBitmap(Bitmap bitmap, final GraphicOverlay graphicOverlay) {
-        long frameStartMs = SystemClock.elapsedRealtime();
+        long frameStartNanos = SystemClock.elapsedRealtimeNanos();
+        InputImage image = InputImage.fromBitmap(bitmap, 0);
+        metrics.record(Stage.INPUT_IMAGE, SystemClock.elapsedRealtimeNanos() - frameStartNanos);
         requestDetectInImage(
-                InputImage.fromBitmap(bitmap, 0),
+                image,
                 graphicOverlay,
                 /* originalCameraImage= */ null,
                 /* shouldShowFps= */ false,
-                frameStartMs);
+                frameStartNanos);
     }
 
     // -----------------Code for processing live preview frame from Camera1 API-----------------------
     @Override
     public synchronized void processByteBuffer(
             ByteBuffer data, final FrameMetadata frameMetadata, final GraphicOverlay graphicOverlay) {
+        if (latestImage != null) {
+            // Replaced before the detector was free to take it
+            metrics.frameDropped();
+        }
         latestImage = data;
         latestImageMetaData = frameMetadata;
         if (processingImage == null && processingMetaData == null) {
@@ -136,27 +182,47 @@ public abstract class VisionProcessorBase<T> implements VisionImageProcessor {
 
     private void processImage(
             ByteBuffer data, final FrameMetadata frameMetadata, final GraphicOverlay graphicOverlay) {
-        long frameStartMs = SystemClock.elapsedRealtime();
+        long frameStartNanos = SystemClock.elapsedRealtimeNanos();
+        if (!frameChangeGate.shouldDetect(
+                data, frameMetadata.getWidth(), frameMetadata.getHeight(), SystemClock.elapsedRealtime())) {
+            // Same scene as the last empty result; move on to the next frame
+            metrics.frameSkipped();
+            processLatestImage(graphicOverlay);
+            return;
+        }
 
         // If live viewport is on (that is the underneath surface view takes care of the camera preview
         // drawing), skip the unnecessary bitmap creation that used for the manual preview drawing.
-        Bitmap bitmap =
-                PreferenceUtils.isCameraLiveViewportEnabled(graphicOverlay.getContext())
-                        ? null
-                        : BitmapUtils.getBitmap(data, frameMetadata);
+        Bitmap bitmap = null;
+        if (!PreferenceUtils.isCameraLiveViewportEnabled(graphicOverlay.getContext())) {
+            bitmap = BitmapUtils.getBitmap(data, frameMetadata);
+        }
+        long convertedNanos = SystemClock.elapsedRealtimeNanos();
+        if (bitmap != null) {
+            metrics.record(Stage.FRAME_CONVERSION, convertedNanos - frameStartNanos);
+        }
 
-        requestDetectInImage(
+        InputImage image =
                 InputImage.fromByteBuffer(
                         data,
                         frameMetadata.getWidth(),
                         frameMetadata.getHeight(),
                         frameMetadata.getRotation(),
-                        InputImage.IMAGE_FORMAT_NV21),
+                        InputImage.IMAGE_FORMAT_NV21);
+        metrics.record(Stage.INPUT_IMAGE, SystemClock.elapsedRealtimeNanos() - convertedNanos);
+
+        requestDetectInImage(
+                image,
                 graphicOverlay,
                 bitmap,
                 /* shouldShowFps= */ true,
-                frameStartMs)
-                .addOnSuccessListener(executor, results -> processLatestImage(graphicOverlay));
+                frameStartNanos)
+                .addOnSuccessListener(
+                        executor,
+                        results -> {
+                            frameChangeGate.detectFinished(isEmptyResult(results));
+                            processLatestImage(graphicOverlay);
+                        });
     }
 
     // -----------------Common processing logic-------------------------------------------------------
@@ -165,54 +231,20 @@ public abstract class VisionProcessorBase<T> implements VisionImageProcessor {
             final GraphicOverlay graphicOverlay,
             @Nullable final Bitmap originalCameraImage,
             boolean shouldShowFps,
-            long frameStartMs) {
-        final long detectorStartMs = SystemClock.elapsedRealtime();
+            long frameStartNanos) {
+        final long detectorStartNanos = SystemClock.elapsedRealtimeNanos();
         return detectInImage(image)
                 .addOnSuccessListener(
                         executor,
                         results -> {
-                            long endMs = SystemClock.elapsedRealtime();
-                            long currentFrameLatencyMs = endMs - frameStartMs;
-                            long currentDetectorLatencyMs = endMs - detectorStartMs;
-                            if (numRuns >= 500) {
-                                resetLatencyStats();
-                            }
-                            numRuns++;
-                            frameProcessedInOneSecondInterval++;
-                            totalFrameMs += currentFrameLatencyMs;
-                            maxFrameMs = max(currentFrameLatencyMs, maxFrameMs);
-                            minFrameMs = min(currentFrameLatencyMs, minFrameMs);
-                            totalDetectorMs += currentDetectorLatencyMs;
-                            maxDetectorMs = max(currentDetectorLatencyMs, maxDetectorMs);
-                            minDetectorMs = min(currentDetectorLatencyMs, minDetectorMs);
-
-                            // Only log inference info once per second. When frameProcessedInOneSecondInterval is
-                            // equal to 1, it means this is the first frame processed during the current second.
-                            if (frameProcessedInOneSecondInterval == 1) {
-                                Log.d(TAG, "Num of Runs: " + numRuns);
-                                Log.d(
-                                        TAG,
-                                        "Frame latency: max="
-                                                + maxFrameMs
-                                                + ", min="
-                                                + minFrameMs
-                                                + ", avg="
-                                                + totalFrameMs / numRuns);
-                                Log.d(
-                                        TAG,
-                                        "Detector latency: max="
-                                                + maxDetectorMs
-                                                + ", min="
-                                                + minDetectorMs
-                                                + ", avg="
-                                                + totalDetectorMs / numRuns);
-                                MemoryInfo mi = new MemoryInfo();
-                                activityManager.getMemoryInfo(mi);
-                                long availableMegs = mi.availMem / 0x100000L;
-                                Log.d(TAG, "Memory available in system: " + availableMegs + " MB");
-                            }
+                            long detectorEndNanos = SystemClock.elapsedRealtimeNanos();
+                            long currentFrameLatencyMs = (detectorEndNanos - frameStartNanos) / 1000000;
+                            long currentDetectorLatencyMs = (detectorEndNanos - detectorStartNanos) / 1000000;
+                            metrics.record(Stage.DETECTOR, detectorEndNanos - detectorStartNanos);
+                            updateFramesPerSecond();
 
                             graphicOverlay.clear();
+                            graphicOverlay.setDrawHistogram(metrics.getHistogram(Stage.OVERLAY_DRAW));
                             if (originalCameraImage != null) {
                                 graphicOverlay.add(new CameraImageGraphic(graphicOverlay, originalCameraImage));
                             }
@@ -224,12 +256,20 @@ public abstract class VisionProcessorBase<T> implements VisionImageProcessor {
                                                 currentDetectorLatencyMs,
                                                 shouldShowFps ? framesPerSecond : null));
                             }
+                            long callbackStartNanos = SystemClock.elapsedRealtimeNanos();
                             VisionProcessorBase.this.onSuccess(results, graphicOverlay, image);
+                            long callbackEndNanos = SystemClock.elapsedRealtimeNanos();
+                            metrics.record(Stage.RESULT_CALLBACK, callbackEndNanos - callbackStartNanos);
                             graphicOverlay.postInvalidate();
+
+                            metrics.record(Stage.FRAME, callbackEndNanos - frameStartNanos);
+                            metrics.frameProcessed();
+                            reportMetricsIfDue();
                         })
                 .addOnFailureListener(
                         executor,
                         e -> {
+                            metrics.frameFailed();
                             graphicOverlay.clear();
                             graphicOverlay.postInvalidate();
                             String error = "Failed to process. Error: " + e.getLocalizedMessage();
@@ -244,22 +284,36 @@ public abstract class VisionProcessorBase<T> implements VisionImageProcessor {
                         });
     }
 
+    private void updateFramesPerSecond() {
+        long nowMs = SystemClock.elapsedRealtime();
+        if (nowMs - fpsIntervalStartMs >= 1000) {
+            framesPerSecond = frameProcessedInOneSecondInterval;
+            frameProcessedInOneSecondInterval = 0;
+            fpsIntervalStartMs = nowMs;
+        }
+        frameProcessedInOneSecondInterval++;
+    }
+
+    private void reportMetricsIfDue() {
+        long nowMs = SystemClock.elapsedRealtime();
+        if (nowMs - metrics.getIntervalStartMs() < reportIntervalMs) {
+            return;
+        }
+        ProcessorMetrics.Snapshot snapshot = metrics.snapshotAndReset(nowMs);
+        Log.d(TAG, "Frame metrics over " + snapshot);
+        MemoryInfo mi = new MemoryInfo();
+        activityManager.getMemoryInfo(mi);
+        long availableMegs = mi.availMem / 0x100000L;
+        Log.d(TAG, "Memory available in system: " + availableMegs + " MB");
+        if (metricsListener != null) {
+            metricsListener.onMetrics(snapshot);
+        }
+    }
+
     @Override
     public void stop() {
         executor.shutdown();
         isShutdown = true;
-        resetLatencyStats();
-        fpsTimer.cancel();
-    }
-
-    private void resetLatencyStats() {
-        numRuns = 0;
-        totalFrameMs = 0;
-        maxFrameMs = 0;
-        minFrameMs = Long.MAX_VALUE;
-        totalDetectorMs = 0;
-        maxDetectorMs = 0;
-        minDetectorMs = Long.MAX_VALUE;
     }
 
     protected abstract Task<T> detectInImage(InputImage image);
@@ -72,6 +72,11 @@ public class BarcodeScannerProcessor extends VisionProcessorBase<List<Barcode>>
     return barcodeScanner.process(image);
   }
 
+  @Override
+  protected boolean isEmptyResult(@NonNull List<Barcode> barcodes) {
+    return barcodes.isEmpty();
+  }
+
   @Override
   protected void onSuccess(
       @NonNull List<Barcode> barcodes, @NonNull GraphicOverlay graphicOverlay, InputImage image) {
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Reader;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.common.HybridBinarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes one corpus image repeatedly with one {@link Reader}. The image is binarized once in
+ * {@link #setUp()}, so 2D readers measure detection and decoding only; 1D readers still fetch
+ * their rows through the binarizer, as they do in practice.
+ *
+ * <p>Degraded samples may fail to decode; the failure path is then what gets measured, which is
+ * just as relevant for continuous scanning.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public abstract class AbstractReaderBenchmark {
+
+  private Reader reader;
+  private BinaryBitmap bitmap;
+  private Map<DecodeHintType,?> hints;
+
+  /**
+   * @return name of the corpus image to decode
+   */
+  protected abstract String getImage();
+
+  protected abstract Reader createReader();
+
+  protected Map<DecodeHintType,?> createHints() {
+    return null;
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    reader = createReader();
+    hints = createHints();
+    bitmap = new BinaryBitmap(new HybridBinarizer(Corpus.load(getImage())));
+    try {
+      bitmap.getBlackMatrix();
+    } catch (NotFoundException nfe) {
+      // decode() will fail the same way
+    }
+  }
+
+  @Benchmark
+  public Result decode() {
+    try {
+      return reader.decode(bitmap, hints);
+    } catch (ReaderException re) {
+      return null;
+    } finally {
+      reader.reset();
+    }
+  }
+
+}
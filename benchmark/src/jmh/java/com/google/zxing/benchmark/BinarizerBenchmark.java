@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.common.BinarizerArena;
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.GlobalHistogramBinarizer;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.common.IntegralImageBinarizer;
+import com.google.zxing.common.LazyHybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link HybridBinarizer} and {@link GlobalHistogramBinarizer}, with and without a
+ * {@link BinarizerArena}, and of {@link IntegralImageBinarizer} both ways it can be used. The
+ * {@code *QRCode} benchmarks binarize and then decode, to compare {@link LazyHybridBinarizer},
+ * which only binarizes the tiles detection reads, with {@link HybridBinarizer}. Run with
+ * {@code -prof gc} (the default in this module) to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BinarizerBenchmark {
+
+  @Param({"frame-qr_code", "qr_code-noisy", "code_128-blurred"})
+  public String image;
+
+  private LuminanceSource source;
+  private BinarizerArena arena;
+  private BitArray row;
+  private QRCodeReader qrCodeReader;
+
+  @Setup
+  public void setUp() throws IOException {
+    source = Corpus.load(image);
+    arena = new BinarizerArena();
+    row = new BitArray(source.getWidth());
+    qrCodeReader = new QRCodeReader();
+  }
+
+  @Benchmark
+  public BitMatrix hybridMatrix() throws NotFoundException {
+    return new HybridBinarizer(source).getBlackMatrix();
+  }
+
+  @Benchmark
+  public BitMatrix hybridMatrixWithArena() throws NotFoundException {
+    return new HybridBinarizer(source, arena).getBlackMatrix();
+  }
+
+  @Benchmark
+  public BitMatrix globalHistogramMatrix() throws NotFoundException {
+    return new GlobalHistogramBinarizer(source).getBlackMatrix();
+  }
+
+  @Benchmark
+  public void globalHistogramRows(Blackhole blackhole) {
+    GlobalHistogramBinarizer binarizer = new GlobalHistogramBinarizer(source);
+    for (int y = 0; y < source.getHeight(); y++) {
+      try {
+        blackhole.consume(binarizer.getBlackRow(y, row));
+      } catch (NotFoundException nfe) {
+        // Low contrast row; that is part of what is measured
+      }
+    }
+  }
+
+  @Benchmark
+  public BitMatrix sauvolaMatrix() {
+    return new IntegralImageBinarizer(source).getBlackMatrix();
+  }
+
+  @Benchmark
+  public BitMatrix bradleyMatrix() {
+    return new IntegralImageBinarizer(source, IntegralImageBinarizer.Method.BRADLEY,
+                                      IntegralImageBinarizer.DEFAULT_WINDOW_SIZE,
+                                      IntegralImageBinarizer.DEFAULT_BRADLEY_K).getBlackMatrix();
+  }
+
+  @Benchmark
+  public void sauvolaRows(Blackhole blackhole) {
+    IntegralImageBinarizer binarizer = new IntegralImageBinarizer(source);
+    for (int y = 0; y < source.getHeight(); y++) {
+      blackhole.consume(binarizer.getBlackRow(y, row));
+    }
+  }
+
+  @Benchmark
+  public Result hybridQRCode() {
+    return decodeQRCode(new BinaryBitmap(new HybridBinarizer(source)));
+  }
+
+  @Benchmark
+  public Result lazyHybridQRCode() {
+    return decodeQRCode(new BinaryBitmap(new LazyHybridBinarizer(source)));
+  }
+
+  private Result decodeQRCode(BinaryBitmap bitmap) {
+    try {
+      return qrCodeReader.decode(bitmap);
+    } catch (ReaderException re) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.NotFoundException;
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word-level {@link BitMatrix} and {@link BitArray} operations next to the bit-by-bit loops they
+ * replaced, on binarized corpus images. The {@code bitwise*} benchmarks are those loops, kept here
+ * as the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BitMatrixBenchmark {
+
+  private static final int COUNTERS = 6;
+
+  @Param({"frame-qr_code", "code_128-clean"})
+  public String image;
+
+  private BitMatrix matrix;
+  private BitArray[] rows;
+  private int[] counters;
+
+  @Setup
+  public void setUp() throws IOException, NotFoundException {
+    matrix = new HybridBinarizer(Corpus.load(image)).getBlackMatrix();
+    rows = new BitArray[matrix.getHeight()];
+    for (int y = 0; y < rows.length; y++) {
+      rows[y] = matrix.getRow(y, null);
+    }
+    counters = new int[COUNTERS];
+  }
+
+  @Benchmark
+  public BitMatrix rotate90() {
+    BitMatrix rotated = matrix.clone();
+    rotated.rotate90();
+    return rotated;
+  }
+
+  @Benchmark
+  public BitMatrix bitwiseRotate90() {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    BitMatrix rotated = new BitMatrix(height, width);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        if (matrix.get(x, y)) {
+          rotated.set(y, width - 1 - x);
+        }
+      }
+    }
+    return rotated;
+  }
+
+  @Benchmark
+  public int populationCount() {
+    return matrix.getPopulationCount(1, 1, matrix.getWidth() - 2, matrix.getHeight() - 2);
+  }
+
+  @Benchmark
+  public int bitwisePopulationCount() {
+    int count = 0;
+    for (int y = 1; y < matrix.getHeight() - 1; y++) {
+      for (int x = 1; x < matrix.getWidth() - 1; x++) {
+        if (matrix.get(x, y)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int[] enclosingRectangle() {
+    return matrix.getEnclosingRectangle();
+  }
+
+  /** Records six runs from every pixel of every row, like a 1D reader sliding over the row. */
+  @Benchmark
+  public void runLengths(Blackhole blackhole) {
+    for (BitArray row : rows) {
+      for (int x = 0; x < row.getSize(); x += 8) {
+        blackhole.consume(row.getRunLengths(x, counters));
+      }
+    }
+  }
+
+  @Benchmark
+  public void bitwiseRunLengths(Blackhole blackhole) {
+    for (BitArray row : rows) {
+      for (int x = 0; x < row.getSize(); x += 8) {
+        blackhole.consume(bitwiseRunLengths(row, x, counters));
+      }
+    }
+  }
+
+  private static int bitwiseRunLengths(BitArray row, int start, int[] runs) {
+    int end = row.getSize();
+    boolean isWhite = !row.get(start);
+    int position = 0;
+    runs[0] = 0;
+    for (int i = start; i < end; i++) {
+      if (row.get(i) != isWhite) {
+        runs[position]++;
+      } else {
+        if (++position == runs.length) {
+          return position;
+        }
+        runs[position] = 1;
+        isWhite = !isWhite;
+      }
+    }
+    return position + 1;
+  }
+
+}
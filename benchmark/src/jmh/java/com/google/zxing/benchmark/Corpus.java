@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.benchmark;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.PlanarYUVLuminanceSource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads images of the checked-in corpus (see {@link CorpusGenerator}) as luminance sources.
+ */
+final class Corpus {
+
+  static final String INDEX = "corpus.txt";
+  private static final String ROOT = "/corpus/";
+
+  private Corpus() {
+  }
+
+  /**
+   * @param name image name without extension, for example {@code qr_code-noisy}
+   * @return the image as an 8-bit luminance plane, cropping nothing
+   */
+  static LuminanceSource load(String name) throws IOException {
+    BufferedImage image;
+    try (InputStream in = Corpus.class.getResourceAsStream(ROOT + name + ".png")) {
+      if (in == null) {
+        throw new IOException("No such corpus image: " + name);
+      }
+      image = ImageIO.read(in);
+    }
+    int width = image.getWidth();
+    int height = image.getHeight();
+    byte[] luminances = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        // Corpus images are grey, so any channel is the luminance
+        luminances[y * width + x] = (byte) image.getRGB(x, y);
+      }
+    }
+    return new PlanarYUVLuminanceSource(luminances, width, height, 0, 0, width, height, false);
+  }
+
+  /**
+   * @return the contents encoded in the given image, as listed in the corpus index
+   */
+  static String expectedText(String name) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        Corpus.class.getResourceAsStream(ROOT + INDEX), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split("\t", 3);
+        if (fields[0].equals(name)) {
+          return fields[2];
+        }
+      }
+    }
+    throw new IOException("Not in corpus index: " + name);
+  }
+
+}
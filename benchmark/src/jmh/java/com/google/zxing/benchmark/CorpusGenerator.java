@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Regenerates the checked-in benchmark corpus under {@code src/jmh/resources/corpus}. Every sample
+ * is rendered once clean, then degraded with noise and low contrast, with blur, and with a small
+ * rotation. A camera-sized frame with a code in the middle is added for the binarizers.
+ *
+ * <p>Run with {@code ./gradlew :benchmark:generateCorpus}. Output is deterministic.</p>
+ */
+public final class CorpusGenerator {
+
+  private static final Object[][] SAMPLES = {
+      {BarcodeFormat.QR_CODE, "https://github.com/DyncKathline/ZxingScan?asset=QR-000123", 240, 240},
+      {BarcodeFormat.DATA_MATRIX, "SHIP-4711-0815-DM-LABEL", 240, 240},
+      {BarcodeFormat.PDF_417, "PDF417 SHIPPING LABEL 0123456789 ABCDEFGHIJ", 360, 120},
+      {BarcodeFormat.AZTEC, "AZTEC-TICKET-000042-2026", 240, 240},
+      {BarcodeFormat.CODE_128, "WH-0042-CODE128", 360, 120},
+      {BarcodeFormat.EAN_13, "5901234123457", 360, 120},
+      {BarcodeFormat.CODE_39, "ASSET-39-0042", 360, 120},
+      {BarcodeFormat.ITF, "00012345678905", 360, 120},
+  };
+
+  private static final int QUIET_ZONE = 20;
+  private static final int FRAME_WIDTH = 1280;
+  private static final int FRAME_HEIGHT = 720;
+
+  private CorpusGenerator() {
+  }
+
+  public static void main(String[] args) throws IOException, WriterException {
+    File dir = new File(args.length > 0 ? args[0] : "src/jmh/resources/corpus");
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Can't create " + dir);
+    }
+    MultiFormatWriter writer = new MultiFormatWriter();
+    Map<EncodeHintType,Object> hints = new EnumMap<>(EncodeHintType.class);
+    hints.put(EncodeHintType.MARGIN, 0);
+    try (PrintWriter index = new PrintWriter(new File(dir, Corpus.INDEX), StandardCharsets.UTF_8.name())) {
+      for (Object[] sample : SAMPLES) {
+        BarcodeFormat format = (BarcodeFormat) sample[0];
+        String contents = (String) sample[1];
+        BitMatrix matrix = writer.encode(contents, format, (Integer) sample[2], (Integer) sample[3], hints);
+        int[][] clean = render(matrix);
+        String prefix = format.name().toLowerCase();
+        Random random = new Random(format.ordinal());
+
+        write(dir, index, prefix + "-clean", format, contents, clean);
+        write(dir, index, prefix + "-noisy", format, contents, noise(lowContrast(clean), random, 14));
+        write(dir, index, prefix + "-blurred", format, contents, blur(clean, 1));
+        write(dir, index, prefix + "-rotated", format, contents, noise(rotate(clean, 7.0), random, 8));
+        if (format == BarcodeFormat.QR_CODE) {
+          write(dir, index, "frame-" + prefix, format, contents, blur(frame(clean), 1));
+        }
+      }
+    }
+  }
+
+  private static void write(File dir, PrintWriter index, String name, BarcodeFormat format,
+                            String contents, int[][] pixels) throws IOException {
+    int height = pixels.length;
+    int width = pixels[0].length;
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int grey = clamp(pixels[y][x]);
+        image.setRGB(x, y, 0xFF000000 | (grey * 0x010101));
+      }
+    }
+    if (!ImageIO.write(image, "png", new File(dir, name + ".png"))) {
+      throw new IOException("No PNG writer");
+    }
+    index.println(name + '\t' + format.name() + '\t' + contents);
+  }
+
+  private static int[][] render(BitMatrix matrix) {
+    int width = matrix.getWidth() + 2 * QUIET_ZONE;
+    int height = matrix.getHeight() + 2 * QUIET_ZONE;
+    int[][] pixels = new int[height][width];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int mx = x - QUIET_ZONE;
+        int my = y - QUIET_ZONE;
+        boolean black = mx >= 0 && my >= 0 && mx < matrix.getWidth() && my < matrix.getHeight() &&
+            matrix.get(mx, my);
+        pixels[y][x] = black ? 0 : 255;
+      }
+    }
+    return pixels;
+  }
+
+  /**
+   * Squeezes the range into [90, 170] with a horizontal shading gradient.
+   */
+  private static int[][] lowContrast(int[][] pixels) {
+    int height = pixels.length;
+    int width = pixels[0].length;
+    int[][] result = new int[height][width];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int shade = 30 * x / width;
+        result[y][x] = 90 + pixels[y][x] * 80 / 255 - shade;
+      }
+    }
+    return result;
+  }
+
+  private static int[][] noise(int[][] pixels, Random random, int amplitude) {
+    int height = pixels.length;
+    int width = pixels[0].length;
+    int[][] result = new int[height][width];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        result[y][x] = pixels[y][x] + (int) (random.nextGaussian() * amplitude);
+      }
+    }
+    return result;
+  }
+
+  private static int[][] blur(int[][] pixels, int radius) {
+    int height = pixels.length;
+    int width = pixels[0].length;
+    int[][] result = new int[height][width];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int sum = 0;
+        int count = 0;
+        for (int dy = -radius; dy <= radius; dy++) {
+          for (int dx = -radius; dx <= radius; dx++) {
+            int yy = y + dy;
+            int xx = x + dx;
+            if (yy >= 0 && yy < height && xx >= 0 && xx < width) {
+              sum += pixels[yy][xx];
+              count++;
+            }
+          }
+        }
+        result[y][x] = sum / count;
+      }
+    }
+    return result;
+  }
+
+  private static int[][] rotate(int[][] pixels, double degrees) {
+    int height = pixels.length;
+    int width = pixels[0].length;
+    double theta = Math.toRadians(degrees);
+    double cos = Math.cos(theta);
+    double sin = Math.sin(theta);
+    double cx = width / 2.0;
+    double cy = height / 2.0;
+    int[][] result = new int[height][width];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int sx = (int) Math.round(cos * (x - cx) + sin * (y - cy) + cx);
+        int sy = (int) Math.round(-sin * (x - cx) + cos * (y - cy) + cy);
+        result[y][x] = sx >= 0 && sy >= 0 && sx < width && sy < height ? pixels[sy][sx] : 255;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Places the code in the middle of a camera-sized frame with a dim, vertically shaded background.
+   */
+  private static int[][] frame(int[][] pixels) {
+    int height = pixels.length;
+    int width = pixels[0].length;
+    int left = (FRAME_WIDTH - width) / 2;
+    int top = (FRAME_HEIGHT - height) / 2;
+    int[][] result = new int[FRAME_HEIGHT][FRAME_WIDTH];
+    for (int y = 0; y < FRAME_HEIGHT; y++) {
+      for (int x = 0; x < FRAME_WIDTH; x++) {
+        int background = 60 + 80 * y / FRAME_HEIGHT;
+        int px = x - left;
+        int py = y - top;
+        result[y][x] = px >= 0 && py >= 0 && px < width && py < height ?
+            pixels[py][px] * 200 / 255 + 20 : background;
+      }
+    }
+    return result;
+  }
+
+  private static int clamp(int value) {
+    return value < 0 ? 0 : Math.min(value, 255);
+  }
+
+}
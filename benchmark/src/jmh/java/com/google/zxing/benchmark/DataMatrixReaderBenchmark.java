@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.Reader;
+import com.google.zxing.datamatrix.DataMatrixReader;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link DataMatrixReader} on the Data Matrix samples of the corpus.
+ */
+public class DataMatrixReaderBenchmark extends AbstractReaderBenchmark {
+
+  @Param({"data_matrix-clean", "data_matrix-noisy", "data_matrix-blurred", "data_matrix-rotated"})
+  public String image;
+
+  @Override
+  protected String getImage() {
+    return image;
+  }
+
+  @Override
+  protected Reader createReader() {
+    return new DataMatrixReader();
+  }
+
+}
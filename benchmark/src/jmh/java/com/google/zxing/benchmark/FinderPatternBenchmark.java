@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.ReaderException;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.DetectorResult;
+import com.google.zxing.multi.qrcode.detector.MultiFinderPatternFinder;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.detector.Detector;
+import com.google.zxing.qrcode.detector.FinderPatternInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR Code finder pattern detection, with {@code TRY_HARDER}, on a cluttered 1600x1200 image: a few
+ * codes among {@code clutter} stray finder patterns of assorted sizes, like the squares and
+ * checkerboards of a busy label or a page of print. Every stray pattern becomes a candidate, so
+ * this measures how merging and combining candidates scale with their number.
+ *
+ * <p>{@code findMulti} stops at the triples of finder patterns that may be codes; a
+ * {@link com.google.zxing.multi.qrcode.detector.MultiDetector} would go on to sample every one of
+ * them, which with this much clutter takes far longer than finding them.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FinderPatternBenchmark {
+
+  private static final int WIDTH = 1600;
+  private static final int HEIGHT = 1200;
+  private static final int CODES = 6;
+  private static final int CODE_SIZE = 200;
+
+  @Param({"0", "400", "1600"})
+  public int clutter;
+
+  private BitMatrix matrix;
+  private Map<DecodeHintType,Object> hints;
+
+  @Setup
+  public void setUp() throws WriterException {
+    matrix = new BitMatrix(WIDTH, HEIGHT);
+    QRCodeWriter writer = new QRCodeWriter();
+    for (int i = 0; i < CODES; i++) {
+      BitMatrix code = writer.encode("Asset tag " + i, BarcodeFormat.QR_CODE, CODE_SIZE, CODE_SIZE);
+      int left = 100 + (i % 3) * 500;
+      int top = 150 + (i / 3) * 600;
+      for (int y = 0; y < CODE_SIZE; y++) {
+        for (int x = 0; x < CODE_SIZE; x++) {
+          if (code.get(x, y)) {
+            matrix.set(left + x, top + y);
+          }
+        }
+      }
+    }
+    Random random = new Random(clutter);
+    for (int i = 0; i < clutter; i++) {
+      int moduleSize = 2 + random.nextInt(5);
+      drawFinderPattern(random.nextInt(WIDTH - 7 * moduleSize),
+                        random.nextInt(HEIGHT - 7 * moduleSize),
+                        moduleSize);
+    }
+    hints = new EnumMap<>(DecodeHintType.class);
+    hints.put(DecodeHintType.TRY_HARDER, Boolean.TRUE);
+  }
+
+  // Black 7x7 module square, white 5x5 inside it, black 3x3 inside that
+  private void drawFinderPattern(int left, int top, int moduleSize) {
+    int side = 7 * moduleSize;
+    for (int y = 0; y < side; y++) {
+      int row = y / moduleSize;
+      for (int x = 0; x < side; x++) {
+        int column = x / moduleSize;
+        int ring = Math.min(Math.min(row, 6 - row), Math.min(column, 6 - column));
+        if (ring == 1) {
+          matrix.unset(left + x, top + y);
+        } else {
+          matrix.set(left + x, top + y);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public DetectorResult detect() {
+    try {
+      return new Detector(matrix).detect(hints);
+    } catch (ReaderException re) {
+      // Clutter can win over the codes; the search is what is measured
+      return null;
+    }
+  }
+
+  @Benchmark
+  public FinderPatternInfo[] findMulti() {
+    try {
+      return new MultiFinderPatternFinder(matrix, null).findMulti(hints);
+    } catch (ReaderException re) {
+      return null;
+    }
+  }
+
+}
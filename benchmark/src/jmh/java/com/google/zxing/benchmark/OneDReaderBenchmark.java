@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.Reader;
+import com.google.zxing.oned.MultiFormatOneDReader;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link MultiFormatOneDReader} on the 1D (Code 128, EAN-13, Code 39 and ITF) samples
+ * of the corpus.
+ */
+public class OneDReaderBenchmark extends AbstractReaderBenchmark {
+
+  @Param({"code_128-clean", "code_128-noisy", "code_128-blurred", "code_128-rotated",
+      "ean_13-clean", "ean_13-noisy", "ean_13-blurred", "ean_13-rotated",
+      "code_39-clean", "code_39-noisy", "code_39-blurred", "code_39-rotated",
+      "itf-clean", "itf-noisy", "itf-blurred", "itf-rotated"})
+  public String image;
+
+  @Override
+  protected String getImage() {
+    return image;
+  }
+
+  @Override
+  protected Reader createReader() {
+    return new MultiFormatOneDReader(null);
+  }
+
+}
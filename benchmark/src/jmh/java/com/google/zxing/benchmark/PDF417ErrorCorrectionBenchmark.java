@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.ChecksumException;
+import com.google.zxing.pdf417.decoder.ec.ErrorCorrection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two {@link ErrorCorrection} algorithms on a fixed set of damaged PDF417 symbols: 16
+ * symbols of 300 data codewords at the given EC level, each with a quarter of its EC capacity used
+ * up by errors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PDF417ErrorCorrectionBenchmark {
+
+  private static final int MODULUS = 929;
+  private static final int SYMBOLS = 16;
+  private static final int DATA_CODEWORDS = 300;
+
+  @Param({"3", "5", "7", "8"})
+  public int ecLevel;
+
+  private final ErrorCorrection euclidean = new ErrorCorrection(ErrorCorrection.Algorithm.EUCLIDEAN);
+  private final ErrorCorrection berlekampMassey =
+      new ErrorCorrection(ErrorCorrection.Algorithm.BERLEKAMP_MASSEY);
+  private int numECCodewords;
+  private int[][] damaged;
+  private int[] received;
+
+  @Setup
+  public void setUp() {
+    numECCodewords = 2 << ecLevel;
+    Random random = new Random(ecLevel);
+    damaged = new int[SYMBOLS][];
+    for (int s = 0; s < SYMBOLS; s++) {
+      int[] codewords = encode(random, numECCodewords);
+      for (int i = 0; i < numECCodewords / 8; i++) {
+        int position = i * codewords.length / (numECCodewords / 8);
+        codewords[position] = (codewords[position] + 1 + random.nextInt(MODULUS - 1)) % MODULUS;
+      }
+      damaged[s] = codewords;
+    }
+    received = new int[DATA_CODEWORDS + numECCodewords];
+  }
+
+  @Benchmark
+  public int euclidean() throws ChecksumException {
+    return decodeAll(euclidean);
+  }
+
+  @Benchmark
+  public int berlekampMassey() throws ChecksumException {
+    return decodeAll(berlekampMassey);
+  }
+
+  private int decodeAll(ErrorCorrection errorCorrection) throws ChecksumException {
+    int errors = 0;
+    for (int[] codewords : damaged) {
+      System.arraycopy(codewords, 0, received, 0, received.length);
+      errors += errorCorrection.decode(received, numECCodewords, null);
+    }
+    return errors;
+  }
+
+  /**
+   * @return random data codewords followed by EC codewords that make 3^1 ... 3^numECCodewords
+   *  roots of the whole
+   */
+  private static int[] encode(Random random, int numECCodewords) {
+    // generator(x) = product of (x - 3^j), highest degree first
+    long[] generator = new long[numECCodewords + 1];
+    generator[0] = 1;
+    long root = 1;
+    for (int j = 1; j <= numECCodewords; j++) {
+      root = root * 3 % MODULUS;
+      for (int i = j; i > 0; i--) {
+        generator[i] = (generator[i] - root * generator[i - 1] % MODULUS + MODULUS) % MODULUS;
+      }
+    }
+    int[] codewords = new int[DATA_CODEWORDS + numECCodewords];
+    long[] remainder = new long[codewords.length];
+    for (int i = 0; i < DATA_CODEWORDS; i++) {
+      codewords[i] = random.nextInt(MODULUS);
+      remainder[i] = codewords[i];
+    }
+    for (int i = 0; i < DATA_CODEWORDS; i++) {
+      long scale = remainder[i];
+      for (int j = 0; j <= numECCodewords; j++) {
+        remainder[i + j] = (remainder[i + j] - scale * generator[j] % MODULUS + MODULUS) % MODULUS;
+      }
+    }
+    for (int i = DATA_CODEWORDS; i < codewords.length; i++) {
+      codewords[i] = (int) ((MODULUS - remainder[i]) % MODULUS);
+    }
+    return codewords;
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.Reader;
+import com.google.zxing.pdf417.PDF417Reader;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link PDF417Reader} on the PDF417 samples of the corpus.
+ */
+public class PDF417ReaderBenchmark extends AbstractReaderBenchmark {
+
+  @Param({"pdf_417-clean", "pdf_417-noisy", "pdf_417-blurred", "pdf_417-rotated"})
+  public String image;
+
+  @Override
+  protected String getImage() {
+    return image;
+  }
+
+  @Override
+  protected Reader createReader() {
+    return new PDF417Reader();
+  }
+
+}
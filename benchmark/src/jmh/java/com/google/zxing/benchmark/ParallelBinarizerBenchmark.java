@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HybridBinarizer} on a 12 megapixel image, serially ({@code threads = 1}) and in bands on
+ * a pool, to see how it scales with cores. The image is a corpus frame scaled up to 4000x3000, the
+ * size of a full resolution document photo. No more threads than there are cores take part, so
+ * counts above the machine's cores give the same as the core count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelBinarizerBenchmark {
+
+  private static final int WIDTH = 4000;
+  private static final int HEIGHT = 3000;
+
+  @Param({"1", "2", "4", "8"})
+  public int threads;
+
+  private LuminanceSource source;
+  private ExecutorService executor;
+
+  @Setup
+  public void setUp() throws IOException {
+    LuminanceSource frame = Corpus.load("frame-qr_code");
+    byte[] frameLuminances = frame.getMatrix();
+    int frameWidth = frame.getWidth();
+    int frameHeight = frame.getHeight();
+    byte[] luminances = new byte[WIDTH * HEIGHT];
+    for (int y = 0; y < HEIGHT; y++) {
+      int frameOffset = y * frameHeight / HEIGHT * frameWidth;
+      for (int x = 0; x < WIDTH; x++) {
+        luminances[y * WIDTH + x] = frameLuminances[frameOffset + x * frameWidth / WIDTH];
+      }
+    }
+    source = new PlanarYUVLuminanceSource(luminances, WIDTH, HEIGHT, 0, 0, WIDTH, HEIGHT, false);
+    // The calling thread takes bands too
+    executor = threads > 1 ? Executors.newFixedThreadPool(threads - 1) : null;
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  @Benchmark
+  public BitMatrix hybridMatrix() throws NotFoundException {
+    return new HybridBinarizer(source, null, executor).getBlackMatrix();
+  }
+
+}
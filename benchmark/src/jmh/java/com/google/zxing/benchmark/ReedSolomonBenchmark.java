@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.common.reedsolomon.GenericGF;
+import com.google.zxing.common.reedsolomon.ReedSolomonDecoder;
+import com.google.zxing.common.reedsolomon.ReedSolomonEncoder;
+import com.google.zxing.common.reedsolomon.ReedSolomonException;
+import com.google.zxing.common.reedsolomon.ReusableReedSolomonDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrects 19 blocks the size of those of a version 40-L QR Code, 148 codewords with 30 of them
+ * for error correction, each with the given number of errors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReedSolomonBenchmark {
+
+  private static final int BLOCKS = 19;
+  private static final int DATA_CODEWORDS = 118;
+  private static final int EC_CODEWORDS = 30;
+
+  @Param({"0", "4", "15"})
+  public int errors;
+
+  private final ReedSolomonDecoder decoder = new ReedSolomonDecoder(GenericGF.QR_CODE_FIELD_256);
+  private final ReusableReedSolomonDecoder reusableDecoder =
+      new ReusableReedSolomonDecoder(GenericGF.QR_CODE_FIELD_256);
+  private int[][] received;
+  private int[] block;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(0xEC);
+    ReedSolomonEncoder encoder = new ReedSolomonEncoder(GenericGF.QR_CODE_FIELD_256);
+    received = new int[BLOCKS][DATA_CODEWORDS + EC_CODEWORDS];
+    for (int[] codewords : received) {
+      for (int i = 0; i < DATA_CODEWORDS; i++) {
+        codewords[i] = random.nextInt(256);
+      }
+      encoder.encode(codewords, EC_CODEWORDS);
+      for (int i = 0; i < errors; i++) {
+        // Distinct positions, so that every error counts
+        int position = i * codewords.length / errors;
+        codewords[position] ^= 1 + random.nextInt(255);
+      }
+    }
+    block = new int[DATA_CODEWORDS + EC_CODEWORDS];
+  }
+
+  @Benchmark
+  public int[] decode() throws ReedSolomonException {
+    for (int[] codewords : received) {
+      System.arraycopy(codewords, 0, block, 0, block.length);
+      decoder.decode(block, EC_CODEWORDS);
+    }
+    return block;
+  }
+
+  @Benchmark
+  public int[] reusableDecode() throws ReedSolomonException {
+    for (int[] codewords : received) {
+      System.arraycopy(codewords, 0, block, 0, block.length);
+      reusableDecoder.decode(block, EC_CODEWORDS);
+    }
+    return block;
+  }
+
+}
@@ -18,6 +18,7 @@ package com.google.zxing;
 
 import com.google.zxing.common.BitArray;
 import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.RunLengthRow;
 
 /**
  * This class is the core bitmap class used by ZXing to represent 1 bit data. Reader objects
@@ -29,6 +30,8 @@ public final class BinaryBitmap {
 
   private final Binarizer binarizer;
   private BitMatrix matrix;
+  private RunLengthRow[] rowRuns;
+  private BitArray scratchRow;
 
   public BinaryBitmap(Binarizer binarizer) {
     if (binarizer == null) {
@@ -66,6 +69,29 @@ public final class BinaryBitmap {
     return binarizer.getBlackRow(y, row);
   }
 
+  /**
+   * Like {@link #getBlackRow(int, BitArray)}, but returns the row as runs of black and white pixels.
+   * Each row is binarized and encoded once, then cached, so every 1D reader working on this bitmap
+   * shares the same runs. The returned object belongs to this bitmap and must not be modified;
+   * copy it with {@link RunLengthRow#setReversed(RunLengthRow)} to work on the reversed row.
+   *
+   * @param y The row to fetch, which must be in [0, bitmap height)
+   * @return The runs of this row.
+   * @throws NotFoundException if row can't be binarized
+   */
+  public RunLengthRow getBlackRowRuns(int y) throws NotFoundException {
+    if (rowRuns == null) {
+      rowRuns = new RunLengthRow[getHeight()];
+    }
+    RunLengthRow runs = rowRuns[y];
+    if (runs == null) {
+      scratchRow = binarizer.getBlackRow(y, scratchRow);
+      runs = new RunLengthRow(scratchRow);
+      rowRuns[y] = runs;
+    }
+    return runs;
+  }
+
   /**
    * Converts a 2D array of luminance data to 1 bit. As above, assume this method is expensive
    * and do not call it repeatedly. This method is intended for decoding 2D barcodes and may or
@@ -109,6 +135,27 @@ public final class BinaryBitmap {
     return new BinaryBitmap(binarizer.createBinarizer(newSource));
   }
 
+  /**
+   * Like {@link #crop(int, int, int, int)}, but if this bitmap's black matrix has already been
+   * worked out, the cropped bitmap's matrix is cut from it rather than binarized again. That is
+   * much cheaper, though the pixels near the edges of the crop may come out differently, since
+   * they are thresholded with the help of pixels outside it. Rows for 1D readers are binarized
+   * from the cropped image as usual.
+   *
+   * @param left The left coordinate, which must be in [0,getWidth())
+   * @param top The top coordinate, which must be in [0,getHeight())
+   * @param width The width of the rectangle to crop.
+   * @param height The height of the rectangle to crop.
+   * @return A cropped version of this object.
+   */
+  public BinaryBitmap cropSharingMatrix(int left, int top, int width, int height) {
+    BinaryBitmap cropped = crop(left, top, width, height);
+    if (matrix != null) {
+      cropped.matrix = matrix.getRegion(left, top, width, height);
+    }
+    return cropped;
+  }
+
   /**
    * @return Whether this bitmap supports counter-clockwise rotation.
    */
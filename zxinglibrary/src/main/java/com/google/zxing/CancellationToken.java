@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets a caller stop a decode that is taking too long, either explicitly from another thread with
+ * {@link #cancel()} or by setting a deadline. Pass it with
+ * {@link DecodeHintType#CANCELLATION_TOKEN}; readers and detectors check it at their loop
+ * boundaries and give up with a {@link NotFoundException} once it fires.
+ *
+ * <p>A token can be reused from one decode to the next with {@link #reset()}.</p>
+ */
+public final class CancellationToken {
+
+  private volatile boolean cancelled;
+  private volatile boolean hasDeadline;
+  private volatile long deadlineNanos;
+
+  /**
+   * Makes the decode using this token stop at its next check. Safe to call from any thread.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Makes the decode using this token stop once the given time from now has elapsed.
+   */
+  public void setDeadline(long budget, TimeUnit unit) {
+    deadlineNanos = System.nanoTime() + unit.toNanos(budget);
+    hasDeadline = true;
+  }
+
+  /**
+   * Clears both the cancellation and the deadline.
+   */
+  public void reset() {
+    hasDeadline = false;
+    cancelled = false;
+  }
+
+  public boolean isCancelled() {
+    return cancelled || (hasDeadline && System.nanoTime() - deadlineNanos >= 0);
+  }
+
+  /**
+   * @throws NotFoundException if the token was cancelled or its deadline has passed
+   */
+  public void throwIfCancelled() throws NotFoundException {
+    if (isCancelled()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+  }
+
+  /**
+   * @param hints decode hints, possibly null
+   * @return the token passed as {@link DecodeHintType#CANCELLATION_TOKEN}, or null
+   */
+  public static CancellationToken fromHints(Map<DecodeHintType,?> hints) {
+    return hints == null ? null : (CancellationToken) hints.get(DecodeHintType.CANCELLATION_TOKEN);
+  }
+
+  /**
+   * Like {@link #throwIfCancelled()}, but does nothing for a null token.
+   */
+  public static void check(CancellationToken token) throws NotFoundException {
+    if (token != null) {
+      token.throwIfCancelled();
+    }
+  }
+
+}
@@ -17,6 +17,7 @@
 package com.google.zxing;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Encapsulates a type of hint that a caller may pass to a barcode reader to help it
@@ -98,6 +99,34 @@ public enum DecodeHintType {
    */
   ALLOWED_EAN_EXTENSIONS(int[].class),
 
+  /**
+   * Let {@link MultiFormatReader#decodeWithState(BinaryBitmap)} reorder its readers so that the
+   * formats which decoded most recently are tried first. Meant for continuous scanning where one
+   * format dominates. Doesn't matter what it maps to; use {@link Boolean#TRUE}.
+   */
+  ADAPTIVE_READER_ORDER(Void.class),
+
+  /**
+   * Lets the caller abort a decode that takes too long, by cancelling it or giving it a deadline.
+   * Readers give up with a {@link NotFoundException} once it fires. Maps to a
+   * {@link CancellationToken}.
+   */
+  CANCELLATION_TOKEN(CancellationToken.class),
+
+  /**
+   * Correct PDF417 codes with the Berlekamp-Massey decoder, which also makes use of erasures,
+   * instead of the Euclidean one. Pays off for codes with high error correction levels. Doesn't
+   * matter what it maps to; use {@link Boolean#TRUE}.
+   */
+  PDF417_BERLEKAMP_MASSEY(Void.class),
+
+  /**
+   * Error-correct the blocks of large QR Codes in parallel, on this executor as well as the calling
+   * thread. Worth it for still images of high-version codes with many blocks, less so for camera
+   * frames. Maps to an {@link Executor}.
+   */
+  ERROR_CORRECTION_EXECUTOR(Executor.class),
+
   // End of enumeration values.
   ;
 
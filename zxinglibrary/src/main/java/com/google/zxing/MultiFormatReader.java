@@ -25,6 +25,8 @@ import com.google.zxing.qrcode.QRCodeReader;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,8 +41,13 @@ public final class MultiFormatReader implements Reader {
 
   private static final Reader[] EMPTY_READER_ARRAY = new Reader[0];
 
+  // Each older success counts this much less than the next one towards a reader's priority
+  private static final double SUCCESS_DECAY = 0.9;
+
   private Map<DecodeHintType,?> hints;
   private Reader[] readers;
+  private ReaderMetrics[] metrics;
+  private boolean adaptiveOrder;
 
   /**
    * This version of decode honors the intent of Reader.decode(BinaryBitmap) in that it
@@ -155,6 +162,27 @@ public final class MultiFormatReader implements Reader {
       }
     }
     this.readers = readers.toArray(EMPTY_READER_ARRAY);
+    this.adaptiveOrder = hints != null && hints.containsKey(DecodeHintType.ADAPTIVE_READER_ORDER);
+    this.metrics = new ReaderMetrics[this.readers.length];
+    for (int i = 0; i < this.readers.length; i++) {
+      metrics[i] = new ReaderMetrics(this.readers[i].getClass().getSimpleName(), i);
+    }
+  }
+
+  /**
+   * @return statistics of each reader, in the order in which they are currently tried. With
+   *  {@link DecodeHintType#ADAPTIVE_READER_ORDER} this order follows recent successes; otherwise
+   *  it is the order built by {@link #setHints(Map)}.
+   */
+  public List<ReaderMetrics> getReaderMetrics() {
+    if (metrics == null) {
+      return Collections.emptyList();
+    }
+    List<ReaderMetrics> result = new ArrayList<>(metrics.length);
+    for (ReaderMetrics m : metrics) {
+      result.add(m.copy());
+    }
+    return result;
   }
 
   @Override
@@ -168,15 +196,43 @@ public final class MultiFormatReader implements Reader {
 
   private Result decodeInternal(BinaryBitmap image) throws NotFoundException {
     if (readers != null) {
-      for (Reader reader : readers) {
+      CancellationToken cancellation = CancellationToken.fromHints(hints);
+      for (int i = 0; i < readers.length; i++) {
+        CancellationToken.check(cancellation);
+        long start = System.nanoTime();
         try {
-          return reader.decode(image, hints);
+          Result result = readers[i].decode(image, hints);
+          recordSuccess(i, System.nanoTime() - start);
+          return result;
         } catch (ReaderException re) {
-          // continue
+          metrics[i].record(false, System.nanoTime() - start);
         }
       }
     }
     throw NotFoundException.getNotFoundInstance();
   }
 
+  private void recordSuccess(int index, long latencyNanos) {
+    for (ReaderMetrics m : metrics) {
+      m.decay(SUCCESS_DECAY);
+    }
+    metrics[index].record(true, latencyNanos);
+    if (adaptiveOrder) {
+      // Only the successful reader gained priority, so moving it forward restores the order
+      while (index > 0 && metrics[index].isBefore(metrics[index - 1])) {
+        swap(index, index - 1);
+        index--;
+      }
+    }
+  }
+
+  private void swap(int i, int j) {
+    Reader reader = readers[i];
+    readers[i] = readers[j];
+    readers[j] = reader;
+    ReaderMetrics m = metrics[i];
+    metrics[i] = metrics[j];
+    metrics[j] = m;
+  }
+
 }
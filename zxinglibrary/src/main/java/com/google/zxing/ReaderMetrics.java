@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import java.util.Locale;
+
+/**
+ * Success and latency statistics of one of the readers of a {@link MultiFormatReader}.
+ *
+ * @see MultiFormatReader#getReaderMetrics()
+ */
+public final class ReaderMetrics {
+
+  // Weight of the newest sample in the latency moving average
+  private static final double LATENCY_WEIGHT = 1.0 / 16;
+
+  private final String readerName;
+  private final int defaultPosition;
+  private long attempts;
+  private long successes;
+  private double successScore;
+  private double meanLatencyNanos;
+
+  ReaderMetrics(String readerName, int defaultPosition) {
+    this.readerName = readerName;
+    this.defaultPosition = defaultPosition;
+  }
+
+  private ReaderMetrics(ReaderMetrics other) {
+    this(other.readerName, other.defaultPosition);
+    attempts = other.attempts;
+    successes = other.successes;
+    successScore = other.successScore;
+    meanLatencyNanos = other.meanLatencyNanos;
+  }
+
+  void record(boolean success, long latencyNanos) {
+    attempts++;
+    if (success) {
+      successes++;
+      successScore++;
+    }
+    meanLatencyNanos = attempts == 1 ?
+        latencyNanos : meanLatencyNanos + (latencyNanos - meanLatencyNanos) * LATENCY_WEIGHT;
+  }
+
+  void decay(double factor) {
+    successScore *= factor;
+  }
+
+  /**
+   * @return true if this reader should be tried before the other
+   */
+  boolean isBefore(ReaderMetrics other) {
+    if (successScore != other.successScore) {
+      return successScore > other.successScore;
+    }
+    return defaultPosition < other.defaultPosition;
+  }
+
+  ReaderMetrics copy() {
+    return new ReaderMetrics(this);
+  }
+
+  /**
+   * @return simple class name of the reader
+   */
+  public String getReaderName() {
+    return readerName;
+  }
+
+  /**
+   * @return position of the reader in the order {@link MultiFormatReader#setHints(java.util.Map)}
+   *  builds
+   */
+  public int getDefaultPosition() {
+    return defaultPosition;
+  }
+
+  /**
+   * @return number of images the reader was tried on
+   */
+  public long getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * @return number of images the reader decoded
+   */
+  public long getSuccesses() {
+    return successes;
+  }
+
+  /**
+   * @return count of recent successes, where each older success counts for less
+   */
+  public double getSuccessScore() {
+    return successScore;
+  }
+
+  /**
+   * @return moving average of the time one attempt of the reader takes, successful or not
+   */
+  public double getMeanLatencyNanos() {
+    return meanLatencyNanos;
+  }
+
+  @Override
+  public String toString() {
+    return readerName + " successes=" + successes + '/' + attempts +
+        " score=" + String.format(Locale.US, "%.2f", successScore) +
+        " latency=" + String.format(Locale.US, "%.0f", meanLatencyNanos / 1000.0) + "us";
+  }
+
+}
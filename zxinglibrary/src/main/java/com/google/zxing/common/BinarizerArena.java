@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+/**
+ * Recycles the output matrix and scratch arrays of {@link GlobalHistogramBinarizer} and
+ * {@link HybridBinarizer} from one image to the next. Continuous scan clients binarize a stream of
+ * same-sized frames; handing each new binarizer the same arena lets it reuse the arrays of the
+ * previous frame, so steady-state scanning allocates nothing per frame.
+ *
+ * <p>Each binarization using an arena overwrites the {@link BitMatrix} returned by the previous
+ * one, so only use an arena once you are done with the previous frame. An arena is not
+ * thread-safe; use one per decoding thread.</p>
+ *
+ * <p>Binarizers created through {@link com.google.zxing.Binarizer#createBinarizer} (for crops
+ * and rotations) do not inherit the arena, since they are used while the parent matrix is still
+ * live.</p>
+ */
+public final class BinarizerArena {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private BitMatrix matrix;
+  private int[][] blackPoints;
+  private byte[] luminances = EMPTY;
+  private final int[] buckets;
+
+  public BinarizerArena() {
+    buckets = new int[GlobalHistogramBinarizer.LUMINANCE_BUCKETS];
+  }
+
+  /**
+   * @return a cleared matrix of the given dimensions, reusing the previous one if it matches
+   */
+  BitMatrix obtainMatrix(int width, int height) {
+    BitMatrix result = matrix;
+    if (result == null || result.getWidth() != width || result.getHeight() != height) {
+      result = new BitMatrix(width, height);
+      matrix = result;
+    } else {
+      result.clear();
+    }
+    return result;
+  }
+
+  /**
+   * @return a table of at least subHeight rows of subWidth black points; contents are undefined
+   */
+  int[][] obtainBlackPoints(int subWidth, int subHeight) {
+    int[][] result = blackPoints;
+    if (result == null || result.length != subHeight || result[0].length != subWidth) {
+      result = new int[subHeight][subWidth];
+      blackPoints = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return a luminance row buffer of at least the given size; contents are undefined
+   */
+  byte[] obtainLuminances(int size) {
+    if (luminances.length < size) {
+      luminances = new byte[size];
+    }
+    return luminances;
+  }
+
+  /**
+   * @return the histogram buckets; the caller clears them
+   */
+  int[] getBuckets() {
+    return buckets;
+  }
+
+}
@@ -133,6 +133,73 @@ public final class BitArray implements Cloneable {
     return Math.min(result, size);
   }
 
+  /**
+   * @param from index to start looking backwards from, inclusive
+   * @return index of the last set bit at or before the given index, or -1 if none are set
+   * @see #getPreviousUnset(int)
+   */
+  public int getPreviousSet(int from) {
+    if (from < 0) {
+      return -1;
+    }
+    int bitsOffset = from / 32;
+    int currentBits = bits[bitsOffset];
+    // mask off greater bits first
+    currentBits &= -1 >>> (31 - (from & 0x1F));
+    while (currentBits == 0) {
+      if (--bitsOffset < 0) {
+        return -1;
+      }
+      currentBits = bits[bitsOffset];
+    }
+    return (bitsOffset * 32) + 31 - Integer.numberOfLeadingZeros(currentBits);
+  }
+
+  /**
+   * @param from index to start looking backwards from, inclusive
+   * @return index of the last unset bit at or before the given index, or -1 if all are set
+   * @see #getPreviousSet(int)
+   */
+  public int getPreviousUnset(int from) {
+    if (from < 0) {
+      return -1;
+    }
+    int bitsOffset = from / 32;
+    int currentBits = ~bits[bitsOffset];
+    // mask off greater bits first
+    currentBits &= -1 >>> (31 - (from & 0x1F));
+    while (currentBits == 0) {
+      if (--bitsOffset < 0) {
+        return -1;
+      }
+      currentBits = ~bits[bitsOffset];
+    }
+    return (bitsOffset * 32) + 31 - Integer.numberOfLeadingZeros(currentBits);
+  }
+
+  /**
+   * Records the lengths of the alternating runs of equal bits starting at {@code start}, finding
+   * each run end a word at a time rather than bit by bit.
+   *
+   * @param start index of the first bit of the first run
+   * @param runs array to fill with run lengths, up to its length; the first run has the color of
+   *  bit {@code start}
+   * @return number of runs recorded; less than {@code runs.length} if the array ended first, in
+   *  which case the last run recorded ends at {@link #getSize()}
+   */
+  public int getRunLengths(int start, int[] runs) {
+    int count = 0;
+    int i = start;
+    boolean set = start < size && get(start);
+    while (i < size && count < runs.length) {
+      int next = set ? getNextUnset(i) : getNextSet(i);
+      runs[count++] = next - i;
+      i = next;
+      set = !set;
+    }
+    return count;
+  }
+
   /**
    * Sets a block of 32 bits, starting at bit i.
    *
@@ -39,6 +39,8 @@ public final class BitMatrix implements Cloneable {
   private int height;
   private int rowSize;
   private int[] bits;
+  // Tiles not binarized yet, if this matrix binarizes on demand
+  private LazyTiles lazyTiles;
 
   /**
    * Creates an empty square {@code BitMatrix}.
@@ -65,6 +67,18 @@ public final class BitMatrix implements Cloneable {
     bits = new int[rowSize * height];
   }
 
+  /**
+   * Creates a {@code BitMatrix} whose bits are binarized a tile at a time, as they are first used.
+   *
+   * @param width bit matrix width
+   * @param height bit matrix height
+   * @param lazyTiles binarizes the tiles
+   */
+  BitMatrix(int width, int height, LazyTiles lazyTiles) {
+    this(width, height);
+    this.lazyTiles = lazyTiles;
+  }
+
   private BitMatrix(int width, int height, int rowSize, int[] bits) {
     this.width = width;
     this.height = height;
@@ -158,6 +172,9 @@ public final class BitMatrix implements Cloneable {
    * @return value of given bit in matrix
    */
   public boolean get(int x, int y) {
+    if (lazyTiles != null) {
+      binarizeTile(x, y);
+    }
     int offset = y * rowSize + (x / 32);
     return ((bits[offset] >>> (x & 0x1f)) & 1) != 0;
   }
@@ -169,11 +186,17 @@ public final class BitMatrix implements Cloneable {
    * @param y The vertical component (i.e. which row)
    */
   public void set(int x, int y) {
+    if (lazyTiles != null) {
+      binarizeTile(x, y);
+    }
     int offset = y * rowSize + (x / 32);
     bits[offset] |= 1 << (x & 0x1f);
   }
 
   public void unset(int x, int y) {
+    if (lazyTiles != null) {
+      binarizeTile(x, y);
+    }
     int offset = y * rowSize + (x / 32);
     bits[offset] &= ~(1 << (x & 0x1f));
   }
@@ -185,6 +208,9 @@ public final class BitMatrix implements Cloneable {
    * @param y The vertical component (i.e. which row)
    */
   public void flip(int x, int y) {
+    if (lazyTiles != null) {
+      binarizeTile(x, y);
+    }
     int offset = y * rowSize + (x / 32);
     bits[offset] ^= 1 << (x & 0x1f);
   }
@@ -196,16 +222,51 @@ public final class BitMatrix implements Cloneable {
    * @param mask XOR mask
    */
   public void xor(BitMatrix mask) {
-    if (width != mask.width || height != mask.height || rowSize != mask.rowSize) {
-      throw new IllegalArgumentException("input matrix dimensions do not match");
+    checkSameDimensions(mask);
+    binarizeAll();
+    mask.binarizeAll();
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] ^= mask.bits[i];
     }
-    BitArray rowArray = new BitArray(width);
-    for (int y = 0; y < height; y++) {
-      int offset = y * rowSize;
-      int[] row = mask.getRow(y, rowArray).getBitArray();
-      for (int x = 0; x < rowSize; x++) {
-        bits[offset + x] ^= row[x];
-      }
+  }
+
+  /**
+   * Intersection (AND): Clear the bit in this {@code BitMatrix} if the corresponding
+   * mask bit is not set.
+   *
+   * @param mask AND mask
+   */
+  public void and(BitMatrix mask) {
+    checkSameDimensions(mask);
+    binarizeAll();
+    mask.binarizeAll();
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] &= mask.bits[i];
+    }
+  }
+
+  private void binarizeTile(int x, int y) {
+    if (lazyTiles.ensure(bits, rowSize, x, y)) {
+      lazyTiles = null;
+    }
+  }
+
+  private void binarizeRegion(int left, int top, int right, int bottom) {
+    if (lazyTiles.ensureRegion(bits, rowSize, left, top, right, bottom)) {
+      lazyTiles = null;
+    }
+  }
+
+  private void binarizeAll() {
+    if (lazyTiles != null) {
+      lazyTiles.ensureAll(bits, rowSize);
+      lazyTiles = null;
+    }
+  }
+
+  private void checkSameDimensions(BitMatrix other) {
+    if (width != other.width || height != other.height || rowSize != other.rowSize) {
+      throw new IllegalArgumentException("input matrix dimensions do not match");
     }
   }
 
@@ -213,6 +274,7 @@ public final class BitMatrix implements Cloneable {
    * Clears all bits (sets to false).
    */
   public void clear() {
+    lazyTiles = null;
     int max = bits.length;
     for (int i = 0; i < max; i++) {
       bits[i] = 0;
@@ -239,6 +301,9 @@ public final class BitMatrix implements Cloneable {
     if (bottom > this.height || right > this.width) {
       throw new IllegalArgumentException("The region must fit inside the matrix");
     }
+    if (lazyTiles != null) {
+      binarizeRegion(left, top, right - 1, bottom - 1);
+    }
     for (int y = top; y < bottom; y++) {
       int offset = y * rowSize;
       for (int x = left; x < right; x++) {
@@ -247,6 +312,47 @@ public final class BitMatrix implements Cloneable {
     }
   }
 
+  /**
+   * Copies a rectangular region into a new matrix, a word at a time.
+   *
+   * @param left The horizontal position to begin at (inclusive)
+   * @param top The vertical position to begin at (inclusive)
+   * @param width The width of the region
+   * @param height The height of the region
+   * @return a matrix of the region's bits, with (left, top) at (0, 0)
+   */
+  public BitMatrix getRegion(int left, int top, int width, int height) {
+    if (top < 0 || left < 0) {
+      throw new IllegalArgumentException("Left and top must be nonnegative");
+    }
+    if (height < 1 || width < 1) {
+      throw new IllegalArgumentException("Height and width must be at least 1");
+    }
+    if (top + height > this.height || left + width > this.width) {
+      throw new IllegalArgumentException("The region must fit inside the matrix");
+    }
+    if (lazyTiles != null) {
+      binarizeRegion(left, top, left + width - 1, top + height - 1);
+    }
+    BitMatrix region = new BitMatrix(width, height);
+    int shift = left & 0x1f;
+    int lastMask = -1 >>> (31 - ((width - 1) & 0x1f));
+    for (int y = 0; y < height; y++) {
+      int offset = (top + y) * rowSize + (left / 32);
+      int end = (top + y + 1) * rowSize;
+      int regionOffset = y * region.rowSize;
+      for (int x32 = 0; x32 < region.rowSize; x32++) {
+        int word = bits[offset + x32] >>> shift;
+        if (shift != 0 && offset + x32 + 1 < end) {
+          word |= bits[offset + x32 + 1] << (32 - shift);
+        }
+        region.bits[regionOffset + x32] = word;
+      }
+      region.bits[regionOffset + region.rowSize - 1] &= lastMask;
+    }
+    return region;
+  }
+
   /**
    * A fast method to retrieve one row of data from the matrix as a BitArray.
    *
@@ -261,6 +367,9 @@ public final class BitMatrix implements Cloneable {
     } else {
       row.clear();
     }
+    if (lazyTiles != null) {
+      binarizeRegion(0, y, width - 1, y);
+    }
     int offset = y * rowSize;
     for (int x = 0; x < rowSize; x++) {
       row.setBulk(x * 32, bits[offset + x]);
@@ -273,6 +382,9 @@ public final class BitMatrix implements Cloneable {
    * @param row {@link BitArray} to copy from
    */
   public void setRow(int y, BitArray row) {
+    if (lazyTiles != null) {
+      binarizeRegion(0, y, width - 1, y);
+    }
     System.arraycopy(row.getBitArray(), 0, bits, y * rowSize, rowSize);
   }
 
@@ -298,17 +410,25 @@ public final class BitMatrix implements Cloneable {
    * Modifies this {@code BitMatrix} to represent the same but rotated 90 degrees counterclockwise
    */
   public void rotate90() {
+    binarizeAll();
     int newWidth = height;
     int newHeight = width;
     int newRowSize = (newWidth + 31) / 32;
     int[] newBits = new int[newRowSize * newHeight];
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int offset = y * rowSize + (x / 32);
-        if (((bits[offset] >>> (x & 0x1f)) & 1) != 0) {
-          int newOffset = (newHeight - 1 - x) * newRowSize + (y / 32);
-          newBits[newOffset] |= 1 << (y & 0x1f);
+    // Transpose one 32x32 block of bits at a time; row x of the transposed block holds column x,
+    // which ends up as row (newHeight - 1 - x) of the rotated matrix
+    int[] block = new int[32];
+    for (int y32 = 0; y32 < newRowSize; y32++) {
+      int blockHeight = Math.min(32, height - y32 * 32);
+      for (int x32 = 0; x32 < rowSize; x32++) {
+        for (int i = 0; i < 32; i++) {
+          block[i] = i < blockHeight ? bits[(y32 * 32 + i) * rowSize + x32] : 0;
+        }
+        transpose32(block);
+        int blockWidth = Math.min(32, width - x32 * 32);
+        for (int i = 0; i < blockWidth; i++) {
+          newBits[(newHeight - 1 - (x32 * 32 + i)) * newRowSize + y32] = block[i];
         }
       }
     }
@@ -318,12 +438,69 @@ public final class BitMatrix implements Cloneable {
     bits = newBits;
   }
 
+  /**
+   * Transposes a 32x32 block of bits in place, where bit j of {@code block[i]} is column j of row i,
+   * by swapping ever smaller sub-blocks (Hacker's Delight, section 7-3).
+   */
+  private static void transpose32(int[] block) {
+    int mask = 0x0000FFFF;
+    for (int j = 16; j != 0; j >>>= 1, mask ^= mask << j) {
+      for (int k = 0; k < 32; k = (k + j + 1) & ~j) {
+        int t = ((block[k] >>> j) ^ block[k + j]) & mask;
+        block[k] ^= t << j;
+        block[k + j] ^= t;
+      }
+    }
+  }
+
+  /**
+   * Counts the set bits in a rectangular region, a word at a time.
+   *
+   * @param left The horizontal position to begin at (inclusive)
+   * @param top The vertical position to begin at (inclusive)
+   * @param width The width of the region
+   * @param height The height of the region
+   * @return number of bits set in the region
+   */
+  public int getPopulationCount(int left, int top, int width, int height) {
+    if (top < 0 || left < 0 || width < 0 || height < 0 ||
+        left + width > this.width || top + height > this.height) {
+      throw new IllegalArgumentException("The region must fit inside the matrix");
+    }
+    if (width == 0) {
+      return 0;
+    }
+    if (lazyTiles != null) {
+      binarizeRegion(left, top, left + width - 1, top + height - 1);
+    }
+    int right = left + width - 1;
+    int firstWord = left / 32;
+    int lastWord = right / 32;
+    int firstMask = -1 << (left & 0x1f);
+    int lastMask = -1 >>> (31 - (right & 0x1f));
+    int count = 0;
+    for (int y = top; y < top + height; y++) {
+      int offset = y * rowSize;
+      if (firstWord == lastWord) {
+        count += Integer.bitCount(bits[offset + firstWord] & firstMask & lastMask);
+        continue;
+      }
+      count += Integer.bitCount(bits[offset + firstWord] & firstMask);
+      for (int x32 = firstWord + 1; x32 < lastWord; x32++) {
+        count += Integer.bitCount(bits[offset + x32]);
+      }
+      count += Integer.bitCount(bits[offset + lastWord] & lastMask);
+    }
+    return count;
+  }
+
   /**
    * This is useful in detecting the enclosing rectangle of a 'pure' barcode.
    *
    * @return {@code left,top,width,height} enclosing rectangle of all 1 bits, or null if it is all white
    */
   public int[] getEnclosingRectangle() {
+    binarizeAll();
     int left = width;
     int top = height;
     int right = -1;
@@ -339,24 +516,8 @@ public final class BitMatrix implements Cloneable {
           if (y > bottom) {
             bottom = y;
           }
-          if (x32 * 32 < left) {
-            int bit = 0;
-            while ((theBits << (31 - bit)) == 0) {
-              bit++;
-            }
-            if ((x32 * 32 + bit) < left) {
-              left = x32 * 32 + bit;
-            }
-          }
-          if (x32 * 32 + 31 > right) {
-            int bit = 31;
-            while ((theBits >>> bit) == 0) {
-              bit--;
-            }
-            if ((x32 * 32 + bit) > right) {
-              right = x32 * 32 + bit;
-            }
-          }
+          left = Math.min(left, x32 * 32 + Integer.numberOfTrailingZeros(theBits));
+          right = Math.max(right, x32 * 32 + 31 - Integer.numberOfLeadingZeros(theBits));
         }
       }
     }
@@ -374,6 +535,7 @@ public final class BitMatrix implements Cloneable {
    * @return {@code x,y} coordinate of top-left-most 1 bit, or null if it is all white
    */
   public int[] getTopLeftOnBit() {
+    binarizeAll();
     int bitsOffset = 0;
     while (bitsOffset < bits.length && bits[bitsOffset] == 0) {
       bitsOffset++;
@@ -384,16 +546,12 @@ public final class BitMatrix implements Cloneable {
     int y = bitsOffset / rowSize;
     int x = (bitsOffset % rowSize) * 32;
 
-    int theBits = bits[bitsOffset];
-    int bit = 0;
-    while ((theBits << (31 - bit)) == 0) {
-      bit++;
-    }
-    x += bit;
+    x += Integer.numberOfTrailingZeros(bits[bitsOffset]);
     return new int[] {x, y};
   }
 
   public int[] getBottomRightOnBit() {
+    binarizeAll();
     int bitsOffset = bits.length - 1;
     while (bitsOffset >= 0 && bits[bitsOffset] == 0) {
       bitsOffset--;
@@ -405,12 +563,7 @@ public final class BitMatrix implements Cloneable {
     int y = bitsOffset / rowSize;
     int x = (bitsOffset % rowSize) * 32;
 
-    int theBits = bits[bitsOffset];
-    int bit = 31;
-    while ((theBits >>> bit) == 0) {
-      bit--;
-    }
-    x += bit;
+    x += 31 - Integer.numberOfLeadingZeros(bits[bitsOffset]);
 
     return new int[] {x, y};
   }
@@ -442,12 +595,15 @@ public final class BitMatrix implements Cloneable {
       return false;
     }
     BitMatrix other = (BitMatrix) o;
+    binarizeAll();
+    other.binarizeAll();
     return width == other.width && height == other.height && rowSize == other.rowSize &&
     Arrays.equals(bits, other.bits);
   }
 
   @Override
   public int hashCode() {
+    binarizeAll();
     int hash = width;
     hash = 31 * hash + width;
     hash = 31 * hash + height;
@@ -498,6 +654,7 @@ public final class BitMatrix implements Cloneable {
 
   @Override
   public BitMatrix clone() {
+    binarizeAll();
     return new BitMatrix(width, height, rowSize, bits.clone());
   }
 
@@ -35,16 +35,31 @@ public class GlobalHistogramBinarizer extends Binarizer {
 
   private static final int LUMINANCE_BITS = 5;
   private static final int LUMINANCE_SHIFT = 8 - LUMINANCE_BITS;
-  private static final int LUMINANCE_BUCKETS = 1 << LUMINANCE_BITS;
+  static final int LUMINANCE_BUCKETS = 1 << LUMINANCE_BITS;
   private static final byte[] EMPTY = new byte[0];
 
   private byte[] luminances;
   private final int[] buckets;
+  private final BinarizerArena arena;
 
   public GlobalHistogramBinarizer(LuminanceSource source) {
+    this(source, null);
+  }
+
+  /**
+   * @param source the luminance source to binarize
+   * @param arena where to take the output matrix and scratch arrays from, reusing those of a
+   *  previous frame; may be null
+   */
+  public GlobalHistogramBinarizer(LuminanceSource source, BinarizerArena arena) {
     super(source);
+    this.arena = arena;
     luminances = EMPTY;
-    buckets = new int[LUMINANCE_BUCKETS];
+    buckets = arena == null ? new int[LUMINANCE_BUCKETS] : arena.getBuckets();
+  }
+
+  BinarizerArena getArena() {
+    return arena;
   }
 
   // Applies simple sharpening to the row data to improve performance of the 1D Readers.
@@ -95,7 +110,7 @@ public class GlobalHistogramBinarizer extends Binarizer {
     LuminanceSource source = getLuminanceSource();
     int width = source.getWidth();
     int height = source.getHeight();
-    BitMatrix matrix = new BitMatrix(width, height);
+    BitMatrix matrix = arena == null ? new BitMatrix(width, height) : arena.obtainMatrix(width, height);
 
     // Quickly calculates the histogram by sampling four rows from the image. This proved to be
     // more robust on the blackbox tests than sampling a diagonal as we used to do.
@@ -135,7 +150,9 @@ public class GlobalHistogramBinarizer extends Binarizer {
   }
 
   private void initArrays(int luminanceSize) {
-    if (luminances.length < luminanceSize) {
+    if (arena != null) {
+      luminances = arena.obtainLuminances(luminanceSize);
+    } else if (luminances.length < luminanceSize) {
       luminances = new byte[luminanceSize];
     }
     for (int x = 0; x < LUMINANCE_BUCKETS; x++) {
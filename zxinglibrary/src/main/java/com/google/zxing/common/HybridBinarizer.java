@@ -20,6 +20,8 @@ import com.google.zxing.Binarizer;
 import com.google.zxing.LuminanceSource;
 import com.google.zxing.NotFoundException;
 
+import java.util.concurrent.Executor;
+
 /**
  * This class implements a local thresholding algorithm, which while slower than the
  * GlobalHistogramBinarizer, is fairly efficient for what it does. It is designed for
@@ -41,16 +43,49 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
 
   // This class uses 5x5 blocks to compute local luminance, where each block is 8x8 pixels.
   // So this is the smallest dimension in each axis we can accept.
-  private static final int BLOCK_SIZE_POWER = 3;
-  private static final int BLOCK_SIZE = 1 << BLOCK_SIZE_POWER; // ...0100...00
-  private static final int BLOCK_SIZE_MASK = BLOCK_SIZE - 1;   // ...0011...11
-  private static final int MINIMUM_DIMENSION = BLOCK_SIZE * 5;
+  static final int BLOCK_SIZE_POWER = 3;
+  static final int BLOCK_SIZE = 1 << BLOCK_SIZE_POWER; // ...0100...00
+  static final int BLOCK_SIZE_MASK = BLOCK_SIZE - 1;   // ...0011...11
+  static final int MINIMUM_DIMENSION = BLOCK_SIZE * 5;
   private static final int MIN_DYNAMIC_RANGE = 24;
+  // Rows of blocks per band when binarizing on several threads, 128 pixel rows
+  private static final int BAND_BLOCK_ROWS = 16;
 
+  private final Executor executor;
+  private final int threads;
   private BitMatrix matrix;
 
   public HybridBinarizer(LuminanceSource source) {
-    super(source);
+    this(source, null, null);
+  }
+
+  /**
+   * @param source the luminance source to binarize
+   * @param arena where to take the output matrix and scratch arrays from, reusing those of a
+   *  previous frame; may be null
+   */
+  public HybridBinarizer(LuminanceSource source, BinarizerArena arena) {
+    this(source, arena, null);
+  }
+
+  /**
+   * @param source the luminance source to binarize
+   * @param arena where to take the output matrix and scratch arrays from, reusing those of a
+   *  previous frame; may be null
+   * @param executor runs helper threads that binarize bands of rows alongside the calling thread,
+   *  for large images; may be null. The result is the same either way
+   */
+  public HybridBinarizer(LuminanceSource source, BinarizerArena arena, Executor executor) {
+    this(source, arena, executor, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param threads most threads to binarize bands on, the calling thread included
+   */
+  HybridBinarizer(LuminanceSource source, BinarizerArena arena, Executor executor, int threads) {
+    super(source, arena);
+    this.executor = executor;
+    this.threads = threads;
   }
 
   /**
@@ -76,10 +111,17 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
       if ((height & BLOCK_SIZE_MASK) != 0) {
         subHeight++;
       }
-      int[][] blackPoints = calculateBlackPoints(luminances, subWidth, subHeight, width, height);
-
-      BitMatrix newMatrix = new BitMatrix(width, height);
-      calculateThresholdForBlock(luminances, subWidth, subHeight, width, height, blackPoints, newMatrix);
+      BinarizerArena arena = getArena();
+      int[][] blackPoints = arena == null ?
+          new int[subHeight][subWidth] : arena.obtainBlackPoints(subWidth, subHeight);
+      BitMatrix newMatrix = arena == null ? new BitMatrix(width, height) : arena.obtainMatrix(width, height);
+      if (executor != null && subHeight >= 2 * BAND_BLOCK_ROWS) {
+        binarizeInBands(luminances, subWidth, subHeight, width, height, blackPoints, newMatrix);
+      } else {
+        calculateBlackPoints(luminances, subWidth, subHeight, width, height, blackPoints);
+        calculateThresholdForBlock(luminances, 0, subHeight, subWidth, subHeight, width, height, blackPoints,
+                                   newMatrix);
+      }
       matrix = newMatrix;
     } else {
       // If the image is too small, fall back to the global histogram approach.
@@ -90,15 +132,49 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
 
   @Override
   public Binarizer createBinarizer(LuminanceSource source) {
-    return new HybridBinarizer(source);
+    return new HybridBinarizer(source, null, executor, threads);
+  }
+
+  /**
+   * Does what {@link #calculateBlackPoints} and {@link #calculateThresholdForBlock} do, with bands
+   * of block rows on several threads. Only the flat blocks' black points, which chain from block
+   * to block, are resolved on the calling thread in between. The thresholds of a band read the
+   * black points two block rows into its neighbours, so they only start once all are known. The
+   * last row of blocks may overlap the one above it, but the last band has at least two rows, so
+   * each pixel row is written by one thread only.
+   */
+  private void binarizeInBands(final byte[] luminances,
+                               final int subWidth,
+                               final int subHeight,
+                               final int width,
+                               final int height,
+                               final int[][] blackPoints,
+                               final BitMatrix matrix) {
+    new ParallelBands(subHeight, BAND_BLOCK_ROWS) {
+      @Override
+      void processBand(int start, int end) {
+        calculateBlockAverages(luminances, start, end, subWidth, width, height, blackPoints);
+      }
+    }.run(executor, threads);
+    resolveFlatBlocks(subWidth, subHeight, blackPoints);
+    new ParallelBands(subHeight, BAND_BLOCK_ROWS) {
+      @Override
+      void processBand(int start, int end) {
+        calculateThresholdForBlock(luminances, start, end, subWidth, subHeight, width, height, blackPoints,
+                                   matrix);
+      }
+    }.run(executor, threads);
   }
 
   /**
    * For each block in the image, calculate the average black point using a 5x5 grid
    * of the blocks around it. Also handles the corner cases (fractional blocks are computed based
    * on the last pixels in the row/column which are also used in the previous block).
+   * Covers block rows [yStart, yEnd).
    */
   private static void calculateThresholdForBlock(byte[] luminances,
+                                                 int yStart,
+                                                 int yEnd,
                                                  int subWidth,
                                                  int subHeight,
                                                  int width,
@@ -107,7 +183,7 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
                                                  BitMatrix matrix) {
     int maxYOffset = height - BLOCK_SIZE;
     int maxXOffset = width - BLOCK_SIZE;
-    for (int y = 0; y < subHeight; y++) {
+    for (int y = yStart; y < yEnd; y++) {
       int yoffset = y << BLOCK_SIZE_POWER;
       if (yoffset > maxYOffset) {
         yoffset = maxYOffset;
@@ -119,21 +195,28 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
           xoffset = maxXOffset;
         }
         int left = cap(x, subWidth - 3);
-        int sum = 0;
-        for (int z = -2; z <= 2; z++) {
-          int[] blackRow = blackPoints[top + z];
-          sum += blackRow[left - 2] + blackRow[left - 1] + blackRow[left] + blackRow[left + 1] + blackRow[left + 2];
-        }
-        int average = sum / 25;
-        thresholdBlock(luminances, xoffset, yoffset, average, width, matrix);
+        thresholdBlock(luminances, xoffset, yoffset, averageBlackPoint(blackPoints, left, top), width, matrix);
       }
     }
   }
 
-  private static int cap(int value, int max) {
+  static int cap(int value, int max) {
     return value < 2 ? 2 : Math.min(value, max);
   }
 
+  /**
+   * @return the average black point of the 5x5 blocks centred on block (left, top), which must
+   *  be at least 2 blocks from every edge
+   */
+  static int averageBlackPoint(int[][] blackPoints, int left, int top) {
+    int sum = 0;
+    for (int z = -2; z <= 2; z++) {
+      int[] blackRow = blackPoints[top + z];
+      sum += blackRow[left - 2] + blackRow[left - 1] + blackRow[left] + blackRow[left + 1] + blackRow[left + 2];
+    }
+    return sum / 25;
+  }
+
   /**
    * Applies a single threshold to a block of pixels.
    */
@@ -158,15 +241,32 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
    * See the following thread for a discussion of this algorithm:
    *  http://groups.google.com/group/zxing/browse_thread/thread/d06efa2c35a7ddc0
    */
-  private static int[][] calculateBlackPoints(byte[] luminances,
-                                              int subWidth,
-                                              int subHeight,
-                                              int width,
-                                              int height) {
+  static void calculateBlackPoints(byte[] luminances,
+                                   int subWidth,
+                                   int subHeight,
+                                   int width,
+                                   int height,
+                                   int[][] blackPoints) {
+    calculateBlockAverages(luminances, 0, subHeight, subWidth, width, height, blackPoints);
+    resolveFlatBlocks(subWidth, subHeight, blackPoints);
+  }
+
+  /**
+   * First half of {@link #calculateBlackPoints}, for block rows [yStart, yEnd): works out the black
+   * point of each block with enough contrast. The black point of a flat block may depend on those
+   * above and to the left of it, which could be in rows another thread has yet to reach, so for
+   * those it only records {@code -1 - min} for {@link #resolveFlatBlocks} to finish.
+   */
+  private static void calculateBlockAverages(byte[] luminances,
+                                             int yStart,
+                                             int yEnd,
+                                             int subWidth,
+                                             int width,
+                                             int height,
+                                             int[][] blackPoints) {
     int maxYOffset = height - BLOCK_SIZE;
     int maxXOffset = width - BLOCK_SIZE;
-    int[][] blackPoints = new int[subHeight][subWidth];
-    for (int y = 0; y < subHeight; y++) {
+    for (int y = yStart; y < yEnd; y++) {
       int yoffset = y << BLOCK_SIZE_POWER;
       if (yoffset > maxYOffset) {
         yoffset = maxYOffset;
@@ -202,36 +302,54 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
           }
         }
 
-        // The default estimate is the average of the values in the block.
-        int average = sum >> (BLOCK_SIZE_POWER * 2);
         if (max - min <= MIN_DYNAMIC_RANGE) {
-          // If variation within the block is low, assume this is a block with only light or only
-          // dark pixels. In that case we do not want to use the average, as it would divide this
-          // low contrast area into black and white pixels, essentially creating data out of noise.
-          //
-          // The default assumption is that the block is light/background. Since no estimate for
-          // the level of dark pixels exists locally, use half the min for the block.
-          average = min / 2;
-
-          if (y > 0 && x > 0) {
-            // Correct the "white background" assumption for blocks that have neighbors by comparing
-            // the pixels in this block to the previously calculated black points. This is based on
-            // the fact that dark barcode symbology is always surrounded by some amount of light
-            // background for which reasonable black point estimates were made. The bp estimated at
-            // the boundaries is used for the interior.
-
-            // The (min < bp) is arbitrary but works better than other heuristics that were tried.
-            int averageNeighborBlackPoint =
-                (blackPoints[y - 1][x] + (2 * blackPoints[y][x - 1]) + blackPoints[y - 1][x - 1]) / 4;
-            if (min < averageNeighborBlackPoint) {
-              average = averageNeighborBlackPoint;
-            }
+          blackPoints[y][x] = -1 - min;
+        } else {
+          // The default estimate is the average of the values in the block.
+          blackPoints[y][x] = sum >> (BLOCK_SIZE_POWER * 2);
+        }
+      }
+    }
+  }
+
+  /**
+   * Second half of {@link #calculateBlackPoints}: works out the black points of the flat blocks,
+   * top to bottom and left to right, once every block has been through
+   * {@link #calculateBlockAverages}.
+   */
+  private static void resolveFlatBlocks(int subWidth, int subHeight, int[][] blackPoints) {
+    for (int y = 0; y < subHeight; y++) {
+      int[] blackRow = blackPoints[y];
+      for (int x = 0; x < subWidth; x++) {
+        if (blackRow[x] >= 0) {
+          continue;
+        }
+        int min = -1 - blackRow[x];
+        // If variation within the block is low, assume this is a block with only light or only
+        // dark pixels. In that case we do not want to use the average, as it would divide this
+        // low contrast area into black and white pixels, essentially creating data out of noise.
+        //
+        // The default assumption is that the block is light/background. Since no estimate for
+        // the level of dark pixels exists locally, use half the min for the block.
+        int average = min / 2;
+
+        if (y > 0 && x > 0) {
+          // Correct the "white background" assumption for blocks that have neighbors by comparing
+          // the pixels in this block to the previously calculated black points. This is based on
+          // the fact that dark barcode symbology is always surrounded by some amount of light
+          // background for which reasonable black point estimates were made. The bp estimated at
+          // the boundaries is used for the interior.
+
+          // The (min < bp) is arbitrary but works better than other heuristics that were tried.
+          int averageNeighborBlackPoint =
+              (blackPoints[y - 1][x] + (2 * blackRow[x - 1]) + blackPoints[y - 1][x - 1]) / 4;
+          if (min < averageNeighborBlackPoint) {
+            average = averageNeighborBlackPoint;
           }
         }
-        blackPoints[y][x] = average;
+        blackRow[x] = average;
       }
     }
-    return blackPoints;
   }
 
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.Binarizer;
+import com.google.zxing.LuminanceSource;
+
+import java.util.Arrays;
+
+/**
+ * <p>A local thresholding binarizer that compares every pixel to statistics of the square window
+ * centred on it, rather than to a threshold shared by a block as {@link HybridBinarizer} does.
+ * This follows gradients, glare and shadows much more closely. Two rules are offered:</p>
+ *
+ * <ul>
+ * <li>{@link Method#SAUVOLA}: black if below {@code mean * (1 + k * (stddev / 128 - 1))}. Flat areas
+ * have a low deviation and so a threshold well below their mean, which keeps noise in plain
+ * backgrounds, however dark, from turning black.</li>
+ * <li>{@link Method#BRADLEY}: black if below {@code mean * (1 - k)}. Less robust in flat dark
+ * areas, but it needs no square sums and no deviation, and costs about half as much.</li>
+ * </ul>
+ *
+ * <p>Window sums come from a summed-area table, evaluated one row at a time. Only the band of rows
+ * the current window spans is kept, as per-column sums over the band; they slide down a row by
+ * adding the row entering the window and subtracting the one leaving it, and the window sum slides
+ * along the row the same way. That makes every pixel O(1) whatever the window size, with memory
+ * proportional to the width rather than the area.</p>
+ *
+ * <p>Rows are read from the source one at a time with {@link LuminanceSource#getRow}, and
+ * {@link #getBlackRow} slides the band when rows are asked for in order, top to bottom. A caller
+ * can so stream through an image row by row without ever building the {@link BitMatrix}. Rows
+ * asked for out of order cost a rebuild of the band.</p>
+ */
+public final class IntegralImageBinarizer extends Binarizer {
+
+  /**
+   * How the threshold is derived from the window statistics.
+   */
+  public enum Method {
+    SAUVOLA,
+    BRADLEY,
+  }
+
+  public static final int DEFAULT_WINDOW_SIZE = 41;
+  public static final double DEFAULT_SAUVOLA_K = 0.2;
+  public static final double DEFAULT_BRADLEY_K = 0.15;
+
+  // Dynamic range of the standard deviation in Sauvola's formula
+  private static final int SAUVOLA_R = 128;
+
+  private final Method method;
+  private final int windowSize;
+  private final double k;
+  private final int radius;
+
+  private final int width;
+  private final int height;
+  // The rows of the band, row y at rows[y % rows.length], and a buffer for the row to come
+  private byte[][] rows;
+  private byte[] nextRow;
+  // Sums over the band of each column x, at index x + radius + 1. The zeros on either side let
+  // the window slide off the edges of the row without checks.
+  private int[] columnSums;
+  private int[] columnSquareSums;
+  // 1 / n for a window of i + 1 columns of the current band
+  private double[] inverseCounts;
+  private int inverseCountsBandHeight;
+  // Rows whose pixels are in the column sums, inclusive; bandTop > bandBottom when empty
+  private int bandTop;
+  private int bandBottom = -1;
+  private BitMatrix matrix;
+
+  public IntegralImageBinarizer(LuminanceSource source) {
+    this(source, Method.SAUVOLA, DEFAULT_WINDOW_SIZE, DEFAULT_SAUVOLA_K);
+  }
+
+  /**
+   * @param source the luminance source to binarize
+   * @param method the thresholding rule
+   * @param windowSize side of the square window around each pixel; odd, and at least 3. Around
+   *  three to five modules of the codes to be read works well
+   * @param k the rule's sensitivity, typically 0.1 to 0.5; higher makes fewer pixels black
+   */
+  public IntegralImageBinarizer(LuminanceSource source, Method method, int windowSize, double k) {
+    super(source);
+    if (windowSize < 3 || (windowSize & 0x01) == 0) {
+      throw new IllegalArgumentException("Window size must be odd and at least 3: " + windowSize);
+    }
+    this.method = method;
+    this.windowSize = windowSize;
+    this.k = k;
+    radius = windowSize / 2;
+    width = source.getWidth();
+    height = source.getHeight();
+  }
+
+  @Override
+  public BitArray getBlackRow(int y, BitArray row) {
+    if (row == null || row.getSize() < width) {
+      row = new BitArray(width);
+    } else {
+      row.clear();
+    }
+    if (matrix != null) {
+      return matrix.getRow(y, row);
+    }
+    slideTo(y);
+    thresholdRow(y, row.getBitArray());
+    return row;
+  }
+
+  @Override
+  public BitMatrix getBlackMatrix() {
+    if (matrix != null) {
+      return matrix;
+    }
+    BitMatrix newMatrix = new BitMatrix(width, height);
+    BitArray row = new BitArray(width);
+    for (int y = 0; y < height; y++) {
+      slideTo(y);
+      row.clear();
+      thresholdRow(y, row.getBitArray());
+      newMatrix.setRow(y, row);
+    }
+    matrix = newMatrix;
+    // The band isn't needed any more
+    rows = null;
+    nextRow = null;
+    columnSums = null;
+    columnSquareSums = null;
+    inverseCounts = null;
+    return matrix;
+  }
+
+  @Override
+  public Binarizer createBinarizer(LuminanceSource source) {
+    return new IntegralImageBinarizer(source, method, windowSize, k);
+  }
+
+  /**
+   * Makes the column sums cover the window rows of row y, sliding down from the current band if
+   * y is below it and the bands overlap, otherwise starting over.
+   */
+  private void slideTo(int y) {
+    if (rows == null) {
+      rows = new byte[Math.min(windowSize, height)][];
+      nextRow = new byte[width];
+      columnSums = new int[width + 2 * radius + 1];
+      columnSquareSums = method == Method.SAUVOLA ? new int[columnSums.length] : null;
+      inverseCounts = new double[windowSize];
+    }
+    int top = Math.max(0, y - radius);
+    int bottom = Math.min(height - 1, y + radius);
+    if (top < bandTop || bottom < bandBottom || top > bandBottom + 1) {
+      // Not a step down from the current band
+      Arrays.fill(columnSums, 0);
+      if (columnSquareSums != null) {
+        Arrays.fill(columnSquareSums, 0);
+      }
+      bandTop = top;
+      bandBottom = top - 1;
+    }
+    while (bandTop < top || bandBottom < bottom) {
+      byte[] leaving = null;
+      if (bandTop < top) {
+        leaving = rows[bandTop % rows.length];
+        bandTop++;
+      }
+      byte[] entering = null;
+      if (bandBottom < bottom) {
+        bandBottom++;
+        entering = getLuminanceSource().getRow(bandBottom, nextRow);
+        if (entering != nextRow) {
+          // Keep our own copy; the source may reuse what it returned
+          System.arraycopy(entering, 0, nextRow, 0, width);
+          entering = nextRow;
+        }
+      }
+      accumulate(entering, leaving);
+      if (entering != null) {
+        // Once summed, the leaving row's buffer is free to take the next row
+        int slot = bandBottom % rows.length;
+        nextRow = rows[slot] == null ? new byte[width] : rows[slot];
+        rows[slot] = entering;
+      }
+    }
+  }
+
+  /**
+   * Adds a row to the column sums and takes another away, in one pass. Square sums are only
+   * kept for {@link Method#SAUVOLA}.
+   *
+   * @param entering row to add, or null
+   * @param leaving row to subtract, or null
+   */
+  private void accumulate(byte[] entering, byte[] leaving) {
+    int[] sums = columnSums;
+    int[] squareSums = columnSquareSums;
+    int offset = radius + 1;
+    if (squareSums == null) {
+      for (int x = 0; x < width; x++) {
+        int in = entering == null ? 0 : entering[x] & 0xFF;
+        int out = leaving == null ? 0 : leaving[x] & 0xFF;
+        sums[x + offset] += in - out;
+      }
+    } else if (entering != null && leaving != null) {
+      for (int x = 0; x < width; x++) {
+        int in = entering[x] & 0xFF;
+        int out = leaving[x] & 0xFF;
+        sums[x + offset] += in - out;
+        squareSums[x + offset] += in * in - out * out;
+      }
+    } else if (entering != null) {
+      for (int x = 0; x < width; x++) {
+        int in = entering[x] & 0xFF;
+        sums[x + offset] += in;
+        squareSums[x + offset] += in * in;
+      }
+    } else if (leaving != null) {
+      for (int x = 0; x < width; x++) {
+        int out = leaving[x] & 0xFF;
+        sums[x + offset] -= out;
+        squareSums[x + offset] -= out * out;
+      }
+    }
+  }
+
+  /**
+   * Thresholds row y, which must be the middle of the current band, into a bit row. The window
+   * sums slide along the row: the column entering the window is added and the one leaving it
+   * subtracted, as the summed-area table's differences would give.
+   *
+   * @param bits cleared words of a {@link BitArray} to set black pixels in
+   */
+  private void thresholdRow(int y, int[] bits) {
+    byte[] luminances = rows[y % rows.length];
+    int[] sums = columnSums;
+    int[] squareSums = columnSquareSums;
+    int bandHeight = bandBottom - bandTop + 1;
+    if (inverseCountsBandHeight != bandHeight) {
+      for (int i = 0; i < inverseCounts.length; i++) {
+        inverseCounts[i] = 1.0 / ((i + 1) * bandHeight);
+      }
+      inverseCountsBandHeight = bandHeight;
+    }
+    double[] inverseCounts = this.inverseCounts;
+    double oneMinusK = 1.0 - k;
+    double kOverR = k / SAUVOLA_R;
+
+    // Column sums over the window of x = -1, that is [-radius - 1, radius - 1]
+    int windowSum = 0;
+    long windowSquareSum = 0;
+    for (int i = 0; i < windowSize; i++) {
+      windowSum += sums[i];
+      if (squareSums != null) {
+        windowSquareSum += squareSums[i];
+      }
+    }
+    int word = 0;
+    for (int x = 0; x < width; x++) {
+      // Column x + radius enters the window, x - radius - 1 leaves it; in padded indices:
+      windowSum += sums[x + windowSize] - sums[x];
+      int columns = Math.min(x + radius, width - 1) - Math.max(x - radius, 0);
+      double inverseCount = inverseCounts[columns];
+      double mean = windowSum * inverseCount;
+      int luminance = luminances[x] & 0xFF;
+      double threshold = mean * oneMinusK;
+      if (squareSums != null) {
+        windowSquareSum += squareSums[x + windowSize] - squareSums[x];
+        // Sauvola's deviation term only raises the threshold, and by less than k * mean since the
+        // deviation of 8-bit values stays below 128, so it only needs working out in between
+        if (luminance > threshold && luminance <= mean) {
+          double variance = windowSquareSum * inverseCount - mean * mean;
+          threshold += mean * kOverR * Math.sqrt(Math.max(variance, 0.0));
+        }
+      }
+      // Comparison needs to be <= so that black == 0 pixels are black even if the threshold is 0.
+      // Same as luminance <= (int) threshold, without a branch.
+      word |= (((int) threshold - luminance >> 31) + 1) << (x & 0x1F);
+      if ((x & 0x1F) == 0x1F) {
+        bits[x >> 5] = word;
+        word = 0;
+      }
+    }
+    if ((width & 0x1F) != 0) {
+      bits[width >> 5] = word;
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.Binarizer;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+
+/**
+ * <p>Binarizes exactly like {@link HybridBinarizer}, but only as much of the image as is used.
+ * {@link #getBlackMatrix()} works out the black point of every 8x8 block up front, which is cheap
+ * next to thresholding and has to run in order anyway, since a flat block takes its black point
+ * from the blocks above and to the left of it. The matrix it returns then thresholds each 32x32
+ * tile the first time a bit of the tile is read, and keeps it for as long as the matrix lives.</p>
+ *
+ * <p>That pays off when detection only looks at part of the image, such as a detector sampling the
+ * grid of a code it has found, or a reader that gives up early. Operations on the whole matrix,
+ * such as {@link BitMatrix#getEnclosingRectangle()}, binarize the rest of it first.</p>
+ *
+ * <p>The matrix binarizes as it is read, so unlike other matrices it must not be shared between
+ * threads until fully binarized.</p>
+ */
+public final class LazyHybridBinarizer extends GlobalHistogramBinarizer {
+
+  private BitMatrix matrix;
+
+  public LazyHybridBinarizer(LuminanceSource source) {
+    super(source);
+  }
+
+  @Override
+  public BitMatrix getBlackMatrix() throws NotFoundException {
+    if (matrix != null) {
+      return matrix;
+    }
+    LuminanceSource source = getLuminanceSource();
+    int width = source.getWidth();
+    int height = source.getHeight();
+    if (width >= HybridBinarizer.MINIMUM_DIMENSION && height >= HybridBinarizer.MINIMUM_DIMENSION) {
+      byte[] luminances = source.getMatrix();
+      int subWidth = width >> HybridBinarizer.BLOCK_SIZE_POWER;
+      if ((width & HybridBinarizer.BLOCK_SIZE_MASK) != 0) {
+        subWidth++;
+      }
+      int subHeight = height >> HybridBinarizer.BLOCK_SIZE_POWER;
+      if ((height & HybridBinarizer.BLOCK_SIZE_MASK) != 0) {
+        subHeight++;
+      }
+      int[][] blackPoints = new int[subHeight][subWidth];
+      HybridBinarizer.calculateBlackPoints(luminances, subWidth, subHeight, width, height, blackPoints);
+      matrix = new BitMatrix(width, height, new Tiles(luminances, width, height, blackPoints));
+    } else {
+      // If the image is too small, fall back to the global histogram approach.
+      matrix = super.getBlackMatrix();
+    }
+    return matrix;
+  }
+
+  @Override
+  public Binarizer createBinarizer(LuminanceSource source) {
+    return new LazyHybridBinarizer(source);
+  }
+
+  /**
+   * Thresholds the blocks of a tile as {@link HybridBinarizer} does. The last block of a row or
+   * column is moved back to end at the edge of the image, so it can overlap the one before it and
+   * reach into the previous tile; a pixel is black if either block makes it so.
+   */
+  private static final class Tiles extends LazyTiles {
+
+    private final byte[] luminances;
+    private final int width;
+    private final int height;
+    private final int subWidth;
+    private final int subHeight;
+    private final int[][] blackPoints;
+    private final int[] words = new int[TILE_SIZE];
+
+    Tiles(byte[] luminances, int width, int height, int[][] blackPoints) {
+      super(width, height);
+      this.luminances = luminances;
+      this.width = width;
+      this.height = height;
+      this.blackPoints = blackPoints;
+      subHeight = blackPoints.length;
+      subWidth = blackPoints[0].length;
+    }
+
+    @Override
+    void binarizeTile(int[] bits, int rowSize, int tileX, int tileY) {
+      int tileLeft = tileX << TILE_SIZE_POWER;
+      int tileTop = tileY << TILE_SIZE_POWER;
+      int tileRight = Math.min(tileLeft + TILE_SIZE, width);
+      int tileBottom = Math.min(tileTop + TILE_SIZE, height);
+      int maxXOffset = width - HybridBinarizer.BLOCK_SIZE;
+      int maxYOffset = height - HybridBinarizer.BLOCK_SIZE;
+      int blocksPerTile = TILE_SIZE >> HybridBinarizer.BLOCK_SIZE_POWER;
+      for (int i = 0; i < TILE_SIZE; i++) {
+        words[i] = 0;
+      }
+      for (int y = tileY * blocksPerTile; y < subHeight; y++) {
+        int yoffset = Math.min(y << HybridBinarizer.BLOCK_SIZE_POWER, maxYOffset);
+        if (yoffset >= tileBottom) {
+          break;
+        }
+        int top = HybridBinarizer.cap(y, subHeight - 3);
+        int yStart = Math.max(yoffset, tileTop);
+        int yEnd = Math.min(yoffset + HybridBinarizer.BLOCK_SIZE, tileBottom);
+        for (int x = tileX * blocksPerTile; x < subWidth; x++) {
+          int xoffset = Math.min(x << HybridBinarizer.BLOCK_SIZE_POWER, maxXOffset);
+          if (xoffset >= tileRight) {
+            break;
+          }
+          int left = HybridBinarizer.cap(x, subWidth - 3);
+          int threshold = HybridBinarizer.averageBlackPoint(blackPoints, left, top);
+          int xStart = Math.max(xoffset, tileLeft);
+          int xEnd = Math.min(xoffset + HybridBinarizer.BLOCK_SIZE, tileRight);
+          for (int yy = yStart; yy < yEnd; yy++) {
+            int offset = yy * width;
+            int word = 0;
+            for (int xx = xStart; xx < xEnd; xx++) {
+              // Comparison needs to be <= so that black == 0 pixels are black even if the threshold is 0.
+              if ((luminances[offset + xx] & 0xFF) <= threshold) {
+                word |= 1 << (xx - tileLeft);
+              }
+            }
+            words[yy - tileTop] |= word;
+          }
+        }
+      }
+      for (int yy = tileTop; yy < tileBottom; yy++) {
+        bits[yy * rowSize + tileX] |= words[yy - tileTop];
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+/**
+ * <p>The pixels of a {@link BitMatrix} that have yet to be binarized. The matrix is split into
+ * tiles of {@link #TILE_SIZE} x {@link #TILE_SIZE} pixels, each a single word wide, and a tile is
+ * binarized the first time the matrix reads or writes one of its bits. Tiles are binarized once;
+ * the matrix keeps the result.</p>
+ *
+ * <p>Not thread-safe, and so neither is a matrix with tiles still to binarize.</p>
+ */
+abstract class LazyTiles {
+
+  static final int TILE_SIZE_POWER = 5;
+  static final int TILE_SIZE = 1 << TILE_SIZE_POWER;
+
+  private final int tilesAcross;
+  private final int tilesDown;
+  private final boolean[] binarized;
+  private int remaining;
+
+  LazyTiles(int width, int height) {
+    tilesAcross = (width + TILE_SIZE - 1) >> TILE_SIZE_POWER;
+    tilesDown = (height + TILE_SIZE - 1) >> TILE_SIZE_POWER;
+    binarized = new boolean[tilesAcross * tilesDown];
+    remaining = binarized.length;
+  }
+
+  /**
+   * Sets the black pixels of one tile. Its bits are all clear when called, and the black pixels
+   * may be ORed in; the tile's pixels in row y are word {@code tileX} of that row.
+   *
+   * @param bits the matrix's bits
+   * @param rowSize words per row of the matrix
+   * @param tileX column of the tile, in tiles
+   * @param tileY row of the tile, in tiles
+   */
+  abstract void binarizeTile(int[] bits, int rowSize, int tileX, int tileY);
+
+  /**
+   * Binarizes the tile holding pixel (x, y), unless it already is.
+   *
+   * @return true once every tile has been binarized
+   */
+  final boolean ensure(int[] bits, int rowSize, int x, int y) {
+    ensureTile(bits, rowSize, x >> TILE_SIZE_POWER, y >> TILE_SIZE_POWER);
+    return remaining == 0;
+  }
+
+  /**
+   * Binarizes every tile overlapping the given rectangle, bounds inclusive.
+   *
+   * @return true once every tile has been binarized
+   */
+  final boolean ensureRegion(int[] bits, int rowSize, int left, int top, int right, int bottom) {
+    for (int tileY = top >> TILE_SIZE_POWER; tileY <= bottom >> TILE_SIZE_POWER; tileY++) {
+      for (int tileX = left >> TILE_SIZE_POWER; tileX <= right >> TILE_SIZE_POWER; tileX++) {
+        ensureTile(bits, rowSize, tileX, tileY);
+      }
+    }
+    return remaining == 0;
+  }
+
+  /**
+   * Binarizes every remaining tile.
+   */
+  final void ensureAll(int[] bits, int rowSize) {
+    for (int tileY = 0; tileY < tilesDown && remaining > 0; tileY++) {
+      for (int tileX = 0; tileX < tilesAcross; tileX++) {
+        ensureTile(bits, rowSize, tileX, tileY);
+      }
+    }
+  }
+
+  private void ensureTile(int[] bits, int rowSize, int tileX, int tileY) {
+    int tile = tileY * tilesAcross + tileX;
+    if (!binarized[tile]) {
+      binarized[tile] = true;
+      remaining--;
+      binarizeTile(bits, rowSize, tileX, tileY);
+    }
+  }
+
+}
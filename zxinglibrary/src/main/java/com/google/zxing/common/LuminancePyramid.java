@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.PlanarYUVLuminanceSource;
+
+/**
+ * A stack of progressively halved copies of an image: level 0 is the image itself, and each
+ * further level averages 2x2 blocks of the one before. Built once, so an image can be tried at
+ * several scales without going back to the source. Coarse levels suit codes that are large
+ * relative to the image (and binarize them faster), fine levels suit small codes.
+ */
+public final class LuminancePyramid {
+
+  private final LuminanceSource[] levels;
+
+  /**
+   * @param source       the full resolution image
+   * @param maxLevels    most levels to build, including the image itself
+   * @param minDimension smallest side a level may have; coarser levels are not built
+   */
+  public LuminancePyramid(LuminanceSource source, int maxLevels, int minDimension) {
+    if (maxLevels < 1) {
+      throw new IllegalArgumentException("maxLevels must be at least 1: " + maxLevels);
+    }
+    int count = 1;
+    int width = source.getWidth();
+    int height = source.getHeight();
+    while (count < maxLevels && Math.min(width, height) / 2 >= minDimension) {
+      width /= 2;
+      height /= 2;
+      count++;
+    }
+    levels = new LuminanceSource[count];
+    levels[0] = source;
+    if (count > 1) {
+      byte[] plane = source.getMatrix();
+      width = source.getWidth();
+      height = source.getHeight();
+      for (int level = 1; level < count; level++) {
+        plane = halve(plane, width, height);
+        width /= 2;
+        height /= 2;
+        levels[level] = new PlanarYUVLuminanceSource(plane, width, height, 0, 0, width, height, false);
+      }
+    }
+  }
+
+  /**
+   * Box filters 2x2 blocks; an odd last row or column is dropped.
+   */
+  private static byte[] halve(byte[] plane, int width, int height) {
+    int halfWidth = width / 2;
+    int halfHeight = height / 2;
+    byte[] result = new byte[halfWidth * halfHeight];
+    for (int y = 0; y < halfHeight; y++) {
+      int top = 2 * y * width;
+      int bottom = top + width;
+      int outputOffset = y * halfWidth;
+      for (int x = 0; x < halfWidth; x++) {
+        int sum = (plane[top] & 0xff) + (plane[top + 1] & 0xff) +
+            (plane[bottom] & 0xff) + (plane[bottom + 1] & 0xff);
+        result[outputOffset + x] = (byte) ((sum + 2) >> 2);
+        top += 2;
+        bottom += 2;
+      }
+    }
+    return result;
+  }
+
+  public int getLevelCount() {
+    return levels.length;
+  }
+
+  /**
+   * @param level 0 for the image itself, up to {@link #getLevelCount()} - 1 for the coarsest
+   */
+  public LuminanceSource getLevel(int level) {
+    return levels[level];
+  }
+
+  /**
+   * @return how many pixels of level 0 one pixel of the given level spans, along each side
+   */
+  public static int getScale(int level) {
+    return 1 << level;
+  }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+/**
+ * <p>Processes the rows of a table in bands on several threads, as {@link ParallelItems}.</p>
+ *
+ * <p>Bands are {@code bandRows} rows each, except the last, which takes the remainder on top of
+ * its own rows rather than being left with fewer; so every band has at least {@code bandRows}
+ * rows.</p>
+ */
+abstract class ParallelBands extends ParallelItems {
+
+  private final int rows;
+  private final int bandRows;
+  private final int bands;
+
+  ParallelBands(int rows, int bandRows) {
+    this(rows, bandRows, Math.max(1, rows / bandRows));
+  }
+
+  private ParallelBands(int rows, int bandRows, int bands) {
+    super(bands);
+    this.rows = rows;
+    this.bandRows = bandRows;
+    this.bands = bands;
+  }
+
+  /**
+   * Processes rows [start, end). Different bands run at the same time, so may only write what
+   * belongs to their own rows.
+   */
+  abstract void processBand(int start, int end);
+
+  @Override
+  protected final void process(int band) {
+    int start = band * bandRows;
+    processBand(start, band == bands - 1 ? rows : start + bandRows);
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed number of independent items, processed on several threads. The threads take items from
+ * a shared cursor, so each item is processed exactly once, by whichever thread gets to it first.
+ */
+public abstract class ParallelItems extends ParallelTask {
+
+  private final int items;
+  private final AtomicInteger nextItem = new AtomicInteger();
+  private final CountDownLatch remainingItems;
+
+  protected ParallelItems(int items) {
+    this.items = items;
+    remainingItems = new CountDownLatch(items);
+  }
+
+  /**
+   * Processes one item, from 0 up to the number of items. Different items run at the same time,
+   * so may only write what belongs to them.
+   */
+  protected abstract void process(int item);
+
+  /**
+   * Processes all items, returning once they are done. Everything written by them is then visible
+   * to the calling thread.
+   *
+   * @param threads most threads to process items on, the calling thread included
+   */
+  public final void run(Executor executor, int threads) {
+    startHelpers(executor, Math.min(items, threads) - 1);
+    run();
+    boolean interrupted = false;
+    while (true) {
+      try {
+        remainingItems.await();
+        break;
+      } catch (InterruptedException ie) {
+        // Items already taken are quick to finish; wait for them and pass the interrupt on after
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    rethrowFailure();
+  }
+
+  @Override
+  public final void run() {
+    int item;
+    while ((item = nextItem.getAndIncrement()) < items) {
+      try {
+        // Once one item has failed, the rest only need counting down
+        if (!hasFailed()) {
+          process(item);
+        }
+      } catch (RuntimeException re) {
+        fail(re);
+      } finally {
+        remainingItems.countDown();
+      }
+    }
+  }
+
+}
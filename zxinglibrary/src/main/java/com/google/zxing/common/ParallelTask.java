@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>Work shared by the calling thread and helpers run on an {@link Executor}. Every thread runs
+ * {@link #run()}, which takes work from wherever the subclass keeps it until there is none left,
+ * so the calling thread never waits for a helper that hasn't started yet, even when the executor
+ * is busy or is the one running the caller.</p>
+ *
+ * <p>A {@link RuntimeException} thrown on any thread is kept, so that the caller can rethrow it
+ * once the work is done.</p>
+ *
+ * @see ParallelItems
+ */
+public abstract class ParallelTask implements Runnable {
+
+  private volatile RuntimeException unexpected;
+
+  /**
+   * Hands this to the executor to run on up to {@code helpers} more threads.
+   */
+  protected final void startHelpers(Executor executor, int helpers) {
+    for (int i = 0; i < helpers; i++) {
+      try {
+        executor.execute(this);
+      } catch (RejectedExecutionException ree) {
+        // The threads already going will manage
+        break;
+      }
+    }
+  }
+
+  protected final void fail(RuntimeException re) {
+    unexpected = re;
+  }
+
+  /**
+   * @return true once any thread has failed; the work left need not be done
+   */
+  protected final boolean hasFailed() {
+    return unexpected != null;
+  }
+
+  /**
+   * Throws what any thread failed with, if one did.
+   */
+  protected final void rethrowFailure() {
+    RuntimeException re = unexpected;
+    if (re != null) {
+      throw re;
+    }
+  }
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import java.util.Arrays;
+
+/**
+ * <p>A row of black and white pixels stored as the lengths of its runs of equal pixels. 1D readers
+ * look for bar patterns by sliding a window of runs along the row; with the runs worked out once,
+ * each reader steps from run to run instead of scanning the same pixels again.</p>
+ *
+ * <p>Runs are numbered from 0 at the left edge. Run {@code i} covers
+ * [{@link #getRunStart(int)}, {@link #getRunEnd(int)}) and its pixels are all black or all white,
+ * alternating from run to run.</p>
+ */
+public final class RunLengthRow {
+
+  private int size;
+  private int runCount;
+  private boolean firstSet;
+  // ends[i] is the exclusive end of run i
+  private int[] ends;
+
+  public RunLengthRow() {
+    ends = new int[16];
+  }
+
+  public RunLengthRow(BitArray row) {
+    this();
+    set(row);
+  }
+
+  /**
+   * Replaces the contents of this row with the runs of the given bits, found a word at a time.
+   *
+   * @param row the bits to encode
+   */
+  public void set(BitArray row) {
+    size = row.getSize();
+    runCount = 0;
+    firstSet = size > 0 && row.get(0);
+    boolean set = firstSet;
+    int i = 0;
+    while (i < size) {
+      i = set ? row.getNextUnset(i) : row.getNextSet(i);
+      append(i);
+      set = !set;
+    }
+  }
+
+  /**
+   * Replaces the contents of this row with the given row mirrored left to right, which is what
+   * {@link BitArray#reverse()} does to the bits.
+   *
+   * @param other the row to mirror; may be this row
+   */
+  public void setReversed(RunLengthRow other) {
+    if (other != this) {
+      if (ends.length < other.runCount) {
+        ends = new int[other.ends.length];
+      }
+      System.arraycopy(other.ends, 0, ends, 0, other.runCount);
+      size = other.size;
+      runCount = other.runCount;
+      firstSet = other.firstSet;
+    }
+    boolean lastSet = runCount > 0 && isSet(runCount - 1);
+    // Run i of the mirror is run (runCount - 1 - i), so it ends where that one started, mirrored.
+    // The last end stays at size.
+    for (int i = 0, j = runCount - 2; i < j; i++, j--) {
+      int t = ends[i];
+      ends[i] = ends[j];
+      ends[j] = t;
+    }
+    for (int i = 0; i < runCount - 1; i++) {
+      ends[i] = size - ends[i];
+    }
+    firstSet = lastSet;
+  }
+
+  /**
+   * Writes the runs back out as bits.
+   *
+   * @param row an optional row to reuse, used if at least {@link #getSize()} bits long
+   * @return the bits of this row
+   */
+  public BitArray toBitArray(BitArray row) {
+    if (row == null || row.getSize() < size) {
+      row = new BitArray(size);
+    } else {
+      row.clear();
+    }
+    for (int i = firstSet ? 0 : 1; i < runCount; i += 2) {
+      row.setRange(getRunStart(i), ends[i]);
+    }
+    return row;
+  }
+
+  private void append(int end) {
+    if (runCount == ends.length) {
+      ends = Arrays.copyOf(ends, runCount * 2);
+    }
+    ends[runCount++] = end;
+  }
+
+  /**
+   * @return number of pixels in the row
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return number of runs in the row
+   */
+  public int getRunCount() {
+    return runCount;
+  }
+
+  /**
+   * @param run run index
+   * @return first pixel of the run
+   */
+  public int getRunStart(int run) {
+    return run == 0 ? 0 : ends[run - 1];
+  }
+
+  /**
+   * @param run run index
+   * @return first pixel after the run
+   */
+  public int getRunEnd(int run) {
+    return ends[run];
+  }
+
+  /**
+   * @param run run index
+   * @return true iff the run is black
+   */
+  public boolean isSet(int run) {
+    return firstSet == ((run & 0x01) == 0);
+  }
+
+  /**
+   * @param x pixel, in [0, {@link #getSize()})
+   * @return index of the run containing the pixel
+   */
+  public int getRunIndex(int x) {
+    int low = 0;
+    int high = runCount - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (ends[mid] <= x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @param from first pixel to check
+   * @return first black pixel at or after {@code from}, or {@link #getSize()} if there is none
+   * @see BitArray#getNextSet(int)
+   */
+  public int getNextSet(int from) {
+    if (from >= size) {
+      return size;
+    }
+    int run = getRunIndex(from);
+    if (isSet(run)) {
+      return from;
+    }
+    return ends[run];
+  }
+
+  /**
+   * @param from first pixel to check
+   * @return first white pixel at or after {@code from}, or {@link #getSize()} if there is none
+   * @see BitArray#getNextUnset(int)
+   */
+  public int getNextUnset(int from) {
+    if (from >= size) {
+      return size;
+    }
+    int run = getRunIndex(from);
+    if (!isSet(run)) {
+      return from;
+    }
+    return ends[run];
+  }
+
+  /**
+   * @param start start of range, inclusive
+   * @param end end of range, exclusive
+   * @param value if true, checks that pixels are black, otherwise white
+   * @return true iff all pixels in the range have the value
+   * @see BitArray#isRange(int, int, boolean)
+   */
+  public boolean isRange(int start, int end, boolean value) {
+    if (end < start || start < 0 || end > size) {
+      throw new IllegalArgumentException();
+    }
+    if (end == start) {
+      return true;
+    }
+    int run = getRunIndex(start);
+    return isSet(run) == value && ends[run] >= end;
+  }
+
+  /**
+   * Records the lengths of consecutive runs, starting part way into a run if need be.
+   *
+   * @param start first pixel of the first run to record
+   * @param runs array to fill with run lengths, up to its length
+   * @return number of runs recorded; less than {@code runs.length} if the row ended first
+   * @see BitArray#getRunLengths(int, int[])
+   */
+  public int getRunLengths(int start, int[] runs) {
+    if (start >= size) {
+      return 0;
+    }
+    int run = getRunIndex(start);
+    int count = Math.min(runs.length, runCount - run);
+    runs[0] = ends[run] - start;
+    for (int i = 1; i < count; i++) {
+      runs[i] = ends[run + i] - ends[run + i - 1];
+    }
+    return count;
+  }
+
+}
@@ -150,6 +150,20 @@ public final class GenericGF {
     return expTable[(logTable[a] + logTable[b]) % (size - 1)];
   }
 
+  /**
+   * @return table of 2 to the power of i in GF(size), for i in [0, size)
+   */
+  int[] getExpTable() {
+    return expTable;
+  }
+
+  /**
+   * @return table of base 2 logs in GF(size); entry 0 is meaningless
+   */
+  int[] getLogTable() {
+    return logTable;
+  }
+
   public int getSize() {
     return size;
   }
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common.reedsolomon;
+
+import java.util.Arrays;
+
+/**
+ * <p>Implements the same Reed-Solomon decoding as {@link ReedSolomonDecoder}, step for step and
+ * with the same results, but without allocating. Polynomials are kept as coefficient arrays, lowest
+ * degree first, in buffers that are reused from one call to the next and only grow when a block
+ * needs more error-correction codewords than any before it. Arithmetic goes straight to the field's
+ * log and exp tables.</p>
+ *
+ * <p>This makes a difference for symbols with many blocks, each of which is corrected separately.
+ * Instances are not thread-safe; use one per thread, like the readers that hold them.</p>
+ */
+public final class ReusableReedSolomonDecoder {
+
+  private final GenericGF field;
+  private final int[] expTable;
+  private final int[] logTable;
+  // size - 1, the order of the multiplicative group
+  private final int order;
+
+  private int[] syndrome;
+  private int[] rLast;
+  private int[] r;
+  private int[] tLastLast;
+  private int[] tLast;
+  private int[] t;
+  private int[] q;
+  private int omegaDegree;
+  private int[] errorLocations;
+  private int[] errorMagnitudes;
+
+  public ReusableReedSolomonDecoder(GenericGF field) {
+    this.field = field;
+    expTable = field.getExpTable();
+    logTable = field.getLogTable();
+    order = field.getSize() - 1;
+    allocate(0);
+  }
+
+  private void allocate(int twoS) {
+    int length = twoS + 1;
+    syndrome = new int[length];
+    rLast = new int[length];
+    r = new int[length];
+    tLastLast = new int[length];
+    tLast = new int[length];
+    t = new int[length];
+    q = new int[length];
+    errorLocations = new int[length];
+    errorMagnitudes = new int[length];
+  }
+
+  /**
+   * <p>Decodes given set of received codewords, which include both data and error-correction
+   * codewords. Really, this means it uses Reed-Solomon to detect and correct errors, in-place,
+   * in the input.</p>
+   *
+   * @param received data and error-correction codewords
+   * @param twoS number of error-correction codewords available
+   * @throws ReedSolomonException if decoding fails for any reason
+   * @see ReedSolomonDecoder#decode(int[], int)
+   */
+  public void decode(int[] received, int twoS) throws ReedSolomonException {
+    if (received.length == 0) {
+      throw new IllegalArgumentException();
+    }
+    if (syndrome.length <= twoS) {
+      allocate(twoS);
+    }
+    if (!computeSyndromes(received, twoS)) {
+      return;
+    }
+    int numErrors = locateErrors(twoS);
+    for (int i = 0; i < numErrors; i++) {
+      int position = received.length - 1 - field.log(errorLocations[i]);
+      if (position < 0) {
+        throw new ReedSolomonException("Bad error location");
+      }
+      received[position] = GenericGF.addOrSubtract(received[position], errorMagnitudes[i]);
+    }
+  }
+
+  /**
+   * Like {@link #decode(int[], int)}, but for codewords held as unsigned bytes, which saves copying
+   * them to and from an {@code int[]}. Only for fields of at most 256 elements.
+   *
+   * @param received data and error-correction codewords
+   * @param twoS number of error-correction codewords available
+   * @throws ReedSolomonException if decoding fails for any reason
+   */
+  public void decode(byte[] received, int twoS) throws ReedSolomonException {
+    if (received.length == 0 || field.getSize() > 256) {
+      throw new IllegalArgumentException();
+    }
+    if (syndrome.length <= twoS) {
+      allocate(twoS);
+    }
+    if (!computeSyndromes(received, twoS)) {
+      return;
+    }
+    int numErrors = locateErrors(twoS);
+    for (int i = 0; i < numErrors; i++) {
+      int position = received.length - 1 - field.log(errorLocations[i]);
+      if (position < 0) {
+        throw new ReedSolomonException("Bad error location");
+      }
+      received[position] ^= (byte) errorMagnitudes[i];
+    }
+  }
+
+  /**
+   * Fills in syndrome[i] = received(a^(i + generatorBase)), the coefficient of x^i of the syndrome
+   * polynomial.
+   *
+   * @return false if all syndromes are zero, meaning there is nothing to correct
+   */
+  private boolean computeSyndromes(int[] received, int twoS) {
+    boolean noError = true;
+    int generatorBase = field.getGeneratorBase();
+    for (int i = 0; i < twoS; i++) {
+      int logA = i + generatorBase;
+      int eval = received[0];
+      for (int j = 1; j < received.length; j++) {
+        eval = multiplyByLog(eval, logA) ^ received[j];
+      }
+      syndrome[i] = eval;
+      if (eval != 0) {
+        noError = false;
+      }
+    }
+    return !noError;
+  }
+
+  private boolean computeSyndromes(byte[] received, int twoS) {
+    boolean noError = true;
+    int generatorBase = field.getGeneratorBase();
+    for (int i = 0; i < twoS; i++) {
+      int logA = i + generatorBase;
+      int eval = received[0] & 0xFF;
+      for (int j = 1; j < received.length; j++) {
+        eval = multiplyByLog(eval, logA) ^ (received[j] & 0xFF);
+      }
+      syndrome[i] = eval;
+      if (eval != 0) {
+        noError = false;
+      }
+    }
+    return !noError;
+  }
+
+  /**
+   * Finds the errors from the syndromes, leaving their locations and magnitudes in
+   * {@link #errorLocations} and {@link #errorMagnitudes}.
+   *
+   * @return number of errors
+   */
+  private int locateErrors(int twoS) throws ReedSolomonException {
+    int numErrors = runEuclideanAlgorithm(twoS);
+    numErrors = findErrorLocations(numErrors);
+    findErrorMagnitudes(numErrors);
+    return numErrors;
+  }
+
+  /**
+   * Runs the Euclidean algorithm on x^twoS and the syndrome polynomial, leaving sigma in {@link #t}
+   * and omega in {@link #r}, of degree {@link #omegaDegree}.
+   *
+   * @return degree of sigma
+   */
+  private int runEuclideanAlgorithm(int twoS) throws ReedSolomonException {
+    // rLast = x^twoS; it always has the higher degree
+    Arrays.fill(rLast, 0, twoS, 0);
+    rLast[twoS] = 1;
+    int rLastDegree = twoS;
+    System.arraycopy(syndrome, 0, r, 0, twoS);
+    int rDegree = degree(r, twoS - 1);
+    tLast[0] = 0;
+    int tLastDegree = 0;
+    t[0] = 1;
+    int tDegree = 0;
+
+    // Run Euclidean algorithm until r's degree is less than R/2
+    while (rDegree >= twoS / 2) {
+      // r becomes rLast, and rLast becomes rLastLast, which is divided in place into the new r
+      int[] temp = rLast;
+      rLast = r;
+      r = temp;
+      int rLastLastDegree = rLastDegree;
+      rLastDegree = rDegree;
+      rDegree = rLastLastDegree;
+      temp = tLastLast;
+      tLastLast = tLast;
+      tLast = t;
+      t = temp;
+      int tLastLastDegree = tLastDegree;
+      tLastDegree = tDegree;
+
+      if (rLastDegree == 0 && rLast[0] == 0) {
+        // Oops, Euclidean algorithm already terminated?
+        throw new ReedSolomonException("r_{i-1} was zero");
+      }
+      Arrays.fill(q, 0, rDegree - rLastDegree + 1, 0);
+      int qDegree = -1;
+      int logDltInverse = order - logTable[rLast[rLastDegree]];
+      while (rDegree >= rLastDegree && !(rDegree == 0 && r[0] == 0)) {
+        int degreeDiff = rDegree - rLastDegree;
+        int logScale = logTable[multiplyByLog(r[rDegree], logDltInverse)];
+        q[degreeDiff] ^= expTable[logScale];
+        if (qDegree < 0) {
+          qDegree = degreeDiff;
+        }
+        for (int i = 0; i <= rLastDegree; i++) {
+          r[i + degreeDiff] ^= multiplyByLog(rLast[i], logScale);
+        }
+        rDegree = degree(r, rDegree);
+      }
+      if (qDegree < 0) {
+        q[0] = 0;
+        qDegree = 0;
+      }
+
+      // t = q * tLast + tLastLast
+      tDegree = Math.max(qDegree + tLastDegree, tLastLastDegree);
+      Arrays.fill(t, 0, tDegree + 1, 0);
+      for (int i = 0; i <= qDegree; i++) {
+        int qCoefficient = q[i];
+        if (qCoefficient != 0) {
+          int logQ = logTable[qCoefficient];
+          for (int j = 0; j <= tLastDegree; j++) {
+            t[i + j] ^= multiplyByLog(tLast[j], logQ);
+          }
+        }
+      }
+      for (int i = 0; i <= tLastLastDegree; i++) {
+        t[i] ^= tLastLast[i];
+      }
+      tDegree = degree(t, tDegree);
+
+      if (rDegree >= rLastDegree && !(rDegree == 0 && r[0] == 0)) {
+        throw new IllegalStateException("Division algorithm failed to reduce polynomial?");
+      }
+    }
+
+    int sigmaTildeAtZero = t[0];
+    if (sigmaTildeAtZero == 0) {
+      throw new ReedSolomonException("sigmaTilde(0) was zero");
+    }
+
+    int logInverse = order - logTable[sigmaTildeAtZero];
+    for (int i = 0; i <= tDegree; i++) {
+      t[i] = multiplyByLog(t[i], logInverse);
+    }
+    for (int i = 0; i <= rDegree; i++) {
+      r[i] = multiplyByLog(r[i], logInverse);
+    }
+    omegaDegree = rDegree;
+    return tDegree;
+  }
+
+  private int findErrorLocations(int numErrors) throws ReedSolomonException {
+    // This is a direct application of Chien's search
+    int[] sigma = t;
+    if (numErrors == 1) { // shortcut
+      errorLocations[0] = sigma[1];
+      return 1;
+    }
+    int e = 0;
+    for (int i = 1; i <= order && e < numErrors; i++) {
+      if (evaluateAt(sigma, numErrors, i) == 0) {
+        errorLocations[e] = expTable[order - logTable[i]];
+        e++;
+      }
+    }
+    if (e != numErrors) {
+      throw new ReedSolomonException("Error locator degree does not match number of roots");
+    }
+    return numErrors;
+  }
+
+  private void findErrorMagnitudes(int numErrors) {
+    // This is directly applying Forney's Formula
+    int[] omega = r;
+    for (int i = 0; i < numErrors; i++) {
+      int xiInverse = expTable[order - logTable[errorLocations[i]]];
+      int logXiInverse = logTable[xiInverse];
+      int denominator = 1;
+      for (int j = 0; j < numErrors; j++) {
+        if (i != j) {
+          int term = multiplyByLog(errorLocations[j], logXiInverse);
+          denominator = field.multiply(denominator, term ^ 1);
+        }
+      }
+      int magnitude = field.multiply(evaluateAt(omega, omegaDegree, xiInverse),
+          field.inverse(denominator));
+      if (field.getGeneratorBase() != 0) {
+        magnitude = multiplyByLog(magnitude, logXiInverse);
+      }
+      errorMagnitudes[i] = magnitude;
+    }
+  }
+
+  /**
+   * @return a * 2^logB in GF(size), where logB is in [0, size - 1]
+   */
+  private int multiplyByLog(int a, int logB) {
+    if (a == 0) {
+      return 0;
+    }
+    int log = logTable[a] + logB;
+    return expTable[log >= order ? log - order : log];
+  }
+
+  private int evaluateAt(int[] coefficients, int degree, int a) {
+    if (a == 0) {
+      return coefficients[0];
+    }
+    int logA = logTable[a];
+    int result = coefficients[degree];
+    for (int i = degree - 1; i >= 0; i--) {
+      result = multiplyByLog(result, logA) ^ coefficients[i];
+    }
+    return result;
+  }
+
+  /**
+   * @return degree of the polynomial whose coefficients, lowest first, are all zero above
+   *  {@code bound} - the index of its highest non-zero coefficient, or 0 for the zero polynomial
+   */
+  private static int degree(int[] coefficients, int bound) {
+    int degree = bound;
+    while (degree > 0 && coefficients[degree] == 0) {
+      degree--;
+    }
+    return degree;
+  }
+
+}
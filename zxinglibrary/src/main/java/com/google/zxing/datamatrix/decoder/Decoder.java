@@ -21,8 +21,8 @@ import com.google.zxing.FormatException;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.common.DecoderResult;
 import com.google.zxing.common.reedsolomon.GenericGF;
-import com.google.zxing.common.reedsolomon.ReedSolomonDecoder;
 import com.google.zxing.common.reedsolomon.ReedSolomonException;
+import com.google.zxing.common.reedsolomon.ReusableReedSolomonDecoder;
 
 /**
  * <p>The main class which implements Data Matrix Code decoding -- as opposed to locating and extracting
@@ -32,10 +32,10 @@ import com.google.zxing.common.reedsolomon.ReedSolomonException;
  */
 public final class Decoder {
 
-  private final ReedSolomonDecoder rsDecoder;
+  private final ReusableReedSolomonDecoder rsDecoder;
 
   public Decoder() {
-    rsDecoder = new ReedSolomonDecoder(GenericGF.DATA_MATRIX_FIELD_256);
+    rsDecoder = new ReusableReedSolomonDecoder(GenericGF.DATA_MATRIX_FIELD_256);
   }
 
   /**
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Results found by several threads searching overlapping parts of one image, each barcode kept
+ * once. Results count as the same barcode when their text is equal and the boxes around their
+ * result points, in whole-image coordinates, are near each other; so two labels carrying the same
+ * text in different places are both kept.</p>
+ *
+ * <p>Thread-safe: results are grouped by text in a concurrent map, and only threads adding the
+ * same text wait for each other.</p>
+ */
+final class DistinctResults {
+
+  private final ConcurrentMap<String,List<Result>> resultsByText = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a result unless one with the same text has been found at the same place already.
+   *
+   * @return true if added
+   */
+  boolean add(Result result) {
+    String text = result.getText();
+    List<Result> sameText = resultsByText.get(text);
+    if (sameText == null) {
+      List<Result> newList = new ArrayList<>(1);
+      sameText = resultsByText.putIfAbsent(text, newList);
+      if (sameText == null) {
+        sameText = newList;
+      }
+    }
+    float[] box = getBoundingBox(result.getResultPoints());
+    synchronized (sameText) {
+      for (Result existing : sameText) {
+        float[] existingBox = getBoundingBox(existing.getResultPoints());
+        if (box == null || existingBox == null || isNear(box, existingBox)) {
+          return false;
+        }
+      }
+      sameText.add(result);
+    }
+    return true;
+  }
+
+  /**
+   * @return the results, top to bottom then left to right, whatever order they were added in
+   */
+  List<Result> getSorted() {
+    List<Result> results = new ArrayList<>();
+    for (List<Result> sameText : resultsByText.values()) {
+      synchronized (sameText) {
+        results.addAll(sameText);
+      }
+    }
+    Collections.sort(results, new Comparator<Result>() {
+      @Override
+      public int compare(Result a, Result b) {
+        float[] boxA = getBoundingBox(a.getResultPoints());
+        float[] boxB = getBoundingBox(b.getResultPoints());
+        if (boxA == null || boxB == null) {
+          return boxA == null ? (boxB == null ? 0 : 1) : -1;
+        }
+        int byY = Float.compare(boxA[1], boxB[1]);
+        return byY != 0 ? byY : Float.compare(boxA[0], boxB[0]);
+      }
+    });
+    return results;
+  }
+
+  /**
+   * @return {@code minX, minY, maxX, maxY} of the non-null points, or null if there are none
+   */
+  static float[] getBoundingBox(ResultPoint[] points) {
+    if (points == null) {
+      return null;
+    }
+    float[] box = null;
+    for (ResultPoint point : points) {
+      if (point == null) {
+        continue;
+      }
+      float x = point.getX();
+      float y = point.getY();
+      if (box == null) {
+        box = new float[] {x, y, x, y};
+      } else {
+        box[0] = Math.min(box[0], x);
+        box[1] = Math.min(box[1], y);
+        box[2] = Math.max(box[2], x);
+        box[3] = Math.max(box[3], y);
+      }
+    }
+    return box;
+  }
+
+  /**
+   * @return true if the boxes overlap once each is grown by half its longer side. 1D readers
+   *  report the row they happened to decode, which moves from one search to the next, so their
+   *  boxes are lines that need to be grown to meet
+   */
+  private static boolean isNear(float[] a, float[] b) {
+    float marginA = Math.max(a[2] - a[0], a[3] - a[1]) / 2;
+    float marginB = Math.max(b[2] - b[0], b[3] - b[1]) / 2;
+    float margin = marginA + marginB;
+    return a[0] <= b[2] + margin && b[0] <= a[2] + margin &&
+        a[1] <= b[3] + margin && b[1] <= a[3] + margin;
+  }
+
+}
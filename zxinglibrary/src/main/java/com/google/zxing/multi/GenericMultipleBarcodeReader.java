@@ -157,7 +157,7 @@ public final class GenericMultipleBarcodeReader implements MultipleBarcodeReader
     }
   }
 
-  private static Result translateResultPoints(Result result, int xOffset, int yOffset) {
+  static Result translateResultPoints(Result result, int xOffset, int yOffset) {
     ResultPoint[] oldResultPoints = result.getResultPoints();
     if (oldResultPoints == null) {
       return result;
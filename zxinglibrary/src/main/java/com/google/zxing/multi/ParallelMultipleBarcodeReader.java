@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Reader;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.common.ParallelTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Finds multiple barcodes the way {@link GenericMultipleBarcodeReader} does, decoding the
+ * areas left, above, right and below each barcode found, but decodes those areas on several
+ * threads at once. Meant for images holding many codes, such as a photo of a pallet of labels.</p>
+ *
+ * <p>Areas are cropped with {@link BinaryBitmap#cropSharingMatrix}, so once the whole image has
+ * been binarized, each area's black matrix is cut from its parent's rather than binarized again.
+ * The threads, as a {@link ParallelTask}, all take areas from a shared queue and add the areas
+ * around what they find to it.</p>
+ *
+ * <p>A barcode is usually found again in several overlapping areas; see {@link DistinctResults}
+ * for when two results count as the same. Results come back sorted top to bottom, then left to
+ * right, whatever order the threads found them in.</p>
+ *
+ * <p>Readers are not thread-safe, so each thread gets its own from a {@link ReaderFactory}.</p>
+ *
+ * @see GenericMultipleBarcodeReader
+ */
+public final class ParallelMultipleBarcodeReader implements MultipleBarcodeReader {
+
+  private static final int MIN_DIMENSION_TO_RECUR = 100;
+  private static final int MAX_DEPTH = 4;
+
+  private final ReaderFactory readerFactory;
+  private final Executor executor;
+  private final int threads;
+
+  /**
+   * @param readerFactory creates the reader for each thread
+   * @param executor runs the helper threads
+   */
+  public ParallelMultipleBarcodeReader(ReaderFactory readerFactory, Executor executor) {
+    this(readerFactory, executor, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param threads most threads to decode areas on, the calling thread included
+   */
+  ParallelMultipleBarcodeReader(ReaderFactory readerFactory, Executor executor, int threads) {
+    this.readerFactory = readerFactory;
+    this.executor = executor;
+    this.threads = threads;
+  }
+
+  @Override
+  public Result[] decodeMultiple(BinaryBitmap image) throws NotFoundException {
+    return decodeMultiple(image, null);
+  }
+
+  @Override
+  public Result[] decodeMultiple(BinaryBitmap image, Map<DecodeHintType,?> hints)
+      throws NotFoundException {
+    Search search = new Search(hints);
+    List<Result> results = search.run(new Area(image, 0, 0, 0));
+    if (results.isEmpty()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    return results.toArray(GenericMultipleBarcodeReader.EMPTY_RESULT_ARRAY);
+  }
+
+  /**
+   * An area of the image still to decode, and where it is in the whole image.
+   */
+  private static final class Area {
+
+    final BinaryBitmap image;
+    final int xOffset;
+    final int yOffset;
+    final int depth;
+
+    Area(BinaryBitmap image, int xOffset, int yOffset, int depth) {
+      this.image = image;
+      this.xOffset = xOffset;
+      this.yOffset = yOffset;
+      this.depth = depth;
+    }
+
+  }
+
+  /**
+   * One call to {@link #decodeMultiple}: the queue of areas, shared by its threads, and what they
+   * have found.
+   */
+  private final class Search extends ParallelTask {
+
+    private final Map<DecodeHintType,?> hints;
+    private final ArrayDeque<Area> pending = new ArrayDeque<>();
+    // Areas taken from the queue whose decoding hasn't finished
+    private int active;
+    private final DistinctResults results = new DistinctResults();
+
+    Search(Map<DecodeHintType,?> hints) {
+      this.hints = hints;
+    }
+
+    /**
+     * Decodes the area and all areas around what is found in it, returning once there are none
+     * left.
+     */
+    List<Result> run(Area first) {
+      pending.add(first);
+      startHelpers(executor, threads - 1);
+      run();
+      rethrowFailure();
+      return results.getSorted();
+    }
+
+    @Override
+    public void run() {
+      Reader reader = null;
+      Area area;
+      while ((area = take()) != null) {
+        List<Area> around = Collections.emptyList();
+        try {
+          if (!hasFailed()) {
+            if (reader == null) {
+              reader = readerFactory.createReader();
+            }
+            around = decode(reader, area);
+          }
+        } catch (RuntimeException re) {
+          fail(re);
+        } finally {
+          finish(around);
+        }
+      }
+    }
+
+    /**
+     * @return the next area to decode, or null once all are done. Waits while the queue is empty
+     *  but areas still being decoded may add to it
+     */
+    private synchronized Area take() {
+      boolean interrupted = false;
+      while (pending.isEmpty() && active > 0) {
+        try {
+          wait();
+        } catch (InterruptedException ie) {
+          // The areas being decoded are quick to finish; wait for them and pass the interrupt on
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      Area area = pending.poll();
+      if (area != null) {
+        active++;
+      }
+      return area;
+    }
+
+    private synchronized void finish(List<Area> around) {
+      pending.addAll(around);
+      active--;
+      notifyAll();
+    }
+
+    /**
+     * Decodes one area as {@link GenericMultipleBarcodeReader} does.
+     *
+     * @return the areas around the barcode found, to decode next
+     */
+    private List<Area> decode(Reader reader, Area area) {
+      if (area.depth > MAX_DEPTH) {
+        return Collections.emptyList();
+      }
+      BinaryBitmap image = area.image;
+      Result result;
+      try {
+        result = reader.decode(image, hints);
+      } catch (ReaderException ignored) {
+        return Collections.emptyList();
+      } finally {
+        reader.reset();
+      }
+      results.add(GenericMultipleBarcodeReader.translateResultPoints(result, area.xOffset, area.yOffset));
+      float[] box = DistinctResults.getBoundingBox(result.getResultPoints());
+      if (box == null) {
+        return Collections.emptyList();
+      }
+      int width = image.getWidth();
+      int height = image.getHeight();
+      int minX = (int) box[0];
+      int minY = (int) box[1];
+      int maxX = (int) box[2];
+      int maxY = (int) box[3];
+      int depth = area.depth + 1;
+
+      List<Area> around = new ArrayList<>(4);
+      // Left of barcode
+      if (box[0] > MIN_DIMENSION_TO_RECUR) {
+        around.add(new Area(image.cropSharingMatrix(0, 0, minX, height),
+                            area.xOffset, area.yOffset, depth));
+      }
+      // Above barcode
+      if (box[1] > MIN_DIMENSION_TO_RECUR) {
+        around.add(new Area(image.cropSharingMatrix(0, 0, width, minY),
+                            area.xOffset, area.yOffset, depth));
+      }
+      // Right of barcode
+      if (box[2] < width - MIN_DIMENSION_TO_RECUR) {
+        around.add(new Area(image.cropSharingMatrix(maxX, 0, width - maxX, height),
+                            area.xOffset + maxX, area.yOffset, depth));
+      }
+      // Below barcode
+      if (box[3] < height - MIN_DIMENSION_TO_RECUR) {
+        around.add(new Area(image.cropSharingMatrix(0, maxY, width, height - maxY),
+                            area.xOffset, area.yOffset + maxY, depth));
+      }
+      return around;
+    }
+
+  }
+
+}
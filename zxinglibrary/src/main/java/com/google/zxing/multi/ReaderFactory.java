@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.Reader;
+
+/**
+ * Creates the {@link Reader} one thread of a parallel multiple barcode reader decodes with.
+ * Readers keep state between calls, so threads can't share one.
+ *
+ * @see ParallelMultipleBarcodeReader
+ * @see TiledMultipleBarcodeReader
+ */
+public interface ReaderFactory {
+
+  Reader createReader();
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Reader;
+import com.google.zxing.Result;
+import com.google.zxing.common.ParallelItems;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Finds many barcodes in a large image, such as a sheet of asset tags, by decoding overlapping
+ * tiles of it in parallel. Where {@link ByQuadrantReader} tries five fixed areas one after another,
+ * this lays a grid of tiles over the whole image, sized from how big the codes are expected to be:
+ * tiles are twice the side of the largest expected code and start one code side apart, so every
+ * code that size or smaller lies wholly inside at least one tile. A tile can hold several codes:
+ * if the factory's readers are themselves {@link MultipleBarcodeReader}s, such as
+ * {@link com.google.zxing.multi.qrcode.QRCodeMultiReader}, tiles are searched with them directly,
+ * and otherwise through a {@link GenericMultipleBarcodeReader}. Prefer the former where there is
+ * one: a tile is bound to cut through codes at its edges, and the parts of finder patterns that
+ * leaves can stop a single-code reader from finding any code in it at all.</p>
+ *
+ * <p>Tiles are decoded on several threads as {@link ParallelItems}, with readers from a
+ * {@link ReaderFactory}; a thread done with a tile hands its reader on to the next tile. The image
+ * is binarized once up front, and tiles are cut from its matrix with
+ * {@link BinaryBitmap#cropSharingMatrix} rather than binarized again, overlaps and all. Crops are
+ * taken one at a time, so the image's matrix is never read by two threads at once.</p>
+ *
+ * <p>Codes inside the overlap of several tiles are found more than once; see
+ * {@link DistinctResults} for when two results count as the same. Results come back sorted top to
+ * bottom, then left to right.</p>
+ */
+public final class TiledMultipleBarcodeReader implements MultipleBarcodeReader {
+
+  /**
+   * Side, in modules, of the largest code expected by default: a version 6 QR Code, 41 modules,
+   * with a quiet zone of 4 on either side.
+   */
+  public static final int DEFAULT_MAX_CODE_MODULES = 49;
+
+  private final ReaderFactory readerFactory;
+  private final Executor executor;
+  private final int maxCodeSide;
+  private final int threads;
+
+  /**
+   * @param readerFactory creates the reader for each thread
+   * @param executor runs the helper threads
+   * @param moduleSize expected size of a module in the image, in pixels
+   */
+  public TiledMultipleBarcodeReader(ReaderFactory readerFactory, Executor executor, float moduleSize) {
+    this(readerFactory, executor, moduleSize, DEFAULT_MAX_CODE_MODULES);
+  }
+
+  /**
+   * @param readerFactory creates the reader for each thread
+   * @param executor runs the helper threads
+   * @param moduleSize expected size of a module in the image, in pixels
+   * @param maxCodeModules side of the largest code expected, in modules, quiet zone included
+   */
+  public TiledMultipleBarcodeReader(ReaderFactory readerFactory,
+                                    Executor executor,
+                                    float moduleSize,
+                                    int maxCodeModules) {
+    this(readerFactory, executor, moduleSize, maxCodeModules, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param threads most threads to decode tiles on, the calling thread included
+   */
+  TiledMultipleBarcodeReader(ReaderFactory readerFactory,
+                             Executor executor,
+                             float moduleSize,
+                             int maxCodeModules,
+                             int threads) {
+    if (moduleSize <= 0.0f || maxCodeModules < 1) {
+      throw new IllegalArgumentException("Module size and code size must be positive");
+    }
+    this.readerFactory = readerFactory;
+    this.executor = executor;
+    maxCodeSide = Math.max(1, Math.round(moduleSize * maxCodeModules));
+    this.threads = threads;
+  }
+
+  @Override
+  public Result[] decodeMultiple(BinaryBitmap image) throws NotFoundException {
+    return decodeMultiple(image, null);
+  }
+
+  @Override
+  public Result[] decodeMultiple(BinaryBitmap image, Map<DecodeHintType,?> hints)
+      throws NotFoundException {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    int tileWidth = Math.min(width, 2 * maxCodeSide);
+    int tileHeight = Math.min(height, 2 * maxCodeSide);
+    int[] lefts = getTileStarts(width, tileWidth, maxCodeSide);
+    int[] tops = getTileStarts(height, tileHeight, maxCodeSide);
+    try {
+      image.getBlackMatrix();
+    } catch (NotFoundException ignored) {
+      // Then each tile is binarized on its own
+    }
+    Search search = new Search(image, hints, lefts, tops, tileWidth, tileHeight);
+    List<Result> results = search.decodeAll();
+    if (results.isEmpty()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    return results.toArray(GenericMultipleBarcodeReader.EMPTY_RESULT_ARRAY);
+  }
+
+  /**
+   * @return where tiles start along one side, {@code stride} apart, the last one moved back to
+   *  end at the edge
+   */
+  private static int[] getTileStarts(int length, int tileLength, int stride) {
+    int count = 1;
+    if (tileLength < length) {
+      count += (length - tileLength + stride - 1) / stride;
+    }
+    int[] starts = new int[count];
+    for (int i = 0; i < count; i++) {
+      starts[i] = Math.min(i * stride, length - tileLength);
+    }
+    return starts;
+  }
+
+  private static MultipleBarcodeReader toMultipleReader(Reader reader) {
+    if (reader instanceof MultipleBarcodeReader) {
+      return (MultipleBarcodeReader) reader;
+    }
+    return new GenericMultipleBarcodeReader(reader);
+  }
+
+  /**
+   * One call to {@link #decodeMultiple}: the tiles, shared by its threads, and what they have found.
+   */
+  private final class Search extends ParallelItems {
+
+    private final BinaryBitmap image;
+    private final Map<DecodeHintType,?> hints;
+    private final int[] lefts;
+    private final int[] tops;
+    private final int tileWidth;
+    private final int tileHeight;
+    // Readers no thread is using, so at most one is created per thread
+    private final ArrayDeque<MultipleBarcodeReader> idleReaders = new ArrayDeque<>();
+    private final DistinctResults results = new DistinctResults();
+
+    Search(BinaryBitmap image,
+           Map<DecodeHintType,?> hints,
+           int[] lefts,
+           int[] tops,
+           int tileWidth,
+           int tileHeight) {
+      super(lefts.length * tops.length);
+      this.image = image;
+      this.hints = hints;
+      this.lefts = lefts;
+      this.tops = tops;
+      this.tileWidth = tileWidth;
+      this.tileHeight = tileHeight;
+    }
+
+    /**
+     * Decodes all tiles, returning once they are done.
+     */
+    List<Result> decodeAll() {
+      run(executor, threads);
+      return results.getSorted();
+    }
+
+    @Override
+    protected void process(int tile) {
+      MultipleBarcodeReader reader;
+      synchronized (idleReaders) {
+        reader = idleReaders.poll();
+      }
+      if (reader == null) {
+        reader = toMultipleReader(readerFactory.createReader());
+      }
+      decodeTile(reader, lefts[tile % lefts.length], tops[tile / lefts.length]);
+      synchronized (idleReaders) {
+        idleReaders.push(reader);
+      }
+    }
+
+    private void decodeTile(MultipleBarcodeReader reader, int left, int top) {
+      BinaryBitmap tileImage;
+      synchronized (image) {
+        tileImage = image.cropSharingMatrix(left, top, tileWidth, tileHeight);
+      }
+      Result[] found;
+      try {
+        found = reader.decodeMultiple(tileImage, hints);
+      } catch (NotFoundException ignored) {
+        return;
+      }
+      for (Result result : found) {
+        results.add(GenericMultipleBarcodeReader.translateResultPoints(result, left, top));
+      }
+    }
+
+  }
+
+}
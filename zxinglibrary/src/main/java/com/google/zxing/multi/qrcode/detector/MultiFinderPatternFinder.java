@@ -16,6 +16,7 @@
 
 package com.google.zxing.multi.qrcode.detector;
 
+import com.google.zxing.CancellationToken;
 import com.google.zxing.DecodeHintType;
 import com.google.zxing.NotFoundException;
 import com.google.zxing.ResultPoint;
@@ -74,6 +75,12 @@ public final class MultiFinderPatternFinder extends FinderPatternFinder {
    */
   private static final float DIFF_MODSIZE_CUTOFF = 0.5f;
 
+  /**
+   * Any two finder patterns of one code are closer than this many modules of the first: the sides
+   * from top left are at most 2 * MAX_MODULE_COUNT_PER_EDGE together, and the diagonal at most 10%
+   * longer than both, so 2.2 * MAX_MODULE_COUNT_PER_EDGE; a little more for rounding.
+   */
+  private static final float MAX_PAIR_DISTANCE_MODULES = 2.25f * MAX_MODULE_COUNT_PER_EDGE;
 
   /**
    * A comparator that orders FinderPatterns by their estimated module size.
@@ -137,6 +144,7 @@ public final class MultiFinderPatternFinder extends FinderPatternFinder {
       if (p1 == null) {
         continue;
       }
+      float maxPairDistance = MAX_PAIR_DISTANCE_MODULES * p1.getEstimatedModuleSize();
 
       for (int i2 = i1 + 1; i2 < (size - 1); i2++) {
         FinderPattern p2 = possibleCenters.get(i2);
@@ -154,6 +162,12 @@ public final class MultiFinderPatternFinder extends FinderPatternFinder {
           break;
         }
 
+        float d12 = ResultPoint.distance(p1, p2);
+        if (d12 > maxPairDistance) {
+          // Too far apart to be in one code, whatever the third
+          continue;
+        }
+
         for (int i3 = i2 + 1; i3 < size; i3++) {
           FinderPattern p3 = possibleCenters.get(i3);
           if (p3 == null) {
@@ -170,14 +184,31 @@ public final class MultiFinderPatternFinder extends FinderPatternFinder {
             break;
           }
 
-          FinderPattern[] test = {p1, p2, p3};
-          ResultPoint.orderBestPatterns(test);
+          float d23 = ResultPoint.distance(p2, p3);
+          float d13 = ResultPoint.distance(p1, p3);
+          if (d23 > maxPairDistance || d13 > maxPairDistance) {
+            continue;
+          }
 
-          // Calculate the distances: a = topleft-bottomleft, b=topleft-topright, c = diagonal
-          FinderPatternInfo info = new FinderPatternInfo(test);
-          float dA = ResultPoint.distance(info.getTopLeft(), info.getBottomLeft());
-          float dC = ResultPoint.distance(info.getTopRight(), info.getBottomLeft());
-          float dB = ResultPoint.distance(info.getTopLeft(), info.getTopRight());
+          // Calculate the distances: a = topleft-bottomleft, b=topleft-topright, c = diagonal.
+          // The diagonal is the longest side, as ResultPoint.orderBestPatterns decides it; which
+          // of the others is a and which b doesn't matter to the checks below
+          float dA;
+          float dB;
+          float dC;
+          if (d23 >= d12 && d23 >= d13) {
+            dA = d12;
+            dB = d13;
+            dC = d23;
+          } else if (d13 >= d23 && d13 >= d12) {
+            dA = d12;
+            dB = d23;
+            dC = d13;
+          } else {
+            dA = d13;
+            dB = d23;
+            dC = d12;
+          }
 
           // Check the sizes
           float estimatedModuleCount = (dA + dB) / (p1.getEstimatedModuleSize() * 2.0f);
@@ -202,6 +233,8 @@ public final class MultiFinderPatternFinder extends FinderPatternFinder {
           }
 
           // All tests passed!
+          FinderPattern[] test = {p1, p2, p3};
+          ResultPoint.orderBestPatterns(test);
           results.add(test);
         }
       }
@@ -217,6 +250,7 @@ public final class MultiFinderPatternFinder extends FinderPatternFinder {
 
   public FinderPatternInfo[] findMulti(Map<DecodeHintType,?> hints) throws NotFoundException {
     boolean tryHarder = hints != null && hints.containsKey(DecodeHintType.TRY_HARDER);
+    CancellationToken cancellation = CancellationToken.fromHints(hints);
     BitMatrix image = getImage();
     int maxI = image.getHeight();
     int maxJ = image.getWidth();
@@ -234,6 +268,7 @@ public final class MultiFinderPatternFinder extends FinderPatternFinder {
 
     int[] stateCount = new int[5];
     for (int i = iSkip - 1; i < maxI; i += iSkip) {
+      CancellationToken.check(cancellation);
       // Get a row of black/white values
       doClearCounts(stateCount);
       int currentState = 0;
@@ -22,6 +22,7 @@ import com.google.zxing.NotFoundException;
 import com.google.zxing.Result;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
 import java.util.Arrays;
 import java.util.Map;
@@ -78,9 +79,15 @@ public final class CodaBarReader extends OneDReader {
 
   @Override
   public Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints) throws NotFoundException {
+    return decodeRow(rowNumber, row, new RunLengthRow(row), hints);
+  }
+
+  @Override
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException {
 
     Arrays.fill(counters, 0);
-    setCounters(row);
+    setCounters(runs);
     int startOffset = findStartPattern();
     int nextStart = startOffset;
 
@@ -225,29 +232,19 @@ public final class CodaBarReader extends OneDReader {
    * Records the size of all runs of white and black pixels, starting with white.
    * This is just like recordPattern, except it records all the counters, and
    * uses our builtin "counters" member for storage.
-   * @param row row to count from
+   * @param runs row to count from
    */
-  private void setCounters(BitArray row) throws NotFoundException {
+  private void setCounters(RunLengthRow runs) throws NotFoundException {
     counterLength = 0;
     // Start from the first white bit.
-    int i = row.getNextUnset(0);
-    int end = row.getSize();
+    int i = runs.getNextUnset(0);
+    int end = runs.getSize();
     if (i >= end) {
       throw NotFoundException.getNotFoundInstance();
     }
-    boolean isWhite = true;
-    int count = 0;
-    while (i < end) {
-      if (row.get(i) != isWhite) {
-        count++;
-      } else {
-        counterAppend(count);
-        count = 1;
-        isWhite = !isWhite;
-      }
-      i++;
+    for (int run = runs.getRunIndex(i); run < runs.getRunCount(); run++) {
+      counterAppend(runs.getRunEnd(run) - runs.getRunStart(run));
     }
-    counterAppend(count);
   }
 
   private void counterAppend(int e) {
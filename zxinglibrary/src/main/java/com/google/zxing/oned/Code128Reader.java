@@ -24,6 +24,7 @@ import com.google.zxing.NotFoundException;
 import com.google.zxing.Result;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -166,54 +167,47 @@ public final class Code128Reader extends OneDReader {
   private static final int CODE_START_C = 105;
   private static final int CODE_STOP = 106;
 
-  private static int[] findStartPattern(BitArray row) throws NotFoundException {
-    int width = row.getSize();
-    int rowOffset = row.getNextSet(0);
+  private static int[] findStartPattern(RunLengthRow runs) throws NotFoundException {
+    int width = runs.getSize();
+    int rowOffset = runs.getNextSet(0);
+    if (rowOffset == width) {
+      throw NotFoundException.getNotFoundInstance();
+    }
 
-    int counterPosition = 0;
     int[] counters = new int[6];
-    int patternStart = rowOffset;
-    boolean isWhite = false;
     int patternLength = counters.length;
-
-    for (int i = rowOffset; i < width; i++) {
-      if (row.get(i) != isWhite) {
-        counters[counterPosition]++;
-      } else {
-        if (counterPosition == patternLength - 1) {
-          float bestVariance = MAX_AVG_VARIANCE;
-          int bestMatch = -1;
-          for (int startCode = CODE_START_A; startCode <= CODE_START_C; startCode++) {
-            float variance = patternMatchVariance(counters, CODE_PATTERNS[startCode],
-                MAX_INDIVIDUAL_VARIANCE);
-            if (variance < bestVariance) {
-              bestVariance = variance;
-              bestMatch = startCode;
-            }
-          }
-          // Look for whitespace before start pattern, >= 50% of width of start pattern
-          if (bestMatch >= 0 &&
-              row.isRange(Math.max(0, patternStart - (i - patternStart) / 2), patternStart, false)) {
-            return new int[]{patternStart, i, bestMatch};
-          }
-          patternStart += counters[0] + counters[1];
-          System.arraycopy(counters, 2, counters, 0, counterPosition - 1);
-          counters[counterPosition - 1] = 0;
-          counters[counterPosition] = 0;
-          counterPosition--;
-        } else {
-          counterPosition++;
+    // Slide a window of patternLength runs, starting on a black run, along the row
+    int firstRun = runs.getRunIndex(rowOffset);
+    for (int run = firstRun; run + patternLength <= runs.getRunCount(); run += 2) {
+      int patternStart = run == firstRun ? rowOffset : runs.getRunStart(run);
+      int i = runs.getRunEnd(run + patternLength - 1);
+      if (i == width) {
+        // The last run must end before the edge of the row
+        break;
+      }
+      runs.getRunLengths(patternStart, counters);
+      float bestVariance = MAX_AVG_VARIANCE;
+      int bestMatch = -1;
+      for (int startCode = CODE_START_A; startCode <= CODE_START_C; startCode++) {
+        float variance = patternMatchVariance(counters, CODE_PATTERNS[startCode],
+            MAX_INDIVIDUAL_VARIANCE);
+        if (variance < bestVariance) {
+          bestVariance = variance;
+          bestMatch = startCode;
         }
-        counters[counterPosition] = 1;
-        isWhite = !isWhite;
+      }
+      // Look for whitespace before start pattern, >= 50% of width of start pattern
+      if (bestMatch >= 0 &&
+          runs.isRange(Math.max(0, patternStart - (i - patternStart) / 2), patternStart, false)) {
+        return new int[]{patternStart, i, bestMatch};
       }
     }
     throw NotFoundException.getNotFoundInstance();
   }
 
-  private static int decodeCode(BitArray row, int[] counters, int rowOffset)
+  private static int decodeCode(RunLengthRow runs, int[] counters, int rowOffset)
       throws NotFoundException {
-    recordPattern(row, rowOffset, counters);
+    recordPattern(runs, rowOffset, counters);
     float bestVariance = MAX_AVG_VARIANCE; // worst variance we'll accept
     int bestMatch = -1;
     for (int d = 0; d < CODE_PATTERNS.length; d++) {
@@ -235,10 +229,16 @@ public final class Code128Reader extends OneDReader {
   @Override
   public Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints)
       throws NotFoundException, FormatException, ChecksumException {
+    return decodeRow(rowNumber, row, new RunLengthRow(row), hints);
+  }
+
+  @Override
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException, FormatException, ChecksumException {
 
     boolean convertFNC1 = hints != null && hints.containsKey(DecodeHintType.ASSUME_GS1);
 
-    int[] startPatternInfo = findStartPattern(row);
+    int[] startPatternInfo = findStartPattern(runs);
     int startCode = startPatternInfo[2];
 
     List<Byte> rawCodes = new ArrayList<>(20);
@@ -285,7 +285,7 @@ public final class Code128Reader extends OneDReader {
       lastCode = code;
 
       // Decode another code from image
-      code = decodeCode(row, counters, nextStart);
+      code = decodeCode(runs, counters, nextStart);
 
       rawCodes.add((byte) code);
 
@@ -486,10 +486,10 @@ public final class Code128Reader extends OneDReader {
     // Check for ample whitespace following pattern, but, to do this we first need to remember that
     // we fudged decoding CODE_STOP since it actually has 7 bars, not 6. There is a black bar left
     // to read off. Would be slightly better to properly read. Here we just skip it:
-    nextStart = row.getNextUnset(nextStart);
-    if (!row.isRange(nextStart,
-                     Math.min(row.getSize(), nextStart + (nextStart - lastStart) / 2),
-                     false)) {
+    nextStart = runs.getNextUnset(nextStart);
+    if (!runs.isRange(nextStart,
+                      Math.min(runs.getSize(), nextStart + (nextStart - lastStart) / 2),
+                      false)) {
       throw NotFoundException.getNotFoundInstance();
     }
 
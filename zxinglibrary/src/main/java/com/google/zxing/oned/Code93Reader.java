@@ -24,6 +24,7 @@ import com.google.zxing.NotFoundException;
 import com.google.zxing.Result;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
 import java.util.Arrays;
 import java.util.Map;
@@ -65,11 +66,17 @@ public final class Code93Reader extends OneDReader {
   @Override
   public Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints)
       throws NotFoundException, ChecksumException, FormatException {
+    return decodeRow(rowNumber, row, new RunLengthRow(row), hints);
+  }
 
-    int[] start = findAsteriskPattern(row);
+  @Override
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException, ChecksumException, FormatException {
+
+    int[] start = findAsteriskPattern(runs);
     // Read off white space
-    int nextStart = row.getNextSet(start[1]);
-    int end = row.getSize();
+    int nextStart = runs.getNextSet(start[1]);
+    int end = runs.getSize();
 
     int[] theCounters = counters;
     Arrays.fill(theCounters, 0);
@@ -79,7 +86,7 @@ public final class Code93Reader extends OneDReader {
     char decodedChar;
     int lastStart;
     do {
-      recordPattern(row, nextStart, theCounters);
+      recordPattern(runs, nextStart, theCounters);
       int pattern = toPattern(theCounters);
       if (pattern < 0) {
         throw NotFoundException.getNotFoundInstance();
@@ -91,7 +98,7 @@ public final class Code93Reader extends OneDReader {
         nextStart += counter;
       }
       // Read off white space
-      nextStart = row.getNextSet(nextStart);
+      nextStart = runs.getNextSet(nextStart);
     } while (decodedChar != '*');
     result.deleteCharAt(result.length() - 1); // remove asterisk
 
@@ -101,7 +108,7 @@ public final class Code93Reader extends OneDReader {
     }
 
     // Should be at least one more black module
-    if (nextStart == end || !row.get(nextStart)) {
+    if (nextStart == end || !runs.isRange(nextStart, nextStart + 1, true)) {
       throw NotFoundException.getNotFoundInstance();
     }
 
@@ -128,35 +135,29 @@ public final class Code93Reader extends OneDReader {
 
   }
 
-  private int[] findAsteriskPattern(BitArray row) throws NotFoundException {
-    int width = row.getSize();
-    int rowOffset = row.getNextSet(0);
+  private int[] findAsteriskPattern(RunLengthRow runs) throws NotFoundException {
+    int width = runs.getSize();
+    int rowOffset = runs.getNextSet(0);
+    if (rowOffset == width) {
+      throw NotFoundException.getNotFoundInstance();
+    }
 
     Arrays.fill(counters, 0);
     int[] theCounters = counters;
-    int patternStart = rowOffset;
-    boolean isWhite = false;
     int patternLength = theCounters.length;
 
-    int counterPosition = 0;
-    for (int i = rowOffset; i < width; i++) {
-      if (row.get(i) != isWhite) {
-        theCounters[counterPosition]++;
-      } else {
-        if (counterPosition == patternLength - 1) {
-          if (toPattern(theCounters) == ASTERISK_ENCODING) {
-            return new int[]{patternStart, i};
-          }
-          patternStart += theCounters[0] + theCounters[1];
-          System.arraycopy(theCounters, 2, theCounters, 0, counterPosition - 1);
-          theCounters[counterPosition - 1] = 0;
-          theCounters[counterPosition] = 0;
-          counterPosition--;
-        } else {
-          counterPosition++;
-        }
-        theCounters[counterPosition] = 1;
-        isWhite = !isWhite;
+    // Slide a window of patternLength runs, starting on a black run, along the row
+    int firstRun = runs.getRunIndex(rowOffset);
+    for (int run = firstRun; run + patternLength <= runs.getRunCount(); run += 2) {
+      int patternStart = run == firstRun ? rowOffset : runs.getRunStart(run);
+      int i = runs.getRunEnd(run + patternLength - 1);
+      if (i == width) {
+        // The last run must end before the edge of the row
+        break;
+      }
+      runs.getRunLengths(patternStart, theCounters);
+      if (toPattern(theCounters) == ASTERISK_ENCODING) {
+        return new int[]{patternStart, i};
       }
     }
     throw NotFoundException.getNotFoundInstance();
@@ -23,6 +23,7 @@ import com.google.zxing.NotFoundException;
 import com.google.zxing.Result;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
 import java.util.Map;
 
@@ -56,6 +57,8 @@ public final class ITFReader extends OneDReader {
 
   // Stores the actual narrow line width of the image being decoded.
   private int narrowLineWidth = -1;
+  // Scratch for searching the row from the right
+  private final RunLengthRow reversedRuns = new RunLengthRow();
 
   /**
    * Start/end guard pattern.
@@ -100,13 +103,19 @@ public final class ITFReader extends OneDReader {
   @Override
   public Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints)
       throws FormatException, NotFoundException {
+    return decodeRow(rowNumber, row, new RunLengthRow(row), hints);
+  }
+
+  @Override
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws FormatException, NotFoundException {
 
     // Find out where the Middle section (payload) starts & ends
-    int[] startRange = decodeStart(row);
-    int[] endRange = decodeEnd(row);
+    int[] startRange = decodeStart(runs);
+    int[] endRange = decodeEnd(runs);
 
     StringBuilder result = new StringBuilder(20);
-    decodeMiddle(row, startRange[1], endRange[0], result);
+    decodeMiddle(runs, startRange[1], endRange[0], result);
     String resultString = result.toString();
 
     int[] allowedLengths = null;
@@ -148,12 +157,12 @@ public final class ITFReader extends OneDReader {
   }
 
   /**
-   * @param row          row of black/white values to search
+   * @param runs         row of black/white values to search
    * @param payloadStart offset of start pattern
    * @param resultString {@link StringBuilder} to append decoded chars to
    * @throws NotFoundException if decoding could not complete successfully
    */
-  private static void decodeMiddle(BitArray row,
+  private static void decodeMiddle(RunLengthRow runs,
                                    int payloadStart,
                                    int payloadEnd,
                                    StringBuilder resultString) throws NotFoundException {
@@ -170,7 +179,7 @@ public final class ITFReader extends OneDReader {
     while (payloadStart < payloadEnd) {
 
       // Get 10 runs of black/white.
-      recordPattern(row, payloadStart, counterDigitPair);
+      recordPattern(runs, payloadStart, counterDigitPair);
       // Split them into each array
       for (int k = 0; k < 5; k++) {
         int twoK = 2 * k;
@@ -192,20 +201,20 @@ public final class ITFReader extends OneDReader {
   /**
    * Identify where the start of the middle / payload section starts.
    *
-   * @param row row of black/white values to search
+   * @param runs row of black/white values to search
    * @return Array, containing index of start of 'start block' and end of
    *         'start block'
    */
-  private int[] decodeStart(BitArray row) throws NotFoundException {
-    int endStart = skipWhiteSpace(row);
-    int[] startPattern = findGuardPattern(row, endStart, START_PATTERN);
+  private int[] decodeStart(RunLengthRow runs) throws NotFoundException {
+    int endStart = skipWhiteSpace(runs);
+    int[] startPattern = findGuardPattern(runs, endStart, START_PATTERN);
 
     // Determine the width of a narrow line in pixels. We can do this by
     // getting the width of the start pattern and dividing by 4 because its
     // made up of 4 narrow lines.
     this.narrowLineWidth = (startPattern[1] - startPattern[0]) / 4;
 
-    validateQuietZone(row, startPattern[0]);
+    validateQuietZone(runs, startPattern[0]);
 
     return startPattern;
   }
@@ -221,39 +230,37 @@ public final class ITFReader extends OneDReader {
    *
    * ref: http://www.barcode-1.net/i25code.html
    *
-   * @param row bit array representing the scanned barcode.
+   * @param runs runs of the scanned barcode row.
    * @param startPattern index into row of the start or end pattern.
    * @throws NotFoundException if the quiet zone cannot be found
    */
-  private void validateQuietZone(BitArray row, int startPattern) throws NotFoundException {
+  private void validateQuietZone(RunLengthRow runs, int startPattern) throws NotFoundException {
 
     int quietCount = this.narrowLineWidth * 10;  // expect to find this many pixels of quiet zone
 
     // if there are not so many pixel at all let's try as many as possible
     quietCount = Math.min(quietCount, startPattern);
 
-    for (int i = startPattern - 1; quietCount > 0 && i >= 0; i--) {
-      if (row.get(i)) {
-        break;
+    if (quietCount > 0) {
+      int run = runs.getRunIndex(startPattern - 1);
+      int quietStart = runs.isSet(run) ? startPattern : runs.getRunStart(run);
+      if (startPattern - quietStart < quietCount) {
+        // Unable to find the necessary number of quiet zone pixels.
+        throw NotFoundException.getNotFoundInstance();
       }
-      quietCount--;
-    }
-    if (quietCount != 0) {
-      // Unable to find the necessary number of quiet zone pixels.
-      throw NotFoundException.getNotFoundInstance();
     }
   }
 
   /**
    * Skip all whitespace until we get to the first black line.
    *
-   * @param row row of black/white values to search
+   * @param runs row of black/white values to search
    * @return index of the first black line.
    * @throws NotFoundException Throws exception if no black lines are found in the row
    */
-  private static int skipWhiteSpace(BitArray row) throws NotFoundException {
-    int width = row.getSize();
-    int endStart = row.getNextSet(0);
+  private static int skipWhiteSpace(RunLengthRow runs) throws NotFoundException {
+    int width = runs.getSize();
+    int endStart = runs.getNextSet(0);
     if (endStart == width) {
       throw NotFoundException.getNotFoundInstance();
     }
@@ -264,45 +271,41 @@ public final class ITFReader extends OneDReader {
   /**
    * Identify where the end of the middle / payload section ends.
    *
-   * @param row row of black/white values to search
+   * @param runs row of black/white values to search
    * @return Array, containing index of start of 'end block' and end of 'end
    *         block'
    */
-  private int[] decodeEnd(BitArray row) throws NotFoundException {
+  private int[] decodeEnd(RunLengthRow runs) throws NotFoundException {
 
     // For convenience, reverse the row and then
     // search from 'the start' for the end block
-    row.reverse();
+    RunLengthRow reversed = reversedRuns;
+    reversed.setReversed(runs);
+    int endStart = skipWhiteSpace(reversed);
+    int[] endPattern;
     try {
-      int endStart = skipWhiteSpace(row);
-      int[] endPattern;
-      try {
-        endPattern = findGuardPattern(row, endStart, END_PATTERN_REVERSED[0]);
-      } catch (NotFoundException nfe) {
-        endPattern = findGuardPattern(row, endStart, END_PATTERN_REVERSED[1]);
-      }
-
-      // The start & end patterns must be pre/post fixed by a quiet zone. This
-      // zone must be at least 10 times the width of a narrow line.
-      // ref: http://www.barcode-1.net/i25code.html
-      validateQuietZone(row, endPattern[0]);
-
-      // Now recalculate the indices of where the 'endblock' starts & stops to
-      // accommodate
-      // the reversed nature of the search
-      int temp = endPattern[0];
-      endPattern[0] = row.getSize() - endPattern[1];
-      endPattern[1] = row.getSize() - temp;
-
-      return endPattern;
-    } finally {
-      // Put the row back the right way.
-      row.reverse();
+      endPattern = findGuardPattern(reversed, endStart, END_PATTERN_REVERSED[0]);
+    } catch (NotFoundException nfe) {
+      endPattern = findGuardPattern(reversed, endStart, END_PATTERN_REVERSED[1]);
     }
+
+    // The start & end patterns must be pre/post fixed by a quiet zone. This
+    // zone must be at least 10 times the width of a narrow line.
+    // ref: http://www.barcode-1.net/i25code.html
+    validateQuietZone(reversed, endPattern[0]);
+
+    // Now recalculate the indices of where the 'endblock' starts & stops to
+    // accommodate
+    // the reversed nature of the search
+    int temp = endPattern[0];
+    endPattern[0] = reversed.getSize() - endPattern[1];
+    endPattern[1] = reversed.getSize() - temp;
+
+    return endPattern;
   }
 
   /**
-   * @param row       row of black/white values to search
+   * @param runs      row of black/white values to search
    * @param rowOffset position to start search
    * @param pattern   pattern of counts of number of black and white pixels that are
    *                  being searched for as a pattern
@@ -310,34 +313,25 @@ public final class ITFReader extends OneDReader {
    *         ints
    * @throws NotFoundException if pattern is not found
    */
-  private static int[] findGuardPattern(BitArray row,
+  private static int[] findGuardPattern(RunLengthRow runs,
                                         int rowOffset,
                                         int[] pattern) throws NotFoundException {
     int patternLength = pattern.length;
     int[] counters = new int[patternLength];
-    int width = row.getSize();
-    boolean isWhite = false;
-
-    int counterPosition = 0;
-    int patternStart = rowOffset;
-    for (int x = rowOffset; x < width; x++) {
-      if (row.get(x) != isWhite) {
-        counters[counterPosition]++;
-      } else {
-        if (counterPosition == patternLength - 1) {
-          if (patternMatchVariance(counters, pattern, MAX_INDIVIDUAL_VARIANCE) < MAX_AVG_VARIANCE) {
-            return new int[]{patternStart, x};
-          }
-          patternStart += counters[0] + counters[1];
-          System.arraycopy(counters, 2, counters, 0, counterPosition - 1);
-          counters[counterPosition - 1] = 0;
-          counters[counterPosition] = 0;
-          counterPosition--;
-        } else {
-          counterPosition++;
-        }
-        counters[counterPosition] = 1;
-        isWhite = !isWhite;
+    int width = runs.getSize();
+
+    // Slide a window of patternLength runs, starting on a black run, along the row
+    int firstRun = runs.getRunIndex(rowOffset);
+    for (int run = firstRun; run + patternLength <= runs.getRunCount(); run += 2) {
+      int patternStart = run == firstRun ? rowOffset : runs.getRunStart(run);
+      int x = runs.getRunEnd(run + patternLength - 1);
+      if (x == width) {
+        // The last run must end before the edge of the row
+        break;
+      }
+      runs.getRunLengths(patternStart, counters);
+      if (patternMatchVariance(counters, pattern, MAX_INDIVIDUAL_VARIANCE) < MAX_AVG_VARIANCE) {
+        return new int[]{patternStart, x};
       }
     }
     throw NotFoundException.getNotFoundInstance();
@@ -23,6 +23,7 @@ import com.google.zxing.Reader;
 import com.google.zxing.ReaderException;
 import com.google.zxing.Result;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 import com.google.zxing.oned.rss.RSS14Reader;
 import com.google.zxing.oned.rss.expanded.RSSExpandedReader;
 
@@ -93,9 +94,17 @@ public final class MultiFormatOneDReader extends OneDReader {
   public Result decodeRow(int rowNumber,
                           BitArray row,
                           Map<DecodeHintType,?> hints) throws NotFoundException {
+    return decodeRow(rowNumber, row, new RunLengthRow(row), hints);
+  }
+
+  @Override
+  public Result decodeRow(int rowNumber,
+                          BitArray row,
+                          RunLengthRow runs,
+                          Map<DecodeHintType,?> hints) throws NotFoundException {
     for (OneDReader reader : readers) {
       try {
-        return reader.decodeRow(rowNumber, row, hints);
+        return reader.decodeRow(rowNumber, row, runs, hints);
       } catch (ReaderException re) {
         // continue
       }
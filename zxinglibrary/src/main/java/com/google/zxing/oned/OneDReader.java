@@ -17,6 +17,7 @@
 package com.google.zxing.oned;
 
 import com.google.zxing.BinaryBitmap;
+import com.google.zxing.CancellationToken;
 import com.google.zxing.ChecksumException;
 import com.google.zxing.DecodeHintType;
 import com.google.zxing.FormatException;
@@ -27,6 +28,7 @@ import com.google.zxing.Result;
 import com.google.zxing.ResultMetadataType;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
 import java.util.Arrays;
 import java.util.EnumMap;
@@ -105,8 +107,10 @@ public abstract class OneDReader implements Reader {
     int width = image.getWidth();
     int height = image.getHeight();
     BitArray row = new BitArray(width);
+    RunLengthRow reversedRuns = new RunLengthRow();
 
     boolean tryHarder = hints != null && hints.containsKey(DecodeHintType.TRY_HARDER);
+    CancellationToken cancellation = CancellationToken.fromHints(hints);
     int rowStep = Math.max(1, height >> (tryHarder ? 8 : 5));
     int maxLines;
     if (tryHarder) {
@@ -117,6 +121,7 @@ public abstract class OneDReader implements Reader {
 
     int middle = height / 2;
     for (int x = 0; x < maxLines; x++) {
+      CancellationToken.check(cancellation);
 
       // Scanning from the middle out. Determine which row we're looking at next:
       int rowStepsAboveOrBelow = (x + 1) / 2;
@@ -127,18 +132,23 @@ public abstract class OneDReader implements Reader {
         break;
       }
 
-      // Estimate black point for this row and load it:
+      // Estimate black point for this row and load it. The runs are shared with any other reader
+      // decoding the same image.
+      RunLengthRow runs;
       try {
-        row = image.getBlackRow(rowNumber, row);
+        runs = image.getBlackRowRuns(rowNumber);
       } catch (NotFoundException ignored) {
         continue;
       }
+      row = runs.toBitArray(row);
 
       // While we have the image data in a BitArray, it's fairly cheap to reverse it in place to
       // handle decoding upside down barcodes.
       for (int attempt = 0; attempt < 2; attempt++) {
         if (attempt == 1) { // trying again?
           row.reverse(); // reverse the row and continue
+          reversedRuns.setReversed(runs);
+          runs = reversedRuns;
           // This means we will only ever draw result points *once* in the life of this method
           // since we want to avoid drawing the wrong points after flipping the row, and,
           // don't want to clutter with noise from every single row scan -- just the scans
@@ -152,7 +162,7 @@ public abstract class OneDReader implements Reader {
         }
         try {
           // Look for a barcode
-          Result result = decodeRow(rowNumber, row, hints);
+          Result result = decodeRow(rowNumber, row, runs, hints);
           // We found our barcode
           if (attempt == 1) {
             // But it was upside down, so note that
@@ -192,46 +202,45 @@ public abstract class OneDReader implements Reader {
                                       int[] counters) throws NotFoundException {
     int numCounters = counters.length;
     Arrays.fill(counters, 0, numCounters, 0);
-    int end = row.getSize();
-    if (start >= end) {
+    if (start >= row.getSize()) {
       throw NotFoundException.getNotFoundInstance();
     }
-    boolean isWhite = !row.get(start);
-    int counterPosition = 0;
-    int i = start;
-    while (i < end) {
-      if (row.get(i) != isWhite) {
-        counters[counterPosition]++;
-      } else {
-        if (++counterPosition == numCounters) {
-          break;
-        } else {
-          counters[counterPosition] = 1;
-          isWhite = !isWhite;
-        }
-      }
-      i++;
+    // Filling all counters is OK even if the last one ran off the side of the image; filling
+    // fewer means the row ended too soon.
+    if (row.getRunLengths(start, counters) < numCounters) {
+      throw NotFoundException.getNotFoundInstance();
     }
-    // If we read fully the last section of pixels and filled up our counters -- or filled
-    // the last counter but ran off the side of the image, OK. Otherwise, a problem.
-    if (!(counterPosition == numCounters || (counterPosition == numCounters - 1 && i == end))) {
+  }
+
+  /**
+   * Like {@link #recordPattern(BitArray, int, int[])}, but reads the counts straight off the runs.
+   *
+   * @param runs row to count from
+   * @param start offset into row to start at
+   * @param counters array into which to record counts
+   * @throws NotFoundException if counters cannot be filled entirely from row before running out
+   *  of pixels
+   */
+  protected static void recordPattern(RunLengthRow runs,
+                                      int start,
+                                      int[] counters) throws NotFoundException {
+    int numCounters = counters.length;
+    Arrays.fill(counters, 0, numCounters, 0);
+    if (runs.getRunLengths(start, counters) < numCounters) {
       throw NotFoundException.getNotFoundInstance();
     }
   }
 
   protected static void recordPatternInReverse(BitArray row, int start, int[] counters)
       throws NotFoundException {
-    // This could be more efficient I guess
-    int numTransitionsLeft = counters.length;
+    // Step back over counters.length runs, to the last pixel of the run before them
     boolean last = row.get(start);
-    while (start > 0 && numTransitionsLeft >= 0) {
-      if (row.get(--start) != last) {
-        numTransitionsLeft--;
-        last = !last;
+    for (int i = 0; i <= counters.length; i++) {
+      start = last ? row.getPreviousUnset(start) : row.getPreviousSet(start);
+      if (start < 0) {
+        throw NotFoundException.getNotFoundInstance();
       }
-    }
-    if (numTransitionsLeft >= 0) {
-      throw NotFoundException.getNotFoundInstance();
+      last = !last;
     }
     recordPattern(row, start + 1, counters);
   }
@@ -293,4 +302,23 @@ public abstract class OneDReader implements Reader {
   public abstract Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints)
       throws NotFoundException, ChecksumException, FormatException;
 
+  /**
+   * <p>Like {@link #decodeRow(int, BitArray, Map)}, but also passes the row as runs of black and
+   * white pixels, worked out once per row and shared by all readers. Readers that search for bar
+   * patterns run by run override this; the default ignores the runs.</p>
+   *
+   * @param rowNumber row number from top of the row
+   * @param row the black/white pixel data of the row
+   * @param runs the same row as runs, which must not be modified
+   * @param hints decode hints
+   * @return {@link Result} containing encoded string and start/end of barcode
+   * @throws NotFoundException if no potential barcode is found
+   * @throws ChecksumException if a potential barcode is found but does not pass its checksum
+   * @throws FormatException if a potential barcode is found but format is invalid
+   */
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException, ChecksumException, FormatException {
+    return decodeRow(rowNumber, row, hints);
+  }
+
 }
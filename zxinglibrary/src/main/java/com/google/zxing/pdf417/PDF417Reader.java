@@ -18,6 +18,7 @@ package com.google.zxing.pdf417;
 
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.BinaryBitmap;
+import com.google.zxing.CancellationToken;
 import com.google.zxing.ChecksumException;
 import com.google.zxing.DecodeHintType;
 import com.google.zxing.FormatException;
@@ -29,6 +30,7 @@ import com.google.zxing.ResultPoint;
 import com.google.zxing.common.DecoderResult;
 import com.google.zxing.multi.MultipleBarcodeReader;
 import com.google.zxing.pdf417.decoder.PDF417ScanningDecoder;
+import com.google.zxing.pdf417.decoder.ec.ErrorCorrection;
 import com.google.zxing.pdf417.detector.Detector;
 import com.google.zxing.pdf417.detector.PDF417DetectorResult;
 
@@ -44,6 +46,8 @@ import java.util.Map;
 public final class PDF417Reader implements Reader, MultipleBarcodeReader {
 
   private static final Result[] EMPTY_RESULT_ARRAY = new Result[0];
+  private static final ErrorCorrection BERLEKAMP_MASSEY =
+      new ErrorCorrection(ErrorCorrection.Algorithm.BERLEKAMP_MASSEY);
 
   /**
    * Locates and decodes a PDF417 code in an image.
@@ -85,9 +89,12 @@ public final class PDF417Reader implements Reader, MultipleBarcodeReader {
       throws NotFoundException, FormatException, ChecksumException {
     List<Result> results = new ArrayList<>();
     PDF417DetectorResult detectorResult = Detector.detect(image, hints, multiple);
+    ErrorCorrection errorCorrection = hints != null && hints.containsKey(DecodeHintType.PDF417_BERLEKAMP_MASSEY) ?
+        BERLEKAMP_MASSEY : null;
     for (ResultPoint[] points : detectorResult.getPoints()) {
       DecoderResult decoderResult = PDF417ScanningDecoder.decode(detectorResult.getBits(), points[4], points[5],
-          points[6], points[7], getMinCodewordWidth(points), getMaxCodewordWidth(points));
+          points[6], points[7], getMinCodewordWidth(points), getMaxCodewordWidth(points),
+          CancellationToken.fromHints(hints), errorCorrection);
       Result result = new Result(decoderResult.getText(), decoderResult.getRawBytes(), points, BarcodeFormat.PDF_417);
       result.putMetadata(ResultMetadataType.ERROR_CORRECTION_LEVEL, decoderResult.getECLevel());
       PDF417ResultMetadata pdf417ResultMetadata = (PDF417ResultMetadata) decoderResult.getOther();
@@ -16,6 +16,7 @@
 
 package com.google.zxing.pdf417.decoder;
 
+import com.google.zxing.CancellationToken;
 import com.google.zxing.ChecksumException;
 import com.google.zxing.FormatException;
 import com.google.zxing.NotFoundException;
@@ -56,6 +57,45 @@ public final class PDF417ScanningDecoder {
                                      ResultPoint imageBottomRight,
                                      int minCodewordWidth,
                                      int maxCodewordWidth) throws NotFoundException, FormatException, ChecksumException {
+    return decode(image, imageTopLeft, imageBottomLeft, imageTopRight, imageBottomRight, minCodewordWidth,
+        maxCodewordWidth, null);
+  }
+
+  /**
+   * Like {@link #decode(BitMatrix, ResultPoint, ResultPoint, ResultPoint, ResultPoint, int, int)}, but gives up with
+   * a {@link NotFoundException} once the given token is cancelled, which is checked for every barcode column and
+   * every error correction attempt.
+   */
+  public static DecoderResult decode(BitMatrix image,
+                                     ResultPoint imageTopLeft,
+                                     ResultPoint imageBottomLeft,
+                                     ResultPoint imageTopRight,
+                                     ResultPoint imageBottomRight,
+                                     int minCodewordWidth,
+                                     int maxCodewordWidth,
+                                     CancellationToken cancellation)
+      throws NotFoundException, FormatException, ChecksumException {
+    return decode(image, imageTopLeft, imageBottomLeft, imageTopRight, imageBottomRight, minCodewordWidth,
+        maxCodewordWidth, cancellation, null);
+  }
+
+  /**
+   * Like {@link #decode(BitMatrix, ResultPoint, ResultPoint, ResultPoint, ResultPoint, int, int, CancellationToken)},
+   * but corrects errors with the given {@link ErrorCorrection}, or the default Euclidean one if null.
+   */
+  public static DecoderResult decode(BitMatrix image,
+                                     ResultPoint imageTopLeft,
+                                     ResultPoint imageBottomLeft,
+                                     ResultPoint imageTopRight,
+                                     ResultPoint imageBottomRight,
+                                     int minCodewordWidth,
+                                     int maxCodewordWidth,
+                                     CancellationToken cancellation,
+                                     ErrorCorrection errorCorrection)
+      throws NotFoundException, FormatException, ChecksumException {
+    if (errorCorrection == null) {
+      errorCorrection = PDF417ScanningDecoder.errorCorrection;
+    }
     BoundingBox boundingBox = new BoundingBox(image, imageTopLeft, imageBottomLeft, imageTopRight, imageBottomRight);
     DetectionResultRowIndicatorColumn leftRowIndicatorColumn = null;
     DetectionResultRowIndicatorColumn rightRowIndicatorColumn = null;
@@ -88,6 +128,7 @@ public final class PDF417ScanningDecoder {
 
     boolean leftToRight = leftRowIndicatorColumn != null;
     for (int barcodeColumnCount = 1; barcodeColumnCount <= maxBarcodeColumn; barcodeColumnCount++) {
+      CancellationToken.check(cancellation);
       int barcodeColumn = leftToRight ? barcodeColumnCount : maxBarcodeColumn - barcodeColumnCount;
       if (detectionResult.getDetectionResultColumn(barcodeColumn) != null) {
         // This will be the case for the opposite row indicator column, which doesn't need to be decoded again.
@@ -121,7 +162,7 @@ public final class PDF417ScanningDecoder {
         }
       }
     }
-    return createDecoderResult(detectionResult);
+    return createDecoderResult(detectionResult, cancellation, errorCorrection);
   }
 
   private static DetectionResult merge(DetectionResultRowIndicatorColumn leftRowIndicatorColumn,
@@ -251,7 +292,9 @@ public final class PDF417ScanningDecoder {
     }
   }
 
-  private static DecoderResult createDecoderResult(DetectionResult detectionResult) throws FormatException,
+  private static DecoderResult createDecoderResult(DetectionResult detectionResult,
+                                                   CancellationToken cancellation,
+                                                   ErrorCorrection errorCorrection) throws FormatException,
           ChecksumException, NotFoundException {
     BarcodeValue[][] barcodeMatrix = createBarcodeMatrix(detectionResult);
     adjustCodewordCount(detectionResult, barcodeMatrix);
@@ -278,7 +321,8 @@ public final class PDF417ScanningDecoder {
       ambiguousIndexValues[i] = ambiguousIndexValuesList.get(i);
     }
     return createDecoderResultFromAmbiguousValues(detectionResult.getBarcodeECLevel(), codewords,
-        PDF417Common.toIntArray(erasures), PDF417Common.toIntArray(ambiguousIndexesList), ambiguousIndexValues);
+        PDF417Common.toIntArray(erasures), PDF417Common.toIntArray(ambiguousIndexesList), ambiguousIndexValues,
+        cancellation, errorCorrection);
   }
 
   /**
@@ -293,22 +337,27 @@ public final class PDF417ScanningDecoder {
    * @param ambiguousIndexes array with the indexes that have more than one most likely value
    * @param ambiguousIndexValues two dimensional array that contains the ambiguous values. The first dimension must
    * be the same length as the ambiguousIndexes array
+   * @param cancellation checked before every attempt; may be null
+   * @param errorCorrection corrects the codewords of each attempt
    */
   private static DecoderResult createDecoderResultFromAmbiguousValues(int ecLevel,
                                                                       int[] codewords,
                                                                       int[] erasureArray,
                                                                       int[] ambiguousIndexes,
-                                                                      int[][] ambiguousIndexValues)
-      throws FormatException, ChecksumException {
+                                                                      int[][] ambiguousIndexValues,
+                                                                      CancellationToken cancellation,
+                                                                      ErrorCorrection errorCorrection)
+      throws FormatException, ChecksumException, NotFoundException {
     int[] ambiguousIndexCount = new int[ambiguousIndexes.length];
 
     int tries = 100;
     while (tries-- > 0) {
+      CancellationToken.check(cancellation);
       for (int i = 0; i < ambiguousIndexCount.length; i++) {
         codewords[ambiguousIndexes[i]] = ambiguousIndexValues[i][ambiguousIndexCount[i]];
       }
       try {
-        return decodeCodewords(codewords, ecLevel, erasureArray);
+        return decodeCodewords(codewords, ecLevel, erasureArray, errorCorrection);
       } catch (ChecksumException ignored) {
         //
       }
@@ -522,14 +571,17 @@ public final class PDF417ScanningDecoder {
         codewordSize <= maxCodewordWidth + CODEWORD_SKEW_SIZE;
   }
 
-  private static DecoderResult decodeCodewords(int[] codewords, int ecLevel, int[] erasures) throws FormatException,
+  private static DecoderResult decodeCodewords(int[] codewords,
+                                               int ecLevel,
+                                               int[] erasures,
+                                               ErrorCorrection errorCorrection) throws FormatException,
           ChecksumException {
     if (codewords.length == 0) {
       throw FormatException.getFormatInstance();
     }
 
     int numECCodewords = 1 << (ecLevel + 1);
-    int correctedErrorsCount = correctErrors(codewords, erasures, numECCodewords);
+    int correctedErrorsCount = correctErrors(codewords, erasures, numECCodewords, errorCorrection);
     verifyCodewordCount(codewords, numECCodewords);
 
     // Decode the codewords
@@ -546,9 +598,13 @@ public final class PDF417ScanningDecoder {
    * @param codewords   data and error correction codewords
    * @param erasures positions of any known erasures
    * @param numECCodewords number of error correction codewords that are available in codewords
+   * @param errorCorrection the error correction implementation to use
    * @throws ChecksumException if error correction fails
    */
-  private static int correctErrors(int[] codewords, int[] erasures, int numECCodewords) throws ChecksumException {
+  private static int correctErrors(int[] codewords,
+                                   int[] erasures,
+                                   int numECCodewords,
+                                   ErrorCorrection errorCorrection) throws ChecksumException {
     if (erasures != null &&
         erasures.length > numECCodewords / 2 + MAX_ERRORS ||
         numECCodewords < 0 ||
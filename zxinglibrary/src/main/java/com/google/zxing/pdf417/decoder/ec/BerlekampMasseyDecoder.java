@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.pdf417.decoder.ec;
+
+import com.google.zxing.ChecksumException;
+
+/**
+ * <p>PDF417 error correction by the Berlekamp-Massey algorithm, followed by Chien's search and
+ * Forney's formula. Polynomials are plain coefficient arrays, lowest degree first, allocated once
+ * per call, and all arithmetic goes through the field's log and exp tables.</p>
+ *
+ * <p>Unlike the Euclidean decoder, this one uses the known erasures: the error locator starts out as
+ * the erasure locator, so that e errors and f erasures can be corrected as long as
+ * 2e + f &lt;= number of EC codewords. Chien's search also only tries the positions that exist in
+ * the received codewords, rather than every element of the field.</p>
+ *
+ * <p>Holds no state between calls, so can be shared between threads.</p>
+ */
+final class BerlekampMasseyDecoder {
+
+  private final int modulus;
+  // modulus - 1, the order of the multiplicative group
+  private final int order;
+  private final int[] expTable;
+  private final int[] logTable;
+
+  BerlekampMasseyDecoder(ModulusGF field) {
+    modulus = field.getSize();
+    order = modulus - 1;
+    expTable = field.getExpTable();
+    logTable = field.getLogTable();
+  }
+
+  /**
+   * @see ErrorCorrection#decode(int[], int, int[])
+   */
+  int decode(int[] received, int numECCodewords, int[] erasures) throws ChecksumException {
+    // syndromes[j] = received(3^(j + 1))
+    int[] syndromes = new int[numECCodewords];
+    boolean error = false;
+    for (int j = 0; j < numECCodewords; j++) {
+      int eval = received[0];
+      for (int i = 1; i < received.length; i++) {
+        eval = add(multiplyByLog(eval, j + 1), received[i]);
+      }
+      syndromes[j] = eval;
+      if (eval != 0) {
+        error = true;
+      }
+    }
+    if (!error) {
+      return 0;
+    }
+
+    int numErasures = erasures == null ? 0 : erasures.length;
+    if (numErasures > numECCodewords) {
+      throw ChecksumException.getChecksumInstance();
+    }
+
+    // The error locator lambda(x) = product of (1 - X x) over error locations X, where the location of
+    // position p is 3^(received.length - 1 - p). Start from the erasures, which are known locations.
+    int[] lambda = new int[numECCodewords + 1];
+    lambda[0] = 1;
+    int lambdaDegree = 0;
+    for (int k = 0; k < numErasures; k++) {
+      int logX = received.length - 1 - erasures[k];
+      for (int i = ++lambdaDegree; i > 0; i--) {
+        lambda[i] = subtract(lambda[i], multiplyByLog(lambda[i - 1], logX));
+      }
+    }
+
+    int[] previous = new int[numECCodewords + 1];
+    System.arraycopy(lambda, 0, previous, 0, lambdaDegree + 1);
+    int previousDegree = lambdaDegree;
+    int[] temp = new int[numECCodewords + 1];
+    int length = numErasures;
+    int shift = 1;
+    int previousDiscrepancy = 1;
+    for (int n = numErasures; n < numECCodewords; n++) {
+      int discrepancy = syndromes[n];
+      for (int i = 1; i <= lambdaDegree && i <= n; i++) {
+        discrepancy = add(discrepancy, multiply(lambda[i], syndromes[n - i]));
+      }
+      if (discrepancy == 0) {
+        shift++;
+        continue;
+      }
+      // lambda(x) -= (discrepancy / previousDiscrepancy) x^shift previous(x)
+      int logScale = logTable[discrepancy] + order - logTable[previousDiscrepancy];
+      if (2 * length <= n + numErasures) {
+        System.arraycopy(lambda, 0, temp, 0, lambdaDegree + 1);
+        int tempDegree = lambdaDegree;
+        lambdaDegree = update(lambda, lambdaDegree, previous, previousDegree, shift, logScale);
+        int[] swap = previous;
+        previous = temp;
+        temp = swap;
+        previousDegree = tempDegree;
+        length = n + 1 + numErasures - length;
+        previousDiscrepancy = discrepancy;
+        shift = 1;
+      } else {
+        lambdaDegree = update(lambda, lambdaDegree, previous, previousDegree, shift, logScale);
+        shift++;
+      }
+    }
+    if (lambdaDegree != length || 2 * length - numErasures > numECCodewords) {
+      throw ChecksumException.getChecksumInstance();
+    }
+
+    // Chien's search, over the positions of the received codewords: position p is in error if
+    // lambda(3^-(received.length - 1 - p)) == 0
+    int[] errorLogs = new int[lambdaDegree];
+    int numErrors = 0;
+    for (int logX = 0; logX < received.length && numErrors < lambdaDegree; logX++) {
+      if (evaluateAt(lambda, lambdaDegree, order - logX) == 0) {
+        errorLogs[numErrors++] = logX;
+      }
+    }
+    if (numErrors != lambdaDegree) {
+      throw ChecksumException.getChecksumInstance();
+    }
+
+    // omega(x) = syndromes(x) lambda(x) mod x^numECCodewords
+    int omegaDegree = numECCodewords - 1;
+    int[] omega = new int[omegaDegree + 1];
+    for (int i = 0; i <= lambdaDegree; i++) {
+      if (lambda[i] != 0) {
+        int logLambda = logTable[lambda[i]];
+        for (int j = 0; i + j <= omegaDegree; j++) {
+          omega[i + j] = add(omega[i + j], multiplyByLog(syndromes[j], logLambda));
+        }
+      }
+    }
+
+    // The formal derivative of lambda, for Forney's formula
+    int[] derivative = new int[Math.max(1, lambdaDegree)];
+    for (int i = 1; i <= lambdaDegree; i++) {
+      derivative[i - 1] = multiply(i % modulus, lambda[i]);
+    }
+
+    // Forney: the error at location X is -omega(1/X) / lambda'(1/X)
+    int[] magnitudes = new int[numErrors];
+    for (int e = 0; e < numErrors; e++) {
+      int logXInverse = order - errorLogs[e];
+      int denominator = evaluateAt(derivative, lambdaDegree - 1, logXInverse);
+      if (denominator == 0) {
+        throw ChecksumException.getChecksumInstance();
+      }
+      int numerator = subtract(0, evaluateAt(omega, omegaDegree, logXInverse));
+      magnitudes[e] = multiplyByLog(numerator, order - logTable[denominator]);
+    }
+    for (int e = 0; e < numErrors; e++) {
+      int position = received.length - 1 - errorLogs[e];
+      received[position] = subtract(received[position], magnitudes[e]);
+    }
+    return numErrors;
+  }
+
+  /**
+   * Sets a(x) = a(x) - 3^logScale x^shift b(x).
+   *
+   * @return new degree of a
+   */
+  private int update(int[] a, int aDegree, int[] b, int bDegree, int shift, int logScale) {
+    int degree = Math.max(aDegree, bDegree + shift);
+    for (int i = aDegree + 1; i <= degree; i++) {
+      a[i] = 0;
+    }
+    for (int i = 0; i <= bDegree; i++) {
+      a[i + shift] = subtract(a[i + shift], multiplyByLog(b[i], logScale));
+    }
+    while (degree > 0 && a[degree] == 0) {
+      degree--;
+    }
+    return degree;
+  }
+
+  private int evaluateAt(int[] coefficients, int degree, int logA) {
+    int result = coefficients[degree];
+    for (int i = degree - 1; i >= 0; i--) {
+      result = add(multiplyByLog(result, logA), coefficients[i]);
+    }
+    return result;
+  }
+
+  private int add(int a, int b) {
+    int sum = a + b;
+    return sum >= modulus ? sum - modulus : sum;
+  }
+
+  private int subtract(int a, int b) {
+    int difference = a - b;
+    return difference < 0 ? difference + modulus : difference;
+  }
+
+  private int multiply(int a, int b) {
+    if (b == 0) {
+      return 0;
+    }
+    return multiplyByLog(a, logTable[b]);
+  }
+
+  /**
+   * @return a * 3^logB, for any non-negative logB below 2 * (modulus - 1)
+   */
+  private int multiplyByLog(int a, int logB) {
+    if (a == 0) {
+      return 0;
+    }
+    int log = logTable[a] + logB;
+    if (log >= order) {
+      log -= order;
+      if (log >= order) {
+        log -= order;
+      }
+    }
+    return expTable[log];
+  }
+
+}
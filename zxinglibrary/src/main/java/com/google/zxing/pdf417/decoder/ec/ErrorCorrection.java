@@ -29,10 +29,29 @@ import com.google.zxing.ChecksumException;
  */
 public final class ErrorCorrection {
 
+  /**
+   * How the error locator is found.
+   */
+  public enum Algorithm {
+    /** Extended Euclidean algorithm on {@code ModulusPoly}; ignores erasures. */
+    EUCLIDEAN,
+    /**
+     * Berlekamp-Massey on primitive arrays; uses erasures and is much faster on codes with many EC
+     * codewords.
+     */
+    BERLEKAMP_MASSEY,
+  }
+
   private final ModulusGF field;
+  private final BerlekampMasseyDecoder berlekampMassey;
 
   public ErrorCorrection() {
+    this(Algorithm.EUCLIDEAN);
+  }
+
+  public ErrorCorrection(Algorithm algorithm) {
     this.field = ModulusGF.PDF417_GF;
+    berlekampMassey = algorithm == Algorithm.BERLEKAMP_MASSEY ? new BerlekampMasseyDecoder(field) : null;
   }
 
   /**
@@ -45,6 +64,9 @@ public final class ErrorCorrection {
   public int decode(int[] received,
                     int numECCodewords,
                     int[] erasures) throws ChecksumException {
+    if (berlekampMassey != null) {
+      return berlekampMassey.decode(received, numECCodewords, erasures);
+    }
 
     ModulusPoly poly = new ModulusPoly(field, received);
     int[] S = new int[numECCodewords];
@@ -105,6 +105,20 @@ public final class ModulusGF {
     return expTable[(logTable[a] + logTable[b]) % (modulus - 1)];
   }
 
+  /**
+   * @return table of 3 to the power of i modulo the modulus, for i in [0, modulus)
+   */
+  int[] getExpTable() {
+    return expTable;
+  }
+
+  /**
+   * @return table of base 3 logs modulo the modulus; entry 0 is meaningless
+   */
+  int[] getLogTable() {
+    return logTable;
+  }
+
   int getSize() {
     return modulus;
   }
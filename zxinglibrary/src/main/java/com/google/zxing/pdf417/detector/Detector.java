@@ -17,6 +17,7 @@
 package com.google.zxing.pdf417.detector;
 
 import com.google.zxing.BinaryBitmap;
+import com.google.zxing.CancellationToken;
 import com.google.zxing.DecodeHintType;
 import com.google.zxing.NotFoundException;
 import com.google.zxing.ResultPoint;
@@ -76,11 +77,13 @@ public final class Detector {
     // different binarizers
     //boolean tryHarder = hints != null && hints.containsKey(DecodeHintType.TRY_HARDER);
 
+    CancellationToken cancellation = CancellationToken.fromHints(hints);
     BitMatrix bitMatrix = image.getBlackMatrix();
 
     List<ResultPoint[]> barcodeCoordinates = detect(multiple, bitMatrix);
     // Try 180, 270, 90 degree rotations, in that order
     for (int rotate = 0; barcodeCoordinates.isEmpty() && rotate < 3; rotate++) {
+      CancellationToken.check(cancellation);
       bitMatrix = bitMatrix.clone();
       if (rotate != 1) {
         bitMatrix.rotate180();
@@ -22,10 +22,11 @@ import com.google.zxing.FormatException;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.common.DecoderResult;
 import com.google.zxing.common.reedsolomon.GenericGF;
-import com.google.zxing.common.reedsolomon.ReedSolomonDecoder;
 import com.google.zxing.common.reedsolomon.ReedSolomonException;
+import com.google.zxing.common.reedsolomon.ReusableReedSolomonDecoder;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * <p>The main class which implements QR Code decoding -- as opposed to locating and extracting
@@ -35,10 +36,10 @@ import java.util.Map;
  */
 public final class Decoder {
 
-  private final ReedSolomonDecoder rsDecoder;
+  private final ReusableReedSolomonDecoder rsDecoder;
 
   public Decoder() {
-    rsDecoder = new ReedSolomonDecoder(GenericGF.QR_CODE_FIELD_256);
+    rsDecoder = new ReusableReedSolomonDecoder(GenericGF.QR_CODE_FIELD_256);
   }
 
   public DecoderResult decode(boolean[][] image) throws ChecksumException, FormatException {
@@ -143,15 +144,17 @@ public final class Decoder {
       totalBytes += dataBlock.getNumDataCodewords();
     }
     byte[] resultBytes = new byte[totalBytes];
-    int resultOffset = 0;
 
-    // Error-correct and copy data blocks together into a stream of bytes
-    for (DataBlock dataBlock : dataBlocks) {
-      byte[] codewordBytes = dataBlock.getCodewords();
-      int numDataCodewords = dataBlock.getNumDataCodewords();
-      correctErrors(codewordBytes, numDataCodewords);
-      for (int i = 0; i < numDataCodewords; i++) {
-        resultBytes[resultOffset++] = codewordBytes[i];
+    // Error-correct data blocks straight into their place in the stream of bytes
+    Executor executor = hints == null ? null : (Executor) hints.get(DecodeHintType.ERROR_CORRECTION_EXECUTOR);
+    if (executor != null && dataBlocks.length >= ParallelErrorCorrection.MIN_BLOCKS) {
+      new ParallelErrorCorrection(dataBlocks, resultBytes)
+          .correctErrors(executor, Runtime.getRuntime().availableProcessors());
+    } else {
+      int resultOffset = 0;
+      for (DataBlock dataBlock : dataBlocks) {
+        correctErrors(rsDecoder, dataBlock, resultBytes, resultOffset);
+        resultOffset += dataBlock.getNumDataCodewords();
       }
     }
 
@@ -161,29 +164,28 @@ public final class Decoder {
 
   /**
    * <p>Given data and error-correction codewords received, possibly corrupted by errors, attempts to
-   * correct the errors in-place using Reed-Solomon error correction.</p>
+   * correct the errors in-place using Reed-Solomon error correction, then copies the data bytes
+   * to the result.</p>
    *
-   * @param codewordBytes data and error correction codewords
-   * @param numDataCodewords number of codewords that are data bytes
+   * @param rsDecoder decoder to correct with, not used by any other thread at the same time
+   * @param dataBlock data and error correction codewords
+   * @param resultBytes receives the corrected data bytes
+   * @param resultOffset where in resultBytes the block's data bytes go
    * @throws ChecksumException if error correction fails
    */
-  private void correctErrors(byte[] codewordBytes, int numDataCodewords) throws ChecksumException {
-    int numCodewords = codewordBytes.length;
-    // First read into an array of ints
-    int[] codewordsInts = new int[numCodewords];
-    for (int i = 0; i < numCodewords; i++) {
-      codewordsInts[i] = codewordBytes[i] & 0xFF;
-    }
+  static void correctErrors(ReusableReedSolomonDecoder rsDecoder,
+                            DataBlock dataBlock,
+                            byte[] resultBytes,
+                            int resultOffset) throws ChecksumException {
+    byte[] codewordBytes = dataBlock.getCodewords();
+    int numDataCodewords = dataBlock.getNumDataCodewords();
     try {
-      rsDecoder.decode(codewordsInts, codewordBytes.length - numDataCodewords);
+      rsDecoder.decode(codewordBytes, codewordBytes.length - numDataCodewords);
     } catch (ReedSolomonException ignored) {
       throw ChecksumException.getChecksumInstance();
     }
-    // Copy back into array of bytes -- only need to worry about the bytes that were data
     // We don't care about errors in the error-correction codewords
-    for (int i = 0; i < numDataCodewords; i++) {
-      codewordBytes[i] = (byte) codewordsInts[i];
-    }
+    System.arraycopy(codewordBytes, 0, resultBytes, resultOffset, numDataCodewords);
   }
 
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.qrcode.decoder;
+
+import com.google.zxing.ChecksumException;
+import com.google.zxing.common.ParallelItems;
+import com.google.zxing.common.reedsolomon.GenericGF;
+import com.google.zxing.common.reedsolomon.ReusableReedSolomonDecoder;
+
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Error-corrects the data blocks of one QR Code on several threads, as {@link ParallelItems}.
+ * Each block's data bytes go straight to their place in the result.</p>
+ *
+ * @see Decoder#correctErrors(ReusableReedSolomonDecoder, DataBlock, byte[], int)
+ */
+final class ParallelErrorCorrection extends ParallelItems {
+
+  /** Fewer blocks than this aren't worth handing to other threads. */
+  static final int MIN_BLOCKS = 8;
+
+  private static final ThreadLocal<ReusableReedSolomonDecoder> RS_DECODERS =
+      new ThreadLocal<ReusableReedSolomonDecoder>() {
+        @Override
+        protected ReusableReedSolomonDecoder initialValue() {
+          return new ReusableReedSolomonDecoder(GenericGF.QR_CODE_FIELD_256);
+        }
+      };
+
+  private final DataBlock[] dataBlocks;
+  private final byte[] resultBytes;
+  private final int[] resultOffsets;
+  private volatile boolean failed;
+
+  ParallelErrorCorrection(DataBlock[] dataBlocks, byte[] resultBytes) {
+    super(dataBlocks.length);
+    this.dataBlocks = dataBlocks;
+    this.resultBytes = resultBytes;
+    resultOffsets = new int[dataBlocks.length];
+    int resultOffset = 0;
+    for (int i = 0; i < dataBlocks.length; i++) {
+      resultOffsets[i] = resultOffset;
+      resultOffset += dataBlocks[i].getNumDataCodewords();
+    }
+  }
+
+  /**
+   * Corrects all blocks, returning once they are done.
+   *
+   * @param threads most threads to correct blocks on, the calling thread included
+   * @throws ChecksumException if any block can't be corrected
+   */
+  void correctErrors(Executor executor, int threads) throws ChecksumException {
+    run(executor, threads);
+    if (failed) {
+      throw ChecksumException.getChecksumInstance();
+    }
+  }
+
+  @Override
+  protected void process(int block) {
+    // Once one block has failed, the rest are wasted work
+    if (failed) {
+      return;
+    }
+    try {
+      Decoder.correctErrors(RS_DECODERS.get(), dataBlocks[block], resultBytes, resultOffsets[block]);
+    } catch (ChecksumException ignored) {
+      failed = true;
+    }
+  }
+
+}
@@ -16,8 +16,7 @@
 
 package com.google.zxing.qrcode.detector;
 
-import android.os.Build;
-
+import com.google.zxing.CancellationToken;
 import com.google.zxing.DecodeHintType;
 import com.google.zxing.NotFoundException;
 import com.google.zxing.ResultPoint;
@@ -49,6 +48,9 @@ public class FinderPatternFinder {
 
   private final BitMatrix image;
   private final List<FinderPattern> possibleCenters;
+  private final FinderPatternIndex possibleCenterIndex;
+  // Set once possibleCenters may have been reordered or changed other than through the index
+  private boolean possibleCenterIndexStale;
   private boolean hasSkipped;
   private final int[] crossCheckStateCount;
   private final ResultPointCallback resultPointCallback;
@@ -65,6 +67,7 @@ public class FinderPatternFinder {
   public FinderPatternFinder(BitMatrix image, ResultPointCallback resultPointCallback) {
     this.image = image;
     this.possibleCenters = new ArrayList<>();
+    this.possibleCenterIndex = new FinderPatternIndex(image.getWidth(), image.getHeight());
     this.crossCheckStateCount = new int[5];
     this.resultPointCallback = resultPointCallback;
   }
@@ -74,11 +77,14 @@ public class FinderPatternFinder {
   }
 
   protected final List<FinderPattern> getPossibleCenters() {
+    // The caller may reorder the list
+    possibleCenterIndexStale = true;
     return possibleCenters;
   }
 
   final FinderPatternInfo find(Map<DecodeHintType,?> hints) throws NotFoundException {
     boolean tryHarder = hints != null && hints.containsKey(DecodeHintType.TRY_HARDER);
+    CancellationToken cancellation = CancellationToken.fromHints(hints);
     int maxI = image.getHeight();
     int maxJ = image.getWidth();
     // We are looking for black/white/black/white/black modules in
@@ -96,6 +102,7 @@ public class FinderPatternFinder {
     boolean done = false;
     int[] stateCount = new int[5];
     for (int i = iSkip - 1; i < maxI && !done; i += iSkip) {
+      CancellationToken.check(cancellation);
       // Get a row of black/white values
       doClearCounts(stateCount);
       int currentState = 0;
@@ -518,19 +525,21 @@ public class FinderPatternFinder {
       centerJ = crossCheckHorizontal((int) centerJ, (int) centerI, stateCount[2], stateCountTotal);
       if (!Float.isNaN(centerJ) && crossCheckDiagonal((int) centerI, (int) centerJ)) {
         float estimatedModuleSize = stateCountTotal / 7.0f;
-        boolean found = false;
-        for (int index = 0; index < possibleCenters.size(); index++) {
-          FinderPattern center = possibleCenters.get(index);
-          // Look for about the same center and module size:
-          if (center.aboutEquals(estimatedModuleSize, centerI, centerJ)) {
-            possibleCenters.set(index, center.combineEstimate(centerI, centerJ, estimatedModuleSize));
-            found = true;
-            break;
-          }
+        if (possibleCenterIndexStale) {
+          possibleCenterIndex.rebuild(possibleCenters);
+          possibleCenterIndexStale = false;
         }
-        if (!found) {
+        // Look for about the same center and module size:
+        int index = possibleCenterIndex.find(possibleCenters, estimatedModuleSize, centerI, centerJ);
+        if (index >= 0) {
+          FinderPattern center = possibleCenters.get(index);
+          FinderPattern combined = center.combineEstimate(centerI, centerJ, estimatedModuleSize);
+          possibleCenters.set(index, combined);
+          possibleCenterIndex.move(index, center, combined);
+        } else {
           FinderPattern point = new FinderPattern(centerJ, centerI, estimatedModuleSize);
           possibleCenters.add(point);
+          possibleCenterIndex.add(point);
           if (resultPointCallback != null) {
             resultPointCallback.foundPossibleResultPoint(point);
           }
@@ -624,11 +633,8 @@ public class FinderPatternFinder {
       throw NotFoundException.getNotFoundInstance();
     }
 
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
-      possibleCenters.sort(moduleComparator);
-    }else {
-      Collections.sort(possibleCenters, moduleComparator);
-    }
+    Collections.sort(possibleCenters, moduleComparator);
+    possibleCenterIndexStale = true;
 
     double distortion = Double.MAX_VALUE;
     FinderPattern[] bestPatterns = new FinderPattern[3];
@@ -639,14 +645,18 @@ public class FinderPatternFinder {
 
       for (int j = i + 1; j < possibleCenters.size() - 1; j++) {
         FinderPattern fpj = possibleCenters.get(j);
+        if (fpj.getEstimatedModuleSize() > minModuleSize * 1.4f) {
+          // Sorted by module size, so neither this nor any later one is similar
+          break;
+        }
         double squares0 = squaredDistance(fpi, fpj);
 
         for (int k = j + 1; k < possibleCenters.size(); k++) {
           FinderPattern fpk = possibleCenters.get(k);
           float maxModuleSize = fpk.getEstimatedModuleSize();
           if (maxModuleSize > minModuleSize * 1.4f) {
-            // module size is not similar
-            continue;
+            // module size is not similar, nor will any later one's be
+            break;
           }
 
           double a = squares0;
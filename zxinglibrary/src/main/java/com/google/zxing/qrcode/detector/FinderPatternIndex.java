@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.qrcode.detector;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Grid over the image that buckets finder pattern candidates by where they are, so that a new
+ * estimate of a center is merged with the candidate it is {@link FinderPattern#aboutEquals} by
+ * looking only in the cells within one module size of it, rather than at every candidate.</p>
+ *
+ * <p>Candidates are referred to by their index in the finder's list, which the index mirrors;
+ * each cell is a linked list of indices. When two candidates match, the one earliest in the list
+ * wins, as with a scan of the whole list.</p>
+ */
+final class FinderPatternIndex {
+
+  // 32 pixels: a query, two module sizes wide, mostly stays within 2x2 cells
+  private static final int CELL_SIZE_POWER = 5;
+
+  private final int columns;
+  private final int rows;
+  // Per cell, the last candidate added to it, or -1
+  private final int[] heads;
+  // Per candidate, the one added to its cell before it, or -1
+  private int[] next;
+  private int size;
+
+  FinderPatternIndex(int width, int height) {
+    columns = Math.max(1, ((width - 1) >> CELL_SIZE_POWER) + 1);
+    rows = Math.max(1, ((height - 1) >> CELL_SIZE_POWER) + 1);
+    heads = new int[columns * rows];
+    next = new int[16];
+    clear();
+  }
+
+  void clear() {
+    Arrays.fill(heads, -1);
+    size = 0;
+  }
+
+  /**
+   * Indexes the candidates anew, after their list has been reordered or changed behind our back.
+   */
+  void rebuild(List<FinderPattern> centers) {
+    clear();
+    for (FinderPattern center : centers) {
+      add(center);
+    }
+  }
+
+  /**
+   * Indexes a candidate just added at the end of the list.
+   */
+  void add(FinderPattern center) {
+    if (size == next.length) {
+      next = Arrays.copyOf(next, 2 * size);
+    }
+    int cell = getCell(center.getX(), center.getY());
+    next[size] = heads[cell];
+    heads[cell] = size;
+    size++;
+  }
+
+  /**
+   * Re-indexes the candidate at {@code index} after its estimate moved from {@code from} to
+   * {@code to}.
+   */
+  void move(int index, FinderPattern from, FinderPattern to) {
+    int oldCell = getCell(from.getX(), from.getY());
+    int newCell = getCell(to.getX(), to.getY());
+    if (oldCell == newCell) {
+      return;
+    }
+    if (heads[oldCell] == index) {
+      heads[oldCell] = next[index];
+    } else {
+      int previous = heads[oldCell];
+      while (next[previous] != index) {
+        previous = next[previous];
+      }
+      next[previous] = next[index];
+    }
+    next[index] = heads[newCell];
+    heads[newCell] = index;
+  }
+
+  /**
+   * @return index of the first candidate in {@code centers} that about equals the given estimate,
+   *  or -1 if none does
+   */
+  int find(List<FinderPattern> centers, float moduleSize, float i, float j) {
+    int minColumn = getColumn(j - moduleSize);
+    int maxColumn = getColumn(j + moduleSize);
+    int minRow = getRow(i - moduleSize);
+    int maxRow = getRow(i + moduleSize);
+    int found = -1;
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        for (int index = heads[row * columns + column]; index >= 0; index = next[index]) {
+          if ((found < 0 || index < found) && centers.get(index).aboutEquals(moduleSize, i, j)) {
+            found = index;
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  private int getCell(float x, float y) {
+    return getRow(y) * columns + getColumn(x);
+  }
+
+  private int getColumn(float x) {
+    return Math.max(0, Math.min(columns - 1, (int) Math.floor(x) >> CELL_SIZE_POWER));
+  }
+
+  private int getRow(float y) {
+    return Math.max(0, Math.min(rows - 1, (int) Math.floor(y) >> CELL_SIZE_POWER));
+  }
+
+}
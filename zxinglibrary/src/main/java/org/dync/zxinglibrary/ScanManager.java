@@ -37,22 +37,20 @@ import android.view.WindowManager;
 import androidx.fragment.app.FragmentActivity;
 
 import com.google.zxing.BarcodeFormat;
-import com.google.zxing.BinaryBitmap;
 import com.google.zxing.DecodeHintType;
-import com.google.zxing.MultiFormatReader;
 import com.google.zxing.Result;
 import com.google.zxing.ResultPoint;
-import com.google.zxing.common.HybridBinarizer;
 
 import org.dync.zxinglibrary.callback.ScanListener;
 import org.dync.zxinglibrary.camera.CameraManager;
+import org.dync.zxinglibrary.decod.BatchDecoder;
 import org.dync.zxinglibrary.decod.CaptureActivityHandler;
 import org.dync.zxinglibrary.decod.DecodeThread;
+import org.dync.zxinglibrary.decod.LuminanceImageLoader;
+import org.dync.zxinglibrary.decod.PhotoDecoder;
 import org.dync.zxinglibrary.decod.PhotoScanHandler;
-import org.dync.zxinglibrary.decod.RGBLuminanceSource;
 import org.dync.zxinglibrary.hardware.AmbientLightManager;
 import org.dync.zxinglibrary.hardware.BeepManager;
-import org.dync.zxinglibrary.utils.BitmapUtils;
 import org.dync.zxinglibrary.utils.GestureDetectorUtil;
 import org.dync.zxinglibrary.utils.InactivityTimer;
 import org.dync.zxinglibrary.utils.PermissionUtil;
@@ -60,6 +58,7 @@ import org.dync.zxinglibrary.utils.PreferencesActivity;
 import org.dync.zxinglibrary.view.ViewfinderView;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -74,6 +73,11 @@ import java.util.Map;
 public class ScanManager {
 
     private static final String TAG = ScanManager.class.getSimpleName();
+    private static final long DEFAULT_DECODE_TIME_BUDGET = 300L;
+    private static final int DEFAULT_SCENE_CHANGE_THRESHOLD = 8;
+    private static final long DEFAULT_SCENE_RECHECK_INTERVAL = 1000L;
+    private static final int DEFAULT_MIN_FRAME_SHARPNESS = 60;
+    private static final int DEFAULT_MIN_FRAME_CONTRAST = 8;
 
     boolean isOpenLight = false;
     boolean playBeep = true;
@@ -94,6 +98,12 @@ public class ScanManager {
     private SurfaceHolder.Callback callback;
     private int scanMode;
     private boolean isCheckPermission = false;
+    private int decodeWorkerCount = defaultDecodeWorkerCount();
+    private long decodeTimeBudget = DEFAULT_DECODE_TIME_BUDGET;
+    private int sceneChangeThreshold = DEFAULT_SCENE_CHANGE_THRESHOLD;
+    private long sceneRecheckInterval = DEFAULT_SCENE_RECHECK_INTERVAL;
+    private int minFrameSharpness = DEFAULT_MIN_FRAME_SHARPNESS;
+    private int minFrameContrast = DEFAULT_MIN_FRAME_CONTRAST;
 
     public ScanListener scanListener;
     public final static int SCANTYPE_QR = 1;
@@ -288,7 +298,7 @@ public class ScanManager {
             new GestureDetectorUtil(surfaceView, cameraManager.getCamera().getCamera());
             // Creating the handler starts the preview, which can also throw a RuntimeException.
             if (handler == null) {
-                handler = new CaptureActivityHandler(this, null, null, null, cameraManager);
+                handler = new CaptureActivityHandler(this, null, null, null, cameraManager, decodeWorkerCount);
             }
             //解决授权camera权限扫描不出现问题
 //            restartPreviewAfterDelay(0);
@@ -381,6 +391,117 @@ public class ScanManager {
         return activity;
     }
 
+    /**
+     * 设置实时扫描的解码线程数，多个线程同时解码不同的预览帧，下次打开相机时生效
+     *
+     * @param count 解码线程数，至少为1
+     */
+    public void setDecodeWorkerCount(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1: " + count);
+        }
+        this.decodeWorkerCount = count;
+    }
+
+    public int getDecodeWorkerCount() {
+        return decodeWorkerCount;
+    }
+
+    /**
+     * 设置每一帧的解码时间上限，超时后放弃这一帧去解码下一帧，下次打开相机时生效
+     *
+     * @param millis 毫秒数，0 表示不限制
+     */
+    public void setDecodeTimeBudget(long millis) {
+        if (millis < 0L) {
+            throw new IllegalArgumentException("millis must not be negative: " + millis);
+        }
+        this.decodeTimeBudget = millis;
+    }
+
+    public long getDecodeTimeBudget() {
+        return decodeTimeBudget;
+    }
+
+    /**
+     * 设置画面变化阈值：上一帧解码失败后，画面中每一格的平均亮度（0-255）变化都不超过该值时，
+     * 认为画面没有变化，跳过解码，下次打开相机时生效
+     *
+     * @param threshold 亮度差，0 表示每一帧都解码
+     */
+    public void setSceneChangeThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+        }
+        this.sceneChangeThreshold = threshold;
+    }
+
+    public int getSceneChangeThreshold() {
+        return sceneChangeThreshold;
+    }
+
+    /**
+     * 设置画面没有变化时重新解码的间隔，以防对焦或曝光稳定后条码变得可以识别，下次打开相机时生效
+     *
+     * @param millis 毫秒数
+     */
+    public void setSceneRecheckInterval(long millis) {
+        if (millis < 0L) {
+            throw new IllegalArgumentException("millis must not be negative: " + millis);
+        }
+        this.sceneRecheckInterval = millis;
+    }
+
+    public long getSceneRecheckInterval() {
+        return sceneRecheckInterval;
+    }
+
+    /**
+     * 设置帧的最低清晰度（采样点拉普拉斯响应的方差），低于该值的模糊帧不解码，并会触发重新对焦，
+     * 下次打开相机时生效
+     *
+     * @param sharpness 清晰度，0 表示不检查
+     */
+    public void setMinFrameSharpness(int sharpness) {
+        if (sharpness < 0) {
+            throw new IllegalArgumentException("sharpness must not be negative: " + sharpness);
+        }
+        this.minFrameSharpness = sharpness;
+    }
+
+    public int getMinFrameSharpness() {
+        return minFrameSharpness;
+    }
+
+    /**
+     * 设置帧的最低对比度（采样点亮度的标准差），低于该值说明画面里没有条码，不解码，下次打开相机时生效
+     *
+     * @param contrast 对比度，0 表示不检查
+     */
+    public void setMinFrameContrast(int contrast) {
+        if (contrast < 0) {
+            throw new IllegalArgumentException("contrast must not be negative: " + contrast);
+        }
+        this.minFrameContrast = contrast;
+    }
+
+    public int getMinFrameContrast() {
+        return minFrameContrast;
+    }
+
+    /**
+     * @return 本次打开相机以来因模糊或对比度过低而没有解码的帧数
+     */
+    public long getRejectedFrameCount() {
+        return handler == null ? 0L : handler.getRejectedFrameCount();
+    }
+
+    private static int defaultDecodeWorkerCount() {
+        // Leave a core for the UI and camera callbacks
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(4, cores - 1));
+    }
+
     public void setScanType(int scanType) {
         this.scanMode = scanType;
         SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(activity);
@@ -418,6 +539,22 @@ public class ScanManager {
         return false;
     }
 
+    /**
+     * 批量识别图片，结果在解码线程中通过 callback 返回
+     *
+     * @param paths    图片路径
+     * @param callback 每张图片的结果和最后的统计
+     * @return 可用来查看进度或取消
+     */
+    public BatchDecoder scanningImages(List<String> paths, BatchDecoder.Callback callback) {
+        Map<DecodeHintType, Object> hints = copyDecodeHints();
+        //取景框上的特征点只属于相机预览
+        hints.remove(DecodeHintType.NEED_RESULT_POINT_CALLBACK);
+        BatchDecoder decoder = new BatchDecoder(hints);
+        decoder.decodePaths(paths, callback);
+        return decoder;
+    }
+
     /**
      * 用于扫描本地图片二维码或者一维码
      *
@@ -433,41 +570,35 @@ public class ScanManager {
 
             @Override
             public void run() {
-                //获取初始化的设置器
-                Map<DecodeHintType, Object> hints = DecodeThread.getHints();
-                hints.put(DecodeHintType.CHARACTER_SET, "utf-8");
-
-//				Hashtable<DecodeHintType, String> hints = new Hashtable<DecodeHintType, String>();
-
-                Bitmap bitmap = BitmapUtils.decodeBitmapFromPath(photo_path2, 600, 600, false);
-                Log.i(TAG, "run: bitmap w: " + bitmap.getWidth() + ", h: " + bitmap.getHeight());
-                RGBLuminanceSource source = new RGBLuminanceSource(bitmap);
-                BinaryBitmap bitmap1 = new BinaryBitmap(new HybridBinarizer(source));
-                MultiFormatReader multiFormatReader = new MultiFormatReader();
-                try {
-                    Message msg = Message.obtain();
+                Map<DecodeHintType, Object> hints = copyDecodeHints();
+
+                //直接按块解码成缩小的灰度图，不生成整张 Bitmap；找不到时再分块放大识别
+                Message msg = Message.obtain();
+                try (LuminanceImageLoader image = LuminanceImageLoader.open(photo_path2)) {
+                    msg.obj = new PhotoDecoder(hints).decode(image);
                     msg.what = PhotoScanHandler.PHOTODECODEOK;
-                    msg.obj = multiFormatReader.decode(bitmap1, hints);
-                    photoScanHandler.sendMessage(msg);
                 } catch (Exception e) {
-                    bitmap = BitmapUtils.decodeBitmapFromPath(photo_path2, 600, 600, true);
-                    Log.i(TAG, "run: bitmap w: " + bitmap.getWidth() + ", h: " + bitmap.getHeight());
-                    source = new RGBLuminanceSource(bitmap);
-                    bitmap1 = new BinaryBitmap(new HybridBinarizer(source));
-                    multiFormatReader = new MultiFormatReader();
-                    try {
-                        Message msg = Message.obtain();
-                        msg.what = PhotoScanHandler.PHOTODECODEOK;
-                        msg.obj = multiFormatReader.decode(bitmap1, hints);
-                        photoScanHandler.sendMessage(msg);
-                    } catch (Exception e1) {
-                        Message msg = Message.obtain();
-                        msg.what = PhotoScanHandler.PHOTODECODEERROR;
-                        msg.obj = new Exception("图片有误，或者图片模糊！");
-                        photoScanHandler.sendMessage(msg);
-                    }
+                    Log.i(TAG, "run: decode failed", e);
+                    msg.what = PhotoScanHandler.PHOTODECODEERROR;
+                    msg.obj = new Exception("图片有误，或者图片模糊！");
                 }
+                photoScanHandler.sendMessage(msg);
             }
         }).start();
     }
+
+    /**
+     * 获取初始化的设置器（识别的格式、字符集等），复制一份，不要改动扫码线程共用的设置；没有设置字符集时默认 utf-8
+     */
+    private static Map<DecodeHintType, Object> copyDecodeHints() {
+        Map<DecodeHintType, Object> hints = new EnumMap<>(DecodeHintType.class);
+        Map<DecodeHintType, Object> baseHints = DecodeThread.getHints();
+        if (baseHints != null) {
+            hints.putAll(baseHints);
+        }
+        if (!hints.containsKey(DecodeHintType.CHARACTER_SET)) {
+            hints.put(DecodeHintType.CHARACTER_SET, "utf-8");
+        }
+        return hints;
+    }
 }
@@ -20,6 +20,7 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.hardware.Camera;
 import android.os.AsyncTask;
+import android.os.SystemClock;
 import android.preference.PreferenceManager;
 import android.util.Log;
 
@@ -35,6 +36,8 @@ final class AutoFocusManager implements Camera.AutoFocusCallback {
   private static final String TAG = AutoFocusManager.class.getSimpleName();
 
   private static final long AUTO_FOCUS_INTERVAL_MS = 2000L;
+  private static final int BLURRED_FRAMES_BEFORE_REFOCUS = 6;
+  private static final long MIN_REFOCUS_INTERVAL_MS = 1000L;
   private static final Collection<String> FOCUS_MODES_CALLING_AF;
   static {
     FOCUS_MODES_CALLING_AF = new ArrayList<>(2);
@@ -44,6 +47,8 @@ final class AutoFocusManager implements Camera.AutoFocusCallback {
 
   private boolean stopped;
   private boolean focusing;
+  private int blurredFrames;
+  private long lastFocusStart;
   private final boolean useAutoFocus;
   private final Camera camera;
   private AsyncTask<?,?,?> outstandingTask;
@@ -62,9 +67,29 @@ final class AutoFocusManager implements Camera.AutoFocusCallback {
   @Override
   public synchronized void onAutoFocus(boolean success, Camera theCamera) {
     focusing = false;
+    // Judge the new lens position on its own frames
+    blurredFrames = 0;
     autoFocusAgainLater();
   }
 
+  /**
+   * Hears how sharp each decoded frame with something in view was. A run of blurred frames
+   * focuses again right away instead of waiting out the rest of the interval.
+   */
+  synchronized void onFrameSharpness(boolean sharp) {
+    if (sharp) {
+      blurredFrames = 0;
+      return;
+    }
+    if (++blurredFrames >= BLURRED_FRAMES_BEFORE_REFOCUS && useAutoFocus && !stopped && !focusing &&
+        SystemClock.uptimeMillis() - lastFocusStart >= MIN_REFOCUS_INTERVAL_MS) {
+      Log.i(TAG, "Refocusing after " + blurredFrames + " blurred frames");
+      blurredFrames = 0;
+      cancelOutstandingTask();
+      start();
+    }
+  }
+
   private synchronized void autoFocusAgainLater() {
     if (!stopped && outstandingTask == null) {
       AutoFocusTask newTask = new AutoFocusTask();
@@ -84,6 +109,7 @@ final class AutoFocusManager implements Camera.AutoFocusCallback {
         try {
           camera.autoFocus(this);
           focusing = true;
+          lastFocusStart = SystemClock.uptimeMillis();
         } catch (RuntimeException re) {
           // Have heard RuntimeException reported in Android 4.0.x+; continue?
           Log.w(TAG, "Unexpected exception while focusing", re);
@@ -29,6 +29,8 @@ import com.google.zxing.PlanarYUVLuminanceSource;
 import org.dync.zxinglibrary.camera.open.CameraFacing;
 import org.dync.zxinglibrary.camera.open.OpenCamera;
 import org.dync.zxinglibrary.camera.open.OpenCameraInterface;
+import org.dync.zxinglibrary.decod.LuminanceBufferPool;
+import org.dync.zxinglibrary.decod.RotatedPlanarYUVLuminanceSource;
 
 import java.io.IOException;
 
@@ -160,6 +162,16 @@ public final class CameraManager {
     }
   }
 
+  /**
+   * Reports whether a frame with something in view was sharp enough to decode, so that a run of
+   * blurred frames can trigger a refocus.
+   */
+  public synchronized void onFrameSharpness(boolean sharp) {
+    if (autoFocusManager != null) {
+      autoFocusManager.onFrameSharpness(sharp);
+    }
+  }
+
   /**
    * Tells the camera to stop drawing preview frames.
    */
@@ -363,4 +375,26 @@ public final class CameraManager {
                                         rect.width(), rect.height(), false);
   }
 
+  /**
+   * Like {@link #buildLuminanceSource(byte[], int, int)}, but for a frame that should be seen
+   * rotated 90 degrees clockwise in portrait mode. The rotation is done lazily over the framing
+   * rect only, and the luminance buffer comes from the given pool.
+   *
+   * @param data A preview frame, as delivered by the camera.
+   * @param width The width of the preview frame.
+   * @param height The height of the preview frame.
+   * @param rotate Whether the frame should be rotated to portrait.
+   * @param pool Pool to take the luminance buffer from.
+   * @return A RotatedPlanarYUVLuminanceSource instance.
+   */
+  public RotatedPlanarYUVLuminanceSource buildLuminanceSource(byte[] data, int width, int height,
+                                                              boolean rotate, LuminanceBufferPool pool) {
+    Rect rect = getFramingRectInPreview();
+    if (rect == null) {
+      return null;
+    }
+    return new RotatedPlanarYUVLuminanceSource(data, width, height, rect.left, rect.top,
+                                               rect.width(), rect.height(), rotate, pool);
+  }
+
 }
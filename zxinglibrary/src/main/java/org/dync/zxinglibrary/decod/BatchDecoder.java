@@ -0,0 +1,294 @@
+package org.dync.zxinglibrary.decod;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+
+import com.google.zxing.CancellationToken;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Result;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decodes a batch of image files, such as gallery picks or archived photos, on a fixed number of
+ * threads. Each thread keeps one {@link PhotoDecoder} for all the images it takes, and the threads
+ * pull images from a shared cursor, so memory stays bounded no matter how long the list.
+ *
+ * <p>Images are read with a {@link LuminanceImageLoader}, straight into a downsampled luminance
+ * plane, and tried at a pyramid of scales from coarse to fine, then in tiles at native resolution
+ * (see {@link PhotoDecoder}). Results are reported through {@link Callback} as they come, from
+ * the decoding threads; post to the main thread yourself if you touch views. {@link #getStats()}
+ * can be polled for progress and throughput at any time.</p>
+ *
+ * <p>A decoder runs a single batch.</p>
+ */
+public final class BatchDecoder {
+
+  /**
+   * Receives the outcome of every image, in completion order, then {@link #onFinished}.
+   */
+  public interface Callback {
+
+    void onDecoded(int index, Result result);
+
+    /**
+     * @param e a {@link NotFoundException} if the image was read but held no code, otherwise
+     *          the reason the image couldn't be read
+     */
+    void onFailed(int index, Exception e);
+
+    /**
+     * Called once after the last image, or once the remaining images are skipped after
+     * {@link #cancel()}.
+     */
+    void onFinished(Stats stats);
+  }
+
+  /**
+   * Throughput counters of a batch, as of when they were taken.
+   */
+  public static final class Stats {
+
+    private final int total;
+    private final int decoded;
+    private final int failed;
+    private final long elapsedNanos;
+    private final long loadNanos;
+    private final long decodeNanos;
+
+    Stats(int total, int decoded, int failed, long elapsedNanos, long loadNanos, long decodeNanos) {
+      this.total = total;
+      this.decoded = decoded;
+      this.failed = failed;
+      this.elapsedNanos = elapsedNanos;
+      this.loadNanos = loadNanos;
+      this.decodeNanos = decodeNanos;
+    }
+
+    public int getTotal() {
+      return total;
+    }
+
+    public int getDecoded() {
+      return decoded;
+    }
+
+    public int getFailed() {
+      return failed;
+    }
+
+    public int getProcessed() {
+      return decoded + failed;
+    }
+
+    /**
+     * @return wall time since the batch started
+     */
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /**
+     * @return time spent loading bitmaps, summed over threads
+     */
+    public long getLoadNanos() {
+      return loadNanos;
+    }
+
+    /**
+     * @return time spent in the reader, summed over threads
+     */
+    public long getDecodeNanos() {
+      return decodeNanos;
+    }
+
+    public float getImagesPerSecond() {
+      return elapsedNanos <= 0L ? 0.0f : getProcessed() * 1.0e9f / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return getProcessed() + "/" + total + " images, " + decoded + " decoded, " +
+          String.format(Locale.US, "%.1f", getImagesPerSecond()) + " images/s (load " +
+          loadNanos / 1000000L + " ms, decode " + decodeNanos / 1000000L + " ms)";
+    }
+  }
+
+  private interface Loader {
+    LuminanceImageLoader open(int index) throws IOException;
+  }
+
+  private final Map<DecodeHintType, Object> hints;
+  private final int threadCount;
+  private final int maxDimension;
+  private final CancellationToken cancellation = new CancellationToken();
+  private final AtomicInteger cursor = new AtomicInteger();
+  private final AtomicInteger decoded = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private final AtomicLong loadNanos = new AtomicLong();
+  private final AtomicLong decodeNanos = new AtomicLong();
+  private AtomicInteger runningWorkers;
+  private ExecutorService executor;
+  private volatile int total;
+  private volatile long startNanos;
+
+  /**
+   * @param hints        decode hints, copied; null decodes all formats with UTF-8 as the default
+   *                     character set. An executor under
+   *                     {@link DecodeHintType#ERROR_CORRECTION_EXECUTOR} lets large QR Codes
+   *                     correct their blocks in parallel
+   * @param threadCount  number of decoding threads
+   * @param maxDimension longest side images are downsampled to, see {@link PhotoDecoder}
+   */
+  public BatchDecoder(Map<DecodeHintType, ?> hints, int threadCount, int maxDimension) {
+    if (threadCount < 1) {
+      throw new IllegalArgumentException("threadCount must be at least 1: " + threadCount);
+    }
+    this.hints = new EnumMap<>(DecodeHintType.class);
+    if (hints != null) {
+      this.hints.putAll(hints);
+    } else {
+      this.hints.put(DecodeHintType.CHARACTER_SET, "utf-8");
+    }
+    this.hints.put(DecodeHintType.CANCELLATION_TOKEN, cancellation);
+    this.threadCount = threadCount;
+    this.maxDimension = maxDimension;
+  }
+
+  public BatchDecoder(Map<DecodeHintType, ?> hints) {
+    this(hints, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), PhotoDecoder.DEFAULT_MAX_DIMENSION);
+  }
+
+  /**
+   * Starts decoding image files.
+   */
+  public void decodePaths(final List<String> paths, Callback callback) {
+    final List<String> items = new ArrayList<>(paths);
+    start(items.size(), new Loader() {
+      @Override
+      public LuminanceImageLoader open(int index) throws IOException {
+        return LuminanceImageLoader.open(items.get(index));
+      }
+    }, callback);
+  }
+
+  /**
+   * Starts decoding images behind content or file URIs.
+   */
+  public void decodeUris(Context context, final List<Uri> uris, Callback callback) {
+    final ContentResolver resolver = context.getApplicationContext().getContentResolver();
+    final List<Uri> items = new ArrayList<>(uris);
+    start(items.size(), new Loader() {
+      @Override
+      public LuminanceImageLoader open(int index) throws IOException {
+        Uri uri = items.get(index);
+        try (InputStream in = resolver.openInputStream(uri)) {
+          if (in == null) {
+            throw new FileNotFoundException("Can't open " + uri);
+          }
+          return LuminanceImageLoader.open(in);
+        }
+      }
+    }, callback);
+  }
+
+  private synchronized void start(int total, Loader loader, Callback callback) {
+    if (executor != null) {
+      throw new IllegalStateException("A BatchDecoder runs a single batch");
+    }
+    this.total = total;
+    startNanos = System.nanoTime();
+    int workers = Math.max(1, Math.min(threadCount, total));
+    runningWorkers = new AtomicInteger(workers);
+    final AtomicInteger threadNumber = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "BatchDecoder-" + threadNumber.getAndIncrement());
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+      }
+    });
+    for (int i = 0; i < workers; i++) {
+      executor.execute(new Worker(loader, callback));
+    }
+    executor.shutdown();
+  }
+
+  /**
+   * Stops the batch: images not yet started are skipped, and images being decoded give up at the
+   * reader's next cancellation check. {@link Callback#onFinished} is still called.
+   */
+  public void cancel() {
+    cancellation.cancel();
+  }
+
+  public Stats getStats() {
+    long elapsed = startNanos == 0L ? 0L : System.nanoTime() - startNanos;
+    return new Stats(total, decoded.get(), failed.get(), elapsed, loadNanos.get(), decodeNanos.get());
+  }
+
+  private final class Worker implements Runnable {
+
+    private final Loader loader;
+    private final Callback callback;
+    private final PhotoDecoder decoder = new PhotoDecoder(hints, maxDimension);
+
+    Worker(Loader loader, Callback callback) {
+      this.loader = loader;
+      this.callback = callback;
+    }
+
+    @Override
+    public void run() {
+      try {
+        int index;
+        while (!cancellation.isCancelled() && (index = cursor.getAndIncrement()) < total) {
+          decode(index);
+        }
+      } finally {
+        if (runningWorkers.decrementAndGet() == 0) {
+          callback.onFinished(getStats());
+        }
+      }
+    }
+
+    private void decode(int index) {
+      long start = System.nanoTime();
+      long decoderDecodeNanos = decoder.getDecodeNanos();
+      Result result = null;
+      Exception failure = null;
+      try (LuminanceImageLoader image = loader.open(index)) {
+        result = decoder.decode(image);
+      } catch (NotFoundException | IOException | RuntimeException e) {
+        failure = e;
+      }
+      // Opening the image counts as loading
+      long decodeTime = decoder.getDecodeNanos() - decoderDecodeNanos;
+      loadNanos.addAndGet(System.nanoTime() - start - decodeTime);
+      decodeNanos.addAndGet(decodeTime);
+      if (result != null) {
+        decoded.incrementAndGet();
+        callback.onDecoded(index, result);
+      } else {
+        failed.incrementAndGet();
+        callback.onFailed(index, failure);
+      }
+    }
+  }
+
+}
@@ -45,7 +45,7 @@ public final class CaptureActivityHandler extends Handler {
   private static final String TAG = CaptureActivityHandler.class.getSimpleName();
 
   private final ScanManager scanManager;
-  private final DecodeThread decodeThread;
+  private final DecodeEngine decodeEngine;
   private State state;
   private final CameraManager cameraManager;
 
@@ -60,8 +60,17 @@ public final class CaptureActivityHandler extends Handler {
                                 Map<DecodeHintType, ?> baseHints,
                                 String characterSet,
                                 CameraManager cameraManager) {
+    this(scanManager, decodeFormats, baseHints, characterSet, cameraManager, 1);
+  }
+
+  public CaptureActivityHandler(final ScanManager scanManager,
+                                Collection<BarcodeFormat> decodeFormats,
+                                Map<DecodeHintType, ?> baseHints,
+                                String characterSet,
+                                CameraManager cameraManager,
+                                int decodeWorkerCount) {
     this.scanManager = scanManager;
-    decodeThread = new DecodeThread(scanManager, decodeFormats, baseHints, characterSet,
+    decodeEngine = new DecodeEngine(scanManager, cameraManager, decodeFormats, baseHints, characterSet,
       new ResultPointCallback() {
         @Override
         public void foundPossibleResultPoint(ResultPoint point) {
@@ -69,8 +78,8 @@ public final class CaptureActivityHandler extends Handler {
             scanManager.scanListener.foundPossibleResultPoint(point);
           }
         }
-      });
-    decodeThread.start();
+      }, decodeWorkerCount);
+    decodeEngine.start();
     state = State.SUCCESS;
 
     // Start ourselves capturing previews and decoding.
@@ -99,8 +108,9 @@ public final class CaptureActivityHandler extends Handler {
       }
       scanManager.handleDecode((Result) message.obj, barcode, scaleFactor);
     } else if (message.what == R.id.decode_failed) {// We're decoding as fast as possible, so when one decode fails, start another.
-      state = State.PREVIEW;
-      cameraManager.requestPreviewFrame(decodeThread.getHandler(), R.id.decode);
+      if (state == State.PREVIEW) {
+        decodeEngine.requestFrame();
+      }
       //      case R.id.return_scan_result:
 //        activity.setResult(Activity.RESULT_OK, (Intent) message.obj);
 //        activity.finish();
@@ -140,17 +150,17 @@ public final class CaptureActivityHandler extends Handler {
     }
   }
 
+  /**
+   * @return how many frames were too blurred or too flat to be worth decoding
+   */
+  public long getRejectedFrameCount() {
+    return decodeEngine.getRejectedFrameCount();
+  }
+
   public void quitSynchronously() {
     state = State.DONE;
     cameraManager.stopPreview();
-    Message quit = Message.obtain(decodeThread.getHandler(), R.id.quit);
-    quit.sendToTarget();
-    try {
-      // Wait at most half a second; should be enough time, and onPause() will timeout quickly
-      decodeThread.join(500L);
-    } catch (InterruptedException e) {
-      // continue
-    }
+    decodeEngine.quitSynchronously();
 
     // Be absolutely sure we don't send any queued up messages
     removeMessages(R.id.decode_succeeded);
@@ -160,7 +170,7 @@ public final class CaptureActivityHandler extends Handler {
   private void restartPreviewAndDecode() {
     if (state == State.SUCCESS) {
       state = State.PREVIEW;
-      cameraManager.requestPreviewFrame(decodeThread.getHandler(), R.id.decode);
+      decodeEngine.restart();
     }
   }
 
@@ -0,0 +1,311 @@
+package org.dync.zxinglibrary.decod;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.CancellationToken;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.ResultPointCallback;
+
+import org.dync.zxinglibrary.R;
+import org.dync.zxinglibrary.ScanManager;
+import org.dync.zxinglibrary.camera.CameraManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receives preview frames from the camera and hands them round-robin to a pool of
+ * {@link DecodeThread} workers, each with its own reader. While a worker is idle another preview
+ * frame is requested, so several frames can be decoded at once.
+ *
+ * <p>Every frame is stamped with a sequence number. The first worker to succeed claims the result
+ * and stops dispatching; results from frames older than the last claimed one, and results from
+ * siblings still in flight, are dropped so that {@link ScanManager#handleDecode} never sees a
+ * stale result after a newer one.</p>
+ *
+ * <p>Each worker decodes under its own {@link CancellationToken}. It is armed with the decode time
+ * budget when the worker starts a frame, and cancelled as soon as a sibling claims a result, so a
+ * worker stuck on a hard frame gives up and takes the next one instead.</p>
+ *
+ * <p>Frames are dispatched on the thread owning this handler's looper (the one the camera was
+ * opened on); workers only call back through the synchronized claim/release methods.</p>
+ */
+public final class DecodeEngine extends Handler {
+
+  private final CameraManager cameraManager;
+  private final DecodeThread[] workers;
+  private final LuminanceBufferPool bufferPool;
+  private final RegionTracker regionTracker;
+  private final SceneChangeGate sceneChangeGate;
+  private final int minFrameSharpness;
+  private final int minFrameContrast;
+  private final AtomicLong rejectedFrames = new AtomicLong();
+  private final CancellationToken[] tokens;
+  private final long decodeTimeBudget;
+  private final long[] workerSequences;
+  private final boolean[] busy;
+  // Serves one DecodeThread made on its own, which decodes and reports every frame it is sent
+  private final boolean standalone;
+  private int nextWorker;
+  private long frameSequence;
+  private long lastClaimedSequence;
+  private boolean running;
+  private boolean frameRequested;
+
+  DecodeEngine(ScanManager scanManager,
+               CameraManager cameraManager,
+               Collection<BarcodeFormat> decodeFormats,
+               Map<DecodeHintType, ?> baseHints,
+               String characterSet,
+               ResultPointCallback resultPointCallback,
+               int workerCount) {
+    this(scanManager,
+         cameraManager,
+         DecodeThread.buildHints(scanManager, decodeFormats, baseHints, characterSet, resultPointCallback),
+         workerCount,
+         false);
+  }
+
+  /**
+   * For a {@link DecodeThread} made through its deprecated public constructor, which is then the
+   * engine's only worker. It has no workers of its own to dispatch to, and is never sent a frame,
+   * so it may be made on a thread without a looper, as that constructor always could.
+   */
+  DecodeEngine(ScanManager scanManager, Map<DecodeHintType, Object> hints) {
+    this(scanManager, scanManager.getCameraManager(), hints, 1, true);
+  }
+
+  private DecodeEngine(ScanManager scanManager,
+                       CameraManager cameraManager,
+                       Map<DecodeHintType, Object> hints,
+                       int workerCount,
+                       boolean standalone) {
+    super(standalone ? Looper.getMainLooper() : Looper.myLooper());
+    if (workerCount < 1) {
+      throw new IllegalArgumentException("workerCount must be at least 1: " + workerCount);
+    }
+    this.cameraManager = cameraManager;
+    this.standalone = standalone;
+    decodeTimeBudget = scanManager.getDecodeTimeBudget();
+    bufferPool = new LuminanceBufferPool(workerCount + 1);
+    regionTracker = new RegionTracker();
+    sceneChangeGate = new SceneChangeGate(scanManager.getSceneChangeThreshold(),
+                                          scanManager.getSceneRecheckInterval());
+    minFrameSharpness = scanManager.getMinFrameSharpness();
+    minFrameContrast = scanManager.getMinFrameContrast();
+    workers = new DecodeThread[standalone ? 0 : workerCount];
+    tokens = new CancellationToken[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      tokens[i] = new CancellationToken();
+    }
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] = new DecodeThread(scanManager, this, i, hints);
+    }
+    workerSequences = new long[workerCount];
+    busy = new boolean[workerCount];
+  }
+
+  LuminanceBufferPool getBufferPool() {
+    return bufferPool;
+  }
+
+  RegionTracker getRegionTracker() {
+    return regionTracker;
+  }
+
+  SceneChangeGate getSceneChangeGate() {
+    return sceneChangeGate;
+  }
+
+  int getMinFrameSharpness() {
+    return minFrameSharpness;
+  }
+
+  int getMinFrameContrast() {
+    return minFrameContrast;
+  }
+
+  void frameRejected() {
+    rejectedFrames.incrementAndGet();
+  }
+
+  /**
+   * @return how many frames were too blurred or too flat to be worth decoding
+   */
+  public long getRejectedFrameCount() {
+    return rejectedFrames.get();
+  }
+
+  CancellationToken getCancellationToken(int index) {
+    return tokens[index];
+  }
+
+  void start() {
+    for (DecodeThread worker : workers) {
+      worker.start();
+    }
+  }
+
+  public int getWorkerCount() {
+    return workers.length;
+  }
+
+  /**
+   * Resumes dispatching after a successful decode (or initially) and asks the camera for a frame.
+   */
+  void restart() {
+    synchronized (this) {
+      running = true;
+    }
+    // A one-shot callback pending from before the restart may have been cleared by the camera.
+    frameRequested = false;
+    requestFrame();
+  }
+
+  /**
+   * Asks the camera for one more preview frame if a worker is idle and no request is outstanding.
+   */
+  void requestFrame() {
+    if (!frameRequested && hasIdleWorker()) {
+      frameRequested = true;
+      cameraManager.requestPreviewFrame(this, R.id.decode);
+    }
+  }
+
+  @Override
+  public void handleMessage(Message message) {
+    if (message.what != R.id.decode) {
+      return;
+    }
+    frameRequested = false;
+    int index = acquireWorker();
+    if (index < 0) {
+      return;
+    }
+    Handler workerHandler = workers[index].getHandler();
+    Message.obtain(workerHandler, R.id.decode, message.arg1, message.arg2, message.obj).sendToTarget();
+    requestFrame();
+  }
+
+  private synchronized boolean hasIdleWorker() {
+    if (!running) {
+      return false;
+    }
+    for (boolean b : busy) {
+      if (!b) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private synchronized int acquireWorker() {
+    if (!running) {
+      return -1;
+    }
+    for (int i = 0; i < workers.length; i++) {
+      int index = (nextWorker + i) % workers.length;
+      if (!busy[index]) {
+        busy[index] = true;
+        workerSequences[index] = ++frameSequence;
+        nextWorker = (index + 1) % workers.length;
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return true if the frame currently held by the worker can still produce a result; false once
+   *  a sibling has succeeded and the frame should be abandoned
+   */
+  synchronized boolean isCurrent(int index) {
+    return standalone || running && workerSequences[index] > lastClaimedSequence;
+  }
+
+  /**
+   * Called by a worker before it decodes its frame. Arms the worker's token with the decode time
+   * budget, if any.
+   *
+   * @return false if the frame should be skipped, as with {@link #isCurrent(int)}
+   */
+  synchronized boolean beginFrame(int index) {
+    if (!isCurrent(index)) {
+      return false;
+    }
+    CancellationToken token = tokens[index];
+    token.reset();
+    if (decodeTimeBudget > 0L) {
+      token.setDeadline(decodeTimeBudget, TimeUnit.MILLISECONDS);
+    }
+    return true;
+  }
+
+  /**
+   * Called by a worker that decoded its frame. Releases the worker and, if no newer frame has
+   * been claimed and the engine is still running, claims the result and stops dispatching.
+   *
+   * @return true if the worker should publish its result
+   */
+  synchronized boolean claimResult(int index) {
+    busy[index] = false;
+    if (standalone) {
+      return true;
+    }
+    long sequence = workerSequences[index];
+    if (!running || sequence <= lastClaimedSequence) {
+      return false;
+    }
+    lastClaimedSequence = sequence;
+    running = false;
+    // Siblings can only produce results that will be dropped now
+    for (int i = 0; i < tokens.length; i++) {
+      if (busy[i]) {
+        tokens[i].cancel();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Called by a worker that failed to decode its frame.
+   *
+   * @return true if the engine still wants frames, and the worker should report the failure
+   */
+  synchronized boolean releaseWorker(int index) {
+    busy[index] = false;
+    return running || standalone;
+  }
+
+  void quitSynchronously() {
+    synchronized (this) {
+      running = false;
+      for (CancellationToken token : tokens) {
+        token.cancel();
+      }
+    }
+    removeMessages(R.id.decode);
+    for (DecodeThread worker : workers) {
+      Message.obtain(worker.getHandler(), R.id.quit).sendToTarget();
+    }
+    // Wait at most half a second overall; should be enough time, and onPause() will timeout quickly
+    long deadline = System.currentTimeMillis() + 500L;
+    for (DecodeThread worker : workers) {
+      long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0L) {
+        break;
+      }
+      try {
+        worker.join(remaining);
+      } catch (InterruptedException e) {
+        // continue
+      }
+    }
+  }
+
+}
@@ -18,35 +18,58 @@ package org.dync.zxinglibrary.decod;
 
 import android.content.res.Configuration;
 import android.graphics.Bitmap;
+import android.graphics.Rect;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 
 import com.google.zxing.BinaryBitmap;
 import com.google.zxing.DecodeHintType;
 import com.google.zxing.MultiFormatReader;
-import com.google.zxing.PlanarYUVLuminanceSource;
 import com.google.zxing.ReaderException;
 import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.ResultPointCallback;
+import com.google.zxing.common.BinarizerArena;
 import com.google.zxing.common.HybridBinarizer;
 
 import org.dync.zxinglibrary.R;
 import org.dync.zxinglibrary.ScanManager;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 
 final class DecodeHandler extends Handler {
 
   private final ScanManager scanManager;
+  private final DecodeEngine engine;
+  private final int index;
   private final MultiFormatReader multiFormatReader;
+  private final BinarizerArena binarizerArena;
+  private final RegionPointCallback pointCallback;
+  private final SceneSignature sceneSignature = new SceneSignature();
+  private final FrameQuality frameQuality = new FrameQuality();
   private boolean running = true;
 
-  DecodeHandler(ScanManager scanManager, Map<DecodeHintType, Object> hints) {
+  DecodeHandler(ScanManager scanManager, DecodeEngine engine, int index, Map<DecodeHintType, Object> hints) {
+    Map<DecodeHintType, Object> workerHints = new EnumMap<>(DecodeHintType.class);
+    workerHints.putAll(hints);
+    // The engine arms and cancels this token; readers check it between passes
+    workerHints.put(DecodeHintType.CANCELLATION_TOKEN, engine.getCancellationToken(index));
+    pointCallback = new RegionPointCallback(
+        (ResultPointCallback) hints.get(DecodeHintType.NEED_RESULT_POINT_CALLBACK));
+    workerHints.put(DecodeHintType.NEED_RESULT_POINT_CALLBACK, pointCallback);
     multiFormatReader = new MultiFormatReader();
-    multiFormatReader.setHints(hints);
+    multiFormatReader.setHints(workerHints);
+    binarizerArena = new BinarizerArena();
     this.scanManager = scanManager;
+    this.engine = engine;
+    this.index = index;
   }
 
   @Override
@@ -71,32 +94,39 @@ final class DecodeHandler extends Handler {
    * @param height The height of the preview frame.
    */
   private void decode(byte[] data, int width, int height) {
-    if (scanManager.getActivity().getResources().getConfiguration().orientation == Configuration.ORIENTATION_PORTRAIT) {
-      byte[] rotatedData = new byte[data.length];
-      for (int y = 0; y < height; y++) {
-        for (int x = 0; x < width; x++)
-          rotatedData[x * height + height - y - 1] = data[x + y * width];
-      }
-      int tmp = width;
-      width = height;
-      height = tmp;
-      data = rotatedData;
+    if (!engine.beginFrame(index)) {
+      // A sibling worker already succeeded on a newer frame; don't bother.
+      engine.releaseWorker(index);
+      return;
     }
+    boolean portrait = scanManager.getActivity().getResources().getConfiguration().orientation
+        == Configuration.ORIENTATION_PORTRAIT;
     Result rawResult = null;
-    PlanarYUVLuminanceSource source = scanManager.getCameraManager().buildLuminanceSource(data, width, height);
-    if (source != null) {
-      BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(source));
-      try {
-        rawResult = multiFormatReader.decodeWithState(bitmap);
-      } catch (ReaderException re) {
-        // continue
-      } finally {
-        multiFormatReader.reset();
+    RotatedPlanarYUVLuminanceSource source = scanManager.getCameraManager()
+        .buildLuminanceSource(data, width, height, portrait, engine.getBufferPool());
+    if (source != null && !isWorthDecoding(source)) {
+      engine.frameRejected();
+      source.release();
+    } else if (source != null) {
+      SceneChangeGate gate = engine.getSceneChangeGate();
+      if (gate.isEnabled()) {
+        sceneSignature.compute(source);
+      }
+      if (gate.shouldDecode(sceneSignature, SystemClock.uptimeMillis())) {
+        rawResult = decode(source);
+        if (rawResult != null) {
+          gate.decodeSucceeded();
+        } else {
+          gate.decodeFailed(sceneSignature);
+        }
+      } else {
+        // Same scene as the last failure; report a failure right away to move on to the next frame
+        source.release();
       }
     }
 
     Handler handler = scanManager.getHandler();
-    if (rawResult != null) {
+    if (rawResult != null && engine.claimResult(index)) {
       // Don't log the barcode contents for security.
       if (handler != null) {
         Message message = Message.obtain(handler, R.id.decode_succeeded, rawResult);
@@ -105,7 +135,7 @@ final class DecodeHandler extends Handler {
         message.setData(bundle);
         message.sendToTarget();
       }
-    } else {
+    } else if (rawResult == null && engine.releaseWorker(index)) {
       if (handler != null) {
         Message message = Message.obtain(handler, R.id.decode_failed);
         message.sendToTarget();
@@ -113,7 +143,73 @@ final class DecodeHandler extends Handler {
     }
   }
 
-  private static void bundleThumbnail(PlanarYUVLuminanceSource source, Bundle bundle) {
+  /**
+   * Rejects frames too flat to hold a code, and frames with something in view that are too blurred
+   * to read. Sharpness is also reported to the camera, which refocuses after a run of blurred
+   * frames.
+   */
+  private boolean isWorthDecoding(RotatedPlanarYUVLuminanceSource source) {
+    int minSharpness = engine.getMinFrameSharpness();
+    int minContrast = engine.getMinFrameContrast();
+    if (minSharpness <= 0 && minContrast <= 0) {
+      return true;
+    }
+    frameQuality.measure(source);
+    if (frameQuality.getContrast() < minContrast) {
+      return false;
+    }
+    boolean sharp = frameQuality.getSharpness() >= minSharpness;
+    scanManager.getCameraManager().onFrameSharpness(sharp);
+    return sharp;
+  }
+
+  /**
+   * Decodes the frame, or the part of it around the last code. Releases the source.
+   */
+  private Result decode(RotatedPlanarYUVLuminanceSource source) {
+    Result rawResult = null;
+    // Only look around the last code if there was one; points come back in full source coordinates
+    RegionTracker tracker = engine.getRegionTracker();
+    Rect region = tracker.getRegion(source.getWidth(), source.getHeight());
+    RotatedPlanarYUVLuminanceSource regionSource = region == null ? source :
+        source.crop(region.left, region.top, region.width(), region.height());
+    int left = region == null ? 0 : region.left;
+    int top = region == null ? 0 : region.top;
+    pointCallback.begin(left, top);
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(regionSource, binarizerArena));
+    try {
+      rawResult = multiFormatReader.decodeWithState(bitmap);
+    } catch (ReaderException re) {
+      // continue
+    } finally {
+      multiFormatReader.reset();
+      // The thumbnail is rendered from the frame itself, so the buffer can go back now
+      regionSource.release();
+      source.release();
+    }
+    if (rawResult != null) {
+      translate(rawResult.getResultPoints(), left, top);
+      tracker.hit(rawResult.getResultPoints());
+    } else if (engine.isCurrent(index)) {
+      // Frames abandoned because a sibling succeeded say nothing about the region
+      tracker.miss(pointCallback.getPoints());
+    }
+    return rawResult;
+  }
+
+  private static void translate(ResultPoint[] points, int left, int top) {
+    if (points == null || (left == 0 && top == 0)) {
+      return;
+    }
+    for (int i = 0; i < points.length; i++) {
+      ResultPoint point = points[i];
+      if (point != null) {
+        points[i] = new ResultPoint(point.getX() + left, point.getY() + top);
+      }
+    }
+  }
+
+  private static void bundleThumbnail(RotatedPlanarYUVLuminanceSource source, Bundle bundle) {
     int[] pixels = source.renderThumbnail();
     int width = source.getThumbnailWidth();
     int height = source.getThumbnailHeight();
@@ -124,4 +220,41 @@ final class DecodeHandler extends Handler {
     bundle.putFloat(DecodeThread.BARCODE_SCALED_FACTOR, (float) width / source.getWidth());
   }
 
+  /**
+   * Collects the possible result points of one frame for the {@link RegionTracker}, moving them
+   * from region to full source coordinates before passing them on to the viewfinder.
+   */
+  private static final class RegionPointCallback implements ResultPointCallback {
+
+    private final ResultPointCallback delegate;
+    private final List<ResultPoint> points = new ArrayList<>();
+    private int left;
+    private int top;
+
+    RegionPointCallback(ResultPointCallback delegate) {
+      this.delegate = delegate;
+    }
+
+    void begin(int left, int top) {
+      this.left = left;
+      this.top = top;
+      points.clear();
+    }
+
+    List<ResultPoint> getPoints() {
+      return points;
+    }
+
+    @Override
+    public void foundPossibleResultPoint(ResultPoint point) {
+      ResultPoint translated = left == 0 && top == 0 ? point :
+          new ResultPoint(point.getX() + left, point.getY() + top);
+      points.add(translated);
+      if (delegate != null) {
+        delegate.foundPossibleResultPoint(translated);
+      }
+    }
+
+  }
+
 }
@@ -35,7 +35,8 @@ import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 /**
- * This thread does all the heavy lifting of decoding the images.
+ * This thread does all the heavy lifting of decoding the images. Each instance is one worker of a
+ * {@link DecodeEngine} and owns its own {@link DecodeHandler} and reader.
  *
  * @author dswitkin@google.com (Daniel Switkin)
  */
@@ -45,20 +46,50 @@ public final class DecodeThread extends Thread {
   public static final String BARCODE_SCALED_FACTOR = "barcode_scaled_factor";
 
   private final ScanManager scanManager;
+  private final DecodeEngine engine;
+  private final int index;
   static Map<DecodeHintType, Object> hints;
+  private final Map<DecodeHintType, Object> threadHints;
   private Handler handler;
   private final CountDownLatch handlerInitLatch;
 
+  /**
+   * @deprecated decode threads are now made by {@link CaptureActivityHandler}, as the workers of a
+   *  {@link DecodeEngine}. This makes a thread on its own, which decodes every frame sent to its
+   *  handler and reports each result to {@code scanManager}, as before.
+   */
+  @Deprecated
   public DecodeThread(ScanManager scanManager,
                       Collection<BarcodeFormat> decodeFormats,
                       Map<DecodeHintType, ?> baseHints,
                       String characterSet,
                       ResultPointCallback resultPointCallback) {
+    this(scanManager, buildHints(scanManager, decodeFormats, baseHints, characterSet, resultPointCallback));
+  }
+
+  private DecodeThread(ScanManager scanManager, Map<DecodeHintType, Object> hints) {
+    this(scanManager, new DecodeEngine(scanManager, hints), 0, hints);
+  }
 
+  DecodeThread(ScanManager scanManager, DecodeEngine engine, int index, Map<DecodeHintType, Object> hints) {
+    super("DecodeThread-" + index);
     this.scanManager = scanManager;
+    this.engine = engine;
+    this.index = index;
+    this.threadHints = hints;
     handlerInitLatch = new CountDownLatch(1);
+  }
 
-    hints = new EnumMap<>(DecodeHintType.class);
+  /**
+   * Builds the decode hints shared by all the workers of a {@link DecodeEngine}. The result is also
+   * published through {@link #getHints()}.
+   */
+  static Map<DecodeHintType, Object> buildHints(ScanManager scanManager,
+                                                Collection<BarcodeFormat> decodeFormats,
+                                                Map<DecodeHintType, ?> baseHints,
+                                                String characterSet,
+                                                ResultPointCallback resultPointCallback) {
+    Map<DecodeHintType, Object> hints = new EnumMap<>(DecodeHintType.class);
     if (baseHints != null) {
       hints.putAll(baseHints);
     }
@@ -92,6 +123,10 @@ public final class DecodeThread extends Thread {
       hints.put(DecodeHintType.CHARACTER_SET, characterSet);
     }
     hints.put(DecodeHintType.NEED_RESULT_POINT_CALLBACK, resultPointCallback);
+    // Continuous scanning usually sees one format over and over; try it first
+    hints.put(DecodeHintType.ADAPTIVE_READER_ORDER, Boolean.TRUE);
+    DecodeThread.hints = hints;
+    return hints;
   }
 
   public Handler getHandler() {
@@ -106,7 +141,7 @@ public final class DecodeThread extends Thread {
   @Override
   public void run() {
     Looper.prepare();
-    handler = new DecodeHandler(scanManager, hints);
+    handler = new DecodeHandler(scanManager, engine, index, threadHints);
     handlerInitLatch.countDown();
     Looper.loop();
   }
@@ -0,0 +1,73 @@
+package org.dync.zxinglibrary.decod;
+
+import com.google.zxing.LuminanceSource;
+
+/**
+ * Estimates how sharp and how contrasty a frame is from a sparse grid of samples, cheaply enough to
+ * run before every binarization. Sharpness is the variance of the 4-neighbour Laplacian, which
+ * drops sharply when motion or defocus smears edges; contrast is the standard deviation of the
+ * sampled luminance, which is low for an empty or badly exposed scene.
+ *
+ * <p>Reuses its row buffers from one frame to the next; one instance per decode thread.</p>
+ */
+final class FrameQuality {
+
+  private static final int SAMPLE_ROWS = 16;
+  private static final int SAMPLES_PER_ROW = 64;
+
+  private byte[] above;
+  private byte[] row;
+  private byte[] below;
+  private int sharpness;
+  private int contrast;
+
+  void measure(LuminanceSource source) {
+    int width = source.getWidth();
+    int height = source.getHeight();
+    if (width < 3 || height < 3) {
+      sharpness = Integer.MAX_VALUE;
+      contrast = Integer.MAX_VALUE;
+      return;
+    }
+    int rows = Math.min(SAMPLE_ROWS, height - 2);
+    int columns = Math.min(SAMPLES_PER_ROW, width - 2);
+    long sum = 0;
+    long sumSquares = 0;
+    long laplacianSum = 0;
+    long laplacianSumSquares = 0;
+    for (int i = 0; i < rows; i++) {
+      int y = 1 + (2 * i + 1) * (height - 2) / (2 * rows);
+      above = source.getRow(y - 1, above);
+      row = source.getRow(y, row);
+      below = source.getRow(y + 1, below);
+      for (int j = 0; j < columns; j++) {
+        int x = 1 + (2 * j + 1) * (width - 2) / (2 * columns);
+        int center = row[x] & 0xff;
+        int laplacian = 4 * center - (row[x - 1] & 0xff) - (row[x + 1] & 0xff) -
+            (above[x] & 0xff) - (below[x] & 0xff);
+        sum += center;
+        sumSquares += center * center;
+        laplacianSum += laplacian;
+        laplacianSumSquares += laplacian * laplacian;
+      }
+    }
+    long n = (long) rows * columns;
+    sharpness = (int) ((laplacianSumSquares - laplacianSum * laplacianSum / n) / n);
+    contrast = (int) Math.sqrt((sumSquares - sum * sum / n) / (double) n);
+  }
+
+  /**
+   * @return variance of the Laplacian over the samples of the last measured frame
+   */
+  int getSharpness() {
+    return sharpness;
+  }
+
+  /**
+   * @return standard deviation of the luminance samples of the last measured frame
+   */
+  int getContrast() {
+    return contrast;
+  }
+
+}
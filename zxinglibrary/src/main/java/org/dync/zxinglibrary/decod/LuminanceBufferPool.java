@@ -0,0 +1,49 @@
+package org.dync.zxinglibrary.decod;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A small pool of luminance buffers shared by the decode workers, so that continuous scanning
+ * reuses the same few arrays instead of allocating one per preview frame. Buffers are matched by
+ * exact length; the framing rect rarely changes, so in practice every frame hits the pool.
+ */
+public final class LuminanceBufferPool {
+
+  private final ArrayDeque<byte[]> buffers = new ArrayDeque<>();
+  private final int maxPooled;
+
+  public LuminanceBufferPool(int maxPooled) {
+    this.maxPooled = maxPooled;
+  }
+
+  /**
+   * @param length required length
+   * @return a previously released buffer of exactly that length, or a new one
+   */
+  public synchronized byte[] acquire(int length) {
+    for (Iterator<byte[]> it = buffers.iterator(); it.hasNext(); ) {
+      byte[] buffer = it.next();
+      if (buffer.length == length) {
+        it.remove();
+        return buffer;
+      }
+    }
+    return new byte[length];
+  }
+
+  /**
+   * Returns a buffer to the pool. The caller must not touch it afterwards.
+   */
+  public synchronized void release(byte[] buffer) {
+    if (buffer == null) {
+      return;
+    }
+    if (buffers.size() >= maxPooled) {
+      // Drop the oldest; it is most likely of a stale size
+      buffers.pollFirst();
+    }
+    buffers.addLast(buffer);
+  }
+
+}
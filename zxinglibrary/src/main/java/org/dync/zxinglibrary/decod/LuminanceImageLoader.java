@@ -0,0 +1,157 @@
+package org.dync.zxinglibrary.decod;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Color;
+import android.graphics.Rect;
+
+import com.google.zxing.PlanarYUVLuminanceSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a compressed image straight into an 8-bit luminance plane, without ever holding the whole
+ * image as a {@link Bitmap}. The image is decoded tile by tile with a {@link BitmapRegionDecoder},
+ * downsampled while decoding, and each tile is converted to luminance into the output plane. Only
+ * one small tile bitmap is alive at a time, and it is reused for every tile.
+ *
+ * <p>Any region can be loaded, at any scale, so a caller that fails on the whole image can go
+ * back for parts of it at a higher resolution.</p>
+ *
+ * <p>Not thread-safe. Close the loader to release the region decoder.</p>
+ */
+public final class LuminanceImageLoader implements Closeable {
+
+  /** Side of a tile, in output pixels. */
+  private static final int TILE_SIZE = 512;
+
+  private final BitmapRegionDecoder decoder;
+  private final BitmapFactory.Options options = new BitmapFactory.Options();
+  private Bitmap tile;
+  private int[] pixels;
+
+  private LuminanceImageLoader(BitmapRegionDecoder decoder) throws IOException {
+    if (decoder == null) {
+      throw new IOException("Image format not supported");
+    }
+    this.decoder = decoder;
+    options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+    options.inMutable = true;
+  }
+
+  public static LuminanceImageLoader open(String path) throws IOException {
+    return new LuminanceImageLoader(BitmapRegionDecoder.newInstance(path, false));
+  }
+
+  /**
+   * Reads the stream to its end; it is not closed.
+   */
+  public static LuminanceImageLoader open(InputStream in) throws IOException {
+    return new LuminanceImageLoader(BitmapRegionDecoder.newInstance(in, false));
+  }
+
+  public int getWidth() {
+    return decoder.getWidth();
+  }
+
+  public int getHeight() {
+    return decoder.getHeight();
+  }
+
+  /**
+   * @return the smallest power of two that brings the longer side of the region down to at most
+   *  maxDimension
+   */
+  public static int sampleSize(int width, int height, int maxDimension) {
+    int sampleSize = 1;
+    while ((Math.max(width, height) + sampleSize - 1) / sampleSize > maxDimension) {
+      sampleSize *= 2;
+    }
+    return sampleSize;
+  }
+
+  /**
+   * @return the whole image, downsampled so its longer side is at most maxDimension
+   */
+  public PlanarYUVLuminanceSource load(int maxDimension) throws IOException {
+    return load(new Rect(0, 0, getWidth(), getHeight()), maxDimension);
+  }
+
+  /**
+   * @param region       part of the image to load, in image pixels
+   * @param maxDimension longest side of the result
+   * @return the region as a luminance source, downsampled by a power of two
+   * @throws IOException if part of the region can't be decoded
+   */
+  public PlanarYUVLuminanceSource load(Rect region, int maxDimension) throws IOException {
+    int sampleSize = sampleSize(region.width(), region.height(), maxDimension);
+    int width = (region.width() + sampleSize - 1) / sampleSize;
+    int height = (region.height() + sampleSize - 1) / sampleSize;
+    byte[] luminances = new byte[width * height];
+
+    options.inSampleSize = sampleSize;
+    int tileSource = TILE_SIZE * sampleSize;
+    Rect tileRect = new Rect();
+    for (int tileTop = 0; tileTop < height; tileTop += TILE_SIZE) {
+      for (int tileLeft = 0; tileLeft < width; tileLeft += TILE_SIZE) {
+        int left = region.left + tileLeft * sampleSize;
+        int top = region.top + tileTop * sampleSize;
+        tileRect.set(left, top,
+                     Math.min(left + tileSource, region.right), Math.min(top + tileSource, region.bottom));
+        int tileWidth = Math.min(TILE_SIZE, width - tileLeft);
+        int tileHeight = Math.min(TILE_SIZE, height - tileTop);
+        decodeTile(tileRect, tileWidth, tileHeight, luminances, tileTop * width + tileLeft, width);
+      }
+    }
+    return new PlanarYUVLuminanceSource(luminances, width, height, 0, 0, width, height, false);
+  }
+
+  private void decodeTile(Rect rect, int tileWidth, int tileHeight, byte[] out, int offset, int stride)
+      throws IOException {
+    if (tile == null) {
+      tile = Bitmap.createBitmap(TILE_SIZE, TILE_SIZE, Bitmap.Config.ARGB_8888);
+      pixels = new int[TILE_SIZE * TILE_SIZE];
+    }
+    if (tileWidth < TILE_SIZE || tileHeight < TILE_SIZE) {
+      // Edge tiles only cover part of the bitmap; don't pick up the previous tile's pixels
+      tile.eraseColor(Color.WHITE);
+    }
+    // Draws into the top left of the reused tile bitmap, whatever the region size
+    options.inBitmap = tile;
+    Bitmap decoded = decoder.decodeRegion(rect, options);
+    if (decoded == null) {
+      throw new IOException("Can't decode region " + rect);
+    }
+    decoded.getPixels(pixels, 0, tileWidth, 0, 0,
+                      Math.min(tileWidth, decoded.getWidth()), Math.min(tileHeight, decoded.getHeight()));
+    if (decoded != tile) {
+      // The decoder didn't draw into the tile after all
+      decoded.recycle();
+    }
+    for (int y = 0; y < tileHeight; y++) {
+      int inputOffset = y * tileWidth;
+      int outputOffset = offset + y * stride;
+      for (int x = 0; x < tileWidth; x++) {
+        int pixel = pixels[inputOffset + x];
+        int r = (pixel >> 16) & 0xff;
+        int g = (pixel >> 8) & 0xff;
+        int b = pixel & 0xff;
+        // Calculate luminance cheaply, favoring green, as RGBLuminanceSource does
+        out[outputOffset + x] = (byte) ((r + g + g + b) >> 2);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    decoder.recycle();
+    if (tile != null) {
+      tile.recycle();
+      tile = null;
+    }
+  }
+
+}
@@ -0,0 +1,194 @@
+package org.dync.zxinglibrary.decod;
+
+import android.graphics.Rect;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.CancellationToken;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.common.BinarizerArena;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.common.LuminancePyramid;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Decodes photos loaded through a {@link LuminanceImageLoader}. The image is read once, downsampled
+ * so its longer side is at most the configured size, into a {@link LuminancePyramid} of up to three
+ * levels (1x, 1/2, 1/4 of that). The levels are tried coarse to fine, stopping at the first hit: a
+ * code that fills the photo is found quickly at the coarsest level.
+ *
+ * <p>If no level holds a code and the photo had to be downsampled, it is read again in overlapping
+ * tiles of at most the configured size, at native resolution, and each tile is tried in turn. That
+ * is what finds a small code in a large photo, which the downsampled levels may have blurred away.
+ * A code up to a quarter of a tile across lies wholly inside some tile; larger codes are big enough
+ * for the pyramid.</p>
+ *
+ * <p>Keeps one reader, and binarizer arenas for the levels and tiles, across calls, so a run of
+ * same-sized photos binarizes without allocating; use one instance per thread.</p>
+ */
+public final class PhotoDecoder {
+
+  public static final int DEFAULT_MAX_DIMENSION = 2048;
+
+  private static final int MAX_LEVELS = 3;
+  /** Coarser levels would leave too few pixels per module for anything but a huge code. */
+  private static final int MIN_LEVEL_DIMENSION = 160;
+  /** Fraction of a tile that overlaps the next one. */
+  private static final float TILE_OVERLAP = 0.25f;
+
+  private final MultiFormatReader reader = new MultiFormatReader();
+  // One per level: an arena only reuses its matrix for images of the same size
+  private final BinarizerArena[] levelArenas = new BinarizerArena[MAX_LEVELS];
+  private final BinarizerArena tileArena = new BinarizerArena();
+  private final CancellationToken cancellation;
+  private final int maxDimension;
+  private long decodeNanos;
+
+  /**
+   * @param hints        decode hints
+   * @param maxDimension longest side of the finest level and of the full resolution tiles; the
+   *                     source image is never upscaled
+   */
+  public PhotoDecoder(Map<DecodeHintType, ?> hints, int maxDimension) {
+    reader.setHints(hints);
+    cancellation = CancellationToken.fromHints(hints);
+    this.maxDimension = maxDimension;
+    for (int level = 0; level < MAX_LEVELS; level++) {
+      levelArenas[level] = new BinarizerArena();
+    }
+  }
+
+  public PhotoDecoder(Map<DecodeHintType, ?> hints) {
+    this(hints, DEFAULT_MAX_DIMENSION);
+  }
+
+  /**
+   * @return the first code found; result points are in pixels of the full size image
+   * @throws NotFoundException if neither a level nor a tile held a code
+   * @throws IOException if the image can't be read
+   */
+  public Result decode(LuminanceImageLoader image) throws NotFoundException, IOException {
+    LuminanceSource finest = image.load(maxDimension);
+    LuminancePyramid pyramid = new LuminancePyramid(finest, MAX_LEVELS, MIN_LEVEL_DIMENSION);
+    float finestScale = (float) image.getWidth() / finest.getWidth();
+    long start = System.nanoTime();
+    try {
+      for (int level = pyramid.getLevelCount() - 1; level >= 0; level--) {
+        try {
+          LuminanceSource source = pyramid.getLevel(level);
+          BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(source, levelArenas[level]));
+          Result result = reader.decodeWithState(bitmap);
+          scalePoints(result.getResultPoints(), finestScale * LuminancePyramid.getScale(level));
+          return result;
+        } catch (ReaderException re) {
+          // try the next finer level
+        } finally {
+          reader.reset();
+        }
+      }
+    } finally {
+      decodeNanos += System.nanoTime() - start;
+    }
+    if (finest.getWidth() < image.getWidth()) {
+      Result result = decodeTiles(image);
+      if (result != null) {
+        return result;
+      }
+    }
+    throw NotFoundException.getNotFoundInstance();
+  }
+
+  private Result decodeTiles(LuminanceImageLoader image) throws NotFoundException, IOException {
+    int tileSize = maxDimension;
+    int stride = Math.max(1, (int) (tileSize * (1.0f - TILE_OVERLAP)));
+    int[] lefts = getTileStarts(image.getWidth(), tileSize, stride);
+    int[] tops = getTileStarts(image.getHeight(), tileSize, stride);
+    Rect region = new Rect();
+    for (int top : tops) {
+      for (int left : lefts) {
+        // Loading a tile takes a while; don't start one once cancelled
+        CancellationToken.check(cancellation);
+        region.set(left, top,
+                   Math.min(left + tileSize, image.getWidth()), Math.min(top + tileSize, image.getHeight()));
+        Result result = decodeRegion(image, region);
+        if (result != null) {
+          return result;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return where tiles start along one side, {@code stride} apart, the last one moved back to
+   *  end at the edge
+   */
+  private static int[] getTileStarts(int length, int tileLength, int stride) {
+    int count = 1;
+    if (tileLength < length) {
+      count += (length - tileLength + stride - 1) / stride;
+    }
+    int[] starts = new int[count];
+    for (int i = 0; i < count; i++) {
+      starts[i] = Math.max(0, Math.min(i * stride, length - tileLength));
+    }
+    return starts;
+  }
+
+  /**
+   * @param region part of the image no larger than the configured size, so loaded unscaled
+   */
+  private Result decodeRegion(LuminanceImageLoader image, Rect region) throws IOException {
+    LuminanceSource source = image.load(region, maxDimension);
+    long start = System.nanoTime();
+    try {
+      Result result = reader.decodeWithState(new BinaryBitmap(new HybridBinarizer(source, tileArena)));
+      translatePoints(result.getResultPoints(), region.left, region.top);
+      return result;
+    } catch (ReaderException re) {
+      return null;
+    } finally {
+      reader.reset();
+      decodeNanos += System.nanoTime() - start;
+    }
+  }
+
+  private static void translatePoints(ResultPoint[] points, int left, int top) {
+    if (points == null || (left == 0 && top == 0)) {
+      return;
+    }
+    for (int i = 0; i < points.length; i++) {
+      ResultPoint point = points[i];
+      if (point != null) {
+        points[i] = new ResultPoint(point.getX() + left, point.getY() + top);
+      }
+    }
+  }
+
+  private static void scalePoints(ResultPoint[] points, float scale) {
+    if (points == null || scale == 1.0f) {
+      return;
+    }
+    for (int i = 0; i < points.length; i++) {
+      ResultPoint point = points[i];
+      if (point != null) {
+        points[i] = new ResultPoint(point.getX() * scale, point.getY() * scale);
+      }
+    }
+  }
+
+  /**
+   * @return time spent in the reader since this decoder was created
+   */
+  public long getDecodeNanos() {
+    return decodeNanos;
+  }
+
+}
@@ -0,0 +1,135 @@
+package org.dync.zxinglibrary.decod;
+
+import android.graphics.Rect;
+
+import com.google.zxing.ResultPoint;
+
+import java.util.List;
+
+/**
+ * Remembers where the last code was seen so the next preview frames only need to decode the area
+ * around it. The region is grown from the bounding box of the last result points by a margin, and
+ * dropped again after a few frames in a row that didn't decode, at which point workers go back to
+ * the whole framing rect.
+ *
+ * <p>A frame that fails but reports enough possible result points (finder patterns, say) moves
+ * the region to them. Such frames still count as misses, so a stray pattern can't hold the region
+ * forever.</p>
+ *
+ * <p>All coordinates are those of the luminance source built from the framing rect. Shared by the
+ * workers of one {@link DecodeEngine}.</p>
+ */
+final class RegionTracker {
+
+  private static final int DEFAULT_MAX_MISSES = 4;
+  private static final int MIN_PARTIAL_POINTS = 3;
+  private static final float MARGIN_FRACTION = 0.5f;
+  private static final int MIN_MARGIN = 24;
+  private static final int MIN_SIZE = 96;
+
+  private final int maxMisses;
+  private boolean tracking;
+  private float minX;
+  private float minY;
+  private float maxX;
+  private float maxY;
+  private int misses;
+
+  RegionTracker() {
+    this(DEFAULT_MAX_MISSES);
+  }
+
+  RegionTracker(int maxMisses) {
+    this.maxMisses = maxMisses;
+  }
+
+  /**
+   * @param width  width of the full source
+   * @param height height of the full source
+   * @return the part of the source to decode next, or null to decode all of it
+   */
+  synchronized Rect getRegion(int width, int height) {
+    if (!tracking) {
+      return null;
+    }
+    float size = Math.max(maxX - minX, maxY - minY);
+    int margin = Math.max(MIN_MARGIN, (int) (size * MARGIN_FRACTION));
+    Rect region = new Rect((int) minX - margin, (int) minY - margin,
+                           (int) Math.ceil(maxX) + margin, (int) Math.ceil(maxY) + margin);
+    grow(region, MIN_SIZE);
+    if (!region.intersect(0, 0, width, height) || (region.width() == width && region.height() == height)) {
+      return null;
+    }
+    return region;
+  }
+
+  private static void grow(Rect region, int minSize) {
+    int dx = minSize - region.width();
+    if (dx > 0) {
+      region.left -= dx / 2;
+      region.right += dx - dx / 2;
+    }
+    int dy = minSize - region.height();
+    if (dy > 0) {
+      region.top -= dy / 2;
+      region.bottom += dy - dy / 2;
+    }
+  }
+
+  /**
+   * Records a decoded frame.
+   *
+   * @param points result points of the decode, in full source coordinates
+   */
+  synchronized void hit(ResultPoint[] points) {
+    misses = 0;
+    if (points == null || !track(points)) {
+      tracking = false;
+    }
+  }
+
+  /**
+   * Records a frame that didn't decode.
+   *
+   * @param partialPoints possible result points reported while decoding it, in full source
+   *                      coordinates
+   */
+  synchronized void miss(List<ResultPoint> partialPoints) {
+    if (++misses >= maxMisses) {
+      tracking = false;
+      misses = 0;
+      return;
+    }
+    if (partialPoints.size() >= MIN_PARTIAL_POINTS) {
+      track(partialPoints.toArray(new ResultPoint[partialPoints.size()]));
+    }
+  }
+
+  private boolean track(ResultPoint[] points) {
+    float left = Float.MAX_VALUE;
+    float top = Float.MAX_VALUE;
+    float right = -Float.MAX_VALUE;
+    float bottom = -Float.MAX_VALUE;
+    int found = 0;
+    for (ResultPoint point : points) {
+      if (point == null) {
+        continue;
+      }
+      left = Math.min(left, point.getX());
+      top = Math.min(top, point.getY());
+      right = Math.max(right, point.getX());
+      bottom = Math.max(bottom, point.getY());
+      found++;
+    }
+    if (found == 0) {
+      return false;
+    }
+    minX = left;
+    minY = top;
+    maxX = right;
+    maxY = bottom;
+    tracking = true;
+    return true;
+  }
+
+}
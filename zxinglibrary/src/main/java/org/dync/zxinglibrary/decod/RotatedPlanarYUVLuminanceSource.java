@@ -0,0 +1,176 @@
+package org.dync.zxinglibrary.decod;
+
+import com.google.zxing.LuminanceSource;
+
+/**
+ * Like {@link com.google.zxing.PlanarYUVLuminanceSource}, but can present the camera frame rotated
+ * 90 degrees clockwise, as needed in portrait mode. The rotation is applied lazily: only pixels
+ * inside the crop rectangle are ever read, when {@link #getRow(int, byte[])} or
+ * {@link #getMatrix()} ask for them, so the full frame is never copied.
+ *
+ * <p>The matrix returned by {@link #getMatrix()} comes from a {@link LuminanceBufferPool} and goes
+ * back to it on {@link #release()}; don't use the source or its matrix after releasing it. Crops
+ * take their matrix from the same pool, so must be released too.</p>
+ *
+ * <p>The crop rectangle is expressed in the coordinates of the rotated image.</p>
+ */
+public final class RotatedPlanarYUVLuminanceSource extends LuminanceSource {
+
+  private static final int THUMBNAIL_SCALE_FACTOR = 2;
+
+  private final byte[] yuvData;
+  private final int dataWidth;
+  private final int dataHeight;
+  private final int left;
+  private final int top;
+  private final boolean rotated;
+  private final LuminanceBufferPool pool;
+  private byte[] matrix;
+
+  /**
+   * @param yuvData    the camera frame, unrotated
+   * @param dataWidth  width of the camera frame
+   * @param dataHeight height of the camera frame
+   * @param left       left of the crop, in rotated coordinates
+   * @param top        top of the crop, in rotated coordinates
+   * @param width      width of the crop
+   * @param height     height of the crop
+   * @param rotated    whether to present the frame rotated 90 degrees clockwise
+   * @param pool       where to get the matrix buffer from; may be null to allocate
+   */
+  public RotatedPlanarYUVLuminanceSource(byte[] yuvData,
+                                         int dataWidth,
+                                         int dataHeight,
+                                         int left,
+                                         int top,
+                                         int width,
+                                         int height,
+                                         boolean rotated,
+                                         LuminanceBufferPool pool) {
+    super(width, height);
+
+    int imageWidth = rotated ? dataHeight : dataWidth;
+    int imageHeight = rotated ? dataWidth : dataHeight;
+    if (left < 0 || top < 0 || left + width > imageWidth || top + height > imageHeight) {
+      throw new IllegalArgumentException("Crop rectangle does not fit within image data.");
+    }
+
+    this.yuvData = yuvData;
+    this.dataWidth = dataWidth;
+    this.dataHeight = dataHeight;
+    this.left = left;
+    this.top = top;
+    this.rotated = rotated;
+    this.pool = pool;
+  }
+
+  @Override
+  public byte[] getRow(int y, byte[] row) {
+    if (y < 0 || y >= getHeight()) {
+      throw new IllegalArgumentException("Requested row is outside the image: " + y);
+    }
+    int width = getWidth();
+    if (row == null || row.length < width) {
+      row = new byte[width];
+    }
+    if (matrix != null) {
+      System.arraycopy(matrix, y * width, row, 0, width);
+    } else {
+      copyRow(y, row, 0);
+    }
+    return row;
+  }
+
+  @Override
+  public byte[] getMatrix() {
+    if (matrix == null) {
+      int width = getWidth();
+      int height = getHeight();
+      byte[] result = pool == null ? new byte[width * height] : pool.acquire(width * height);
+      for (int y = 0; y < height; y++) {
+        copyRow(y, result, y * width);
+      }
+      matrix = result;
+    }
+    return matrix;
+  }
+
+  /**
+   * Copies row y of the crop into out, starting at offset.
+   */
+  private void copyRow(int y, byte[] out, int offset) {
+    int width = getWidth();
+    byte[] yuv = yuvData;
+    if (!rotated) {
+      System.arraycopy(yuv, (y + top) * dataWidth + left, out, offset, width);
+      return;
+    }
+    // Rotated (x, y) is unrotated (y, dataHeight - 1 - x): walk up one column of the frame.
+    int inputOffset = (dataHeight - 1 - left) * dataWidth + y + top;
+    for (int x = 0; x < width; x++) {
+      out[offset + x] = yuv[inputOffset];
+      inputOffset -= dataWidth;
+    }
+  }
+
+  /**
+   * Returns the matrix buffer to the pool, if one was taken.
+   */
+  public void release() {
+    if (matrix != null && pool != null) {
+      pool.release(matrix);
+    }
+    matrix = null;
+  }
+
+  @Override
+  public boolean isCropSupported() {
+    return true;
+  }
+
+  @Override
+  public RotatedPlanarYUVLuminanceSource crop(int left, int top, int width, int height) {
+    return new RotatedPlanarYUVLuminanceSource(yuvData,
+                                               dataWidth,
+                                               dataHeight,
+                                               this.left + left,
+                                               this.top + top,
+                                               width,
+                                               height,
+                                               rotated,
+                                               pool);
+  }
+
+  public int[] renderThumbnail() {
+    int width = getWidth() / THUMBNAIL_SCALE_FACTOR;
+    int height = getHeight() / THUMBNAIL_SCALE_FACTOR;
+    int[] pixels = new int[width * height];
+    byte[] yuv = yuvData;
+    for (int y = 0; y < height; y++) {
+      int outputOffset = y * width;
+      int ry = top + y * THUMBNAIL_SCALE_FACTOR;
+      for (int x = 0; x < width; x++) {
+        int rx = left + x * THUMBNAIL_SCALE_FACTOR;
+        int inputOffset = rotated ? (dataHeight - 1 - rx) * dataWidth + ry : ry * dataWidth + rx;
+        int grey = yuv[inputOffset] & 0xff;
+        pixels[outputOffset + x] = 0xFF000000 | (grey * 0x00010101);
+      }
+    }
+    return pixels;
+  }
+
+  /**
+   * @return width of image from {@link #renderThumbnail()}
+   */
+  public int getThumbnailWidth() {
+    return getWidth() / THUMBNAIL_SCALE_FACTOR;
+  }
+
+  /**
+   * @return height of image from {@link #renderThumbnail()}
+   */
+  public int getThumbnailHeight() {
+    return getHeight() / THUMBNAIL_SCALE_FACTOR;
+  }
+
+}
@@ -0,0 +1,56 @@
+package org.dync.zxinglibrary.decod;
+
+/**
+ * Skips decoding frames of a scene that has not changed since a frame of it last failed to decode,
+ * such as a scanner pointed at an empty counter. A scene counts as changed once any cell of its
+ * {@link SceneSignature} moves by more than the threshold. Unchanged scenes are still decoded
+ * again once per recheck interval, in case focus or exposure settled on something readable.
+ *
+ * <p>Shared by the workers of one {@link DecodeEngine}.</p>
+ */
+final class SceneChangeGate {
+
+  private final int threshold;
+  private final long recheckInterval;
+  private final int[] failedSignature = new int[SceneSignature.GRID * SceneSignature.GRID];
+  private boolean hasFailedSignature;
+  private long lastAttempt;
+
+  /**
+   * @param threshold       largest change of a cell's mean luminance (0-255) still considered
+   *                        the same scene; 0 disables the gate
+   * @param recheckInterval how often an unchanged scene is decoded anyway, in milliseconds
+   */
+  SceneChangeGate(int threshold, long recheckInterval) {
+    this.threshold = threshold;
+    this.recheckInterval = recheckInterval;
+  }
+
+  boolean isEnabled() {
+    return threshold > 0;
+  }
+
+  /**
+   * @param signature signature of the frame about to be decoded
+   * @param now       current time in milliseconds, from a monotonic clock
+   * @return false if the frame should be skipped
+   */
+  synchronized boolean shouldDecode(SceneSignature signature, long now) {
+    if (!isEnabled() || !hasFailedSignature || now - lastAttempt >= recheckInterval ||
+        SceneSignature.maxDifference(signature.means, failedSignature) > threshold) {
+      lastAttempt = now;
+      return true;
+    }
+    return false;
+  }
+
+  synchronized void decodeFailed(SceneSignature signature) {
+    System.arraycopy(signature.means, 0, failedSignature, 0, failedSignature.length);
+    hasFailedSignature = true;
+  }
+
+  synchronized void decodeSucceeded() {
+    hasFailedSignature = false;
+  }
+
+}
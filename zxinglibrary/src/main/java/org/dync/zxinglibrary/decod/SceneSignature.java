@@ -0,0 +1,63 @@
+package org.dync.zxinglibrary.decod;
+
+import com.google.zxing.LuminanceSource;
+
+import java.util.Arrays;
+
+/**
+ * A coarse fingerprint of a frame: the mean luminance of each cell of a {@link #GRID} x
+ * {@link #GRID} grid laid over it. Only a few rows per grid row and a few pixels per cell are
+ * sampled, so computing it costs a tiny fraction of a binarization.
+ *
+ * <p>Reuses its arrays from one frame to the next; one instance per decode thread.</p>
+ */
+final class SceneSignature {
+
+  static final int GRID = 32;
+  private static final int ROWS_PER_CELL = 2;
+  private static final int PIXELS_PER_CELL_ROW = 8;
+
+  final int[] means = new int[GRID * GRID];
+  private final int[] sums = new int[GRID * GRID];
+  private final int[] counts = new int[GRID * GRID];
+  private byte[] row;
+
+  void compute(LuminanceSource source) {
+    int width = source.getWidth();
+    int height = source.getHeight();
+    Arrays.fill(sums, 0);
+    Arrays.fill(counts, 0);
+    for (int gy = 0; gy < GRID; gy++) {
+      int cellTop = gy * height / GRID;
+      int cellHeight = (gy + 1) * height / GRID - cellTop;
+      for (int r = 0; r < ROWS_PER_CELL && r < cellHeight; r++) {
+        row = source.getRow(cellTop + (2 * r + 1) * cellHeight / (2 * ROWS_PER_CELL), row);
+        for (int gx = 0; gx < GRID; gx++) {
+          int cellLeft = gx * width / GRID;
+          int cellRight = (gx + 1) * width / GRID;
+          int step = Math.max(1, (cellRight - cellLeft) / PIXELS_PER_CELL_ROW);
+          int cell = gy * GRID + gx;
+          for (int x = cellLeft; x < cellRight; x += step) {
+            sums[cell] += row[x] & 0xff;
+            counts[cell]++;
+          }
+        }
+      }
+    }
+    for (int i = 0; i < means.length; i++) {
+      means[i] = counts[i] == 0 ? 0 : sums[i] / counts[i];
+    }
+  }
+
+  /**
+   * @return the largest change of any cell's mean luminance between the two signatures
+   */
+  static int maxDifference(int[] a, int[] b) {
+    int max = 0;
+    for (int i = 0; i < a.length; i++) {
+      max = Math.max(max, Math.abs(a[i] - b[i]));
+    }
+    return max;
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.Binarizer;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Tests {@link BinarizerArena}.
+ */
+public final class BinarizerArenaTestCase extends Assert {
+
+  private static final int WIDTH = 640;
+  private static final int HEIGHT = 480;
+  private static final int FRAMES = 50;
+
+  @Test
+  public void testSameOutputAsWithoutArena() throws NotFoundException {
+    BinarizerArena arena = new BinarizerArena();
+    for (int seed = 0; seed < 3; seed++) {
+      LuminanceSource source = StripedImages.createImage(WIDTH, HEIGHT, seed);
+      assertEquals(new HybridBinarizer(source).getBlackMatrix(),
+                   new HybridBinarizer(source, arena).getBlackMatrix());
+      assertEquals(new GlobalHistogramBinarizer(source).getBlackMatrix(),
+                   new GlobalHistogramBinarizer(source, arena).getBlackMatrix());
+      BitArray expected = new GlobalHistogramBinarizer(source).getBlackRow(HEIGHT / 2, null);
+      BitArray actual = new GlobalHistogramBinarizer(source, arena).getBlackRow(HEIGHT / 2, null);
+      assertEquals(expected.toString(), actual.toString());
+    }
+  }
+
+  @Test
+  public void testArenaReusesMatrix() throws NotFoundException {
+    BinarizerArena arena = new BinarizerArena();
+    LuminanceSource firstFrame = StripedImages.createImage(WIDTH, HEIGHT, 0);
+    LuminanceSource secondFrame = StripedImages.createImage(WIDTH, HEIGHT, 1);
+    BitMatrix first = new HybridBinarizer(firstFrame, arena).getBlackMatrix();
+    BitMatrix second = new HybridBinarizer(secondFrame, arena).getBlackMatrix();
+    assertSame(first, second);
+    assertEquals(new HybridBinarizer(secondFrame).getBlackMatrix(), second);
+  }
+
+  @Test
+  public void testNoPerFrameAllocation() throws NotFoundException {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+    Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+    allocations.setThreadAllocatedMemoryEnabled(true);
+
+    BinarizerArena arena = new BinarizerArena();
+    LuminanceSource[] frames = new LuminanceSource[FRAMES];
+    for (int i = 0; i < FRAMES; i++) {
+      frames[i] = StripedImages.createImage(WIDTH, HEIGHT, i % 3);
+    }
+    BitArray row = new BitArray(WIDTH);
+    long threadId = Thread.currentThread().getId();
+    long baseline = measureOverhead(allocations, threadId);
+    long allocated = 0;
+    // The first rounds size the arena and warm up the code; the last one must not allocate
+    for (int round = 0; round < 3; round++) {
+      Binarizer[] hybrid = new Binarizer[FRAMES];
+      Binarizer[] global = new Binarizer[FRAMES];
+      for (int i = 0; i < FRAMES; i++) {
+        hybrid[i] = new HybridBinarizer(frames[i], arena);
+        global[i] = new GlobalHistogramBinarizer(frames[i], arena);
+      }
+      long before = allocations.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < FRAMES; i++) {
+        hybrid[i].getBlackMatrix();
+        global[i].getBlackRow(i, row);
+      }
+      allocated = allocations.getThreadAllocatedBytes(threadId) - before - baseline;
+    }
+    assertEquals("Bytes allocated over " + FRAMES + " frames", 0L, allocated);
+
+    // Sanity check that the measurement would have seen per-frame allocations
+    long before = allocations.getThreadAllocatedBytes(threadId);
+    new HybridBinarizer(frames[0]).getBlackMatrix();
+    allocated = allocations.getThreadAllocatedBytes(threadId) - before - baseline;
+    assertTrue(allocated >= (long) WIDTH * HEIGHT / 8);
+  }
+
+  private static long measureOverhead(com.sun.management.ThreadMXBean allocations, long threadId) {
+    long before = allocations.getThreadAllocatedBytes(threadId);
+    return allocations.getThreadAllocatedBytes(threadId) - before;
+  }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests the word-level operations of {@link BitMatrix} and {@link BitArray} against bit-by-bit
+ * equivalents.
+ */
+public final class BitMatrixTestCase extends Assert {
+
+  @Test
+  public void testRotate90() {
+    Random random = new Random(0x90);
+    int[][] sizes = {{1, 1}, {32, 32}, {33, 31}, {100, 7}, {65, 130}};
+    for (int[] size : sizes) {
+      int width = size[0];
+      int height = size[1];
+      BitMatrix matrix = createRandom(random, width, height);
+      BitMatrix expected = new BitMatrix(height, width);
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          if (matrix.get(x, y)) {
+            expected.set(y, width - 1 - x);
+          }
+        }
+      }
+      matrix.rotate90();
+      assertEquals(expected, matrix);
+    }
+  }
+
+  @Test
+  public void testGetRegion() {
+    Random random = new Random(0x4E);
+    BitMatrix matrix = createRandom(random, 150, 90);
+    for (int i = 0; i < 200; i++) {
+      int left = random.nextInt(150);
+      int top = random.nextInt(90);
+      int width = 1 + random.nextInt(150 - left);
+      int height = 1 + random.nextInt(90 - top);
+      BitMatrix expected = new BitMatrix(width, height);
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          if (matrix.get(left + x, top + y)) {
+            expected.set(x, y);
+          }
+        }
+      }
+      assertEquals(expected, matrix.getRegion(left, top, width, height));
+    }
+  }
+
+  @Test
+  public void testPopulationCount() {
+    Random random = new Random(0xC0);
+    BitMatrix matrix = createRandom(random, 150, 90);
+    for (int i = 0; i < 200; i++) {
+      int left = random.nextInt(150);
+      int top = random.nextInt(90);
+      int width = random.nextInt(151 - left);
+      int height = random.nextInt(91 - top);
+      int expected = 0;
+      for (int y = top; y < top + height; y++) {
+        for (int x = left; x < left + width; x++) {
+          if (matrix.get(x, y)) {
+            expected++;
+          }
+        }
+      }
+      assertEquals(expected, matrix.getPopulationCount(left, top, width, height));
+    }
+  }
+
+  @Test
+  public void testAndXor() {
+    Random random = new Random(0xA0);
+    BitMatrix a = createRandom(random, 70, 40);
+    BitMatrix b = createRandom(random, 70, 40);
+    BitMatrix and = a.clone();
+    and.and(b);
+    BitMatrix xor = a.clone();
+    xor.xor(b);
+    for (int y = 0; y < 40; y++) {
+      for (int x = 0; x < 70; x++) {
+        assertEquals(a.get(x, y) && b.get(x, y), and.get(x, y));
+        assertEquals(a.get(x, y) != b.get(x, y), xor.get(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testRunLengths() {
+    BitArray row = new BitArray(100);
+    row.setRange(3, 5);
+    row.setRange(40, 90);
+    int[] runs = new int[4];
+    assertEquals(4, row.getRunLengths(0, runs));
+    assertArrayEquals(new int[] {3, 2, 35, 50}, runs);
+    assertEquals(4, row.getRunLengths(4, runs));
+    assertArrayEquals(new int[] {1, 35, 50, 10}, runs);
+    // Ran off the end
+    assertEquals(1, row.getRunLengths(95, runs));
+    assertEquals(5, runs[0]);
+    assertEquals(2, row.getPreviousUnset(4));
+    assertEquals(4, row.getPreviousSet(39));
+    assertEquals(-1, row.getPreviousSet(2));
+  }
+
+  private static BitMatrix createRandom(Random random, int width, int height) {
+    BitMatrix matrix = new BitMatrix(width, height);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        if (random.nextBoolean()) {
+          matrix.set(x, y);
+        }
+      }
+    }
+    return matrix;
+  }
+
+}
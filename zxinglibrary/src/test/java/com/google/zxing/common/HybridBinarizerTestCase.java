@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests {@link HybridBinarizer}.
+ */
+public final class HybridBinarizerTestCase extends Assert {
+
+  // Heights that leave the last band of block rows short, and a last block row overlapping the one
+  // above it
+  private static final int[][] SIZES = {{1285, 1031}, {640, 256}, {641, 263}, {300, 391}};
+
+  @Test
+  public void testBandsSameAsSerial() throws NotFoundException {
+    final ExecutorService pool = Executors.newFixedThreadPool(3);
+    final AtomicInteger helpers = new AtomicInteger();
+    Executor counting = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        helpers.incrementAndGet();
+        pool.execute(command);
+      }
+    };
+    Executor inline = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        command.run();
+      }
+    };
+    try {
+      for (int[] size : SIZES) {
+        LuminanceSource source = StripedImages.createImage(size[0], size[1], size[0]);
+        BitMatrix expected = new HybridBinarizer(source).getBlackMatrix();
+        assertEquals(expected, new HybridBinarizer(source, null, pool).getBlackMatrix());
+        // As many helpers as there are bands to share, whatever the processors here
+        assertEquals(expected, new HybridBinarizer(source, null, counting, 4).getBlackMatrix());
+        assertEquals(expected, new HybridBinarizer(source, null, inline, 4).getBlackMatrix());
+        assertEquals(expected,
+                     new HybridBinarizer(source, new BinarizerArena(), counting, 4).getBlackMatrix());
+      }
+      // The first image alone has 8 bands, so 3 helpers for each of its 2 passes
+      assertTrue(helpers.get() >= 2 * 3);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+}
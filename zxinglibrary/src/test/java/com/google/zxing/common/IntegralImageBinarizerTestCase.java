@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.LuminanceSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests {@link IntegralImageBinarizer}.
+ */
+public final class IntegralImageBinarizerTestCase extends Assert {
+
+  private static final int WIDTH = 97;
+  private static final int HEIGHT = 61;
+
+  @Test
+  public void testMatchesDirectWindowSums() {
+    LuminanceSource source = StripedImages.createImage(WIDTH, HEIGHT, 0);
+    // The last window is taller than the image, so every band is clipped
+    for (int windowSize : new int[] {3, 15, 41, 125}) {
+      assertEquals(threshold(source, IntegralImageBinarizer.Method.SAUVOLA, windowSize, 0.2),
+                   new IntegralImageBinarizer(source, IntegralImageBinarizer.Method.SAUVOLA,
+                                              windowSize, 0.2).getBlackMatrix());
+      assertEquals(threshold(source, IntegralImageBinarizer.Method.BRADLEY, windowSize, 0.15),
+                   new IntegralImageBinarizer(source, IntegralImageBinarizer.Method.BRADLEY,
+                                              windowSize, 0.15).getBlackMatrix());
+    }
+  }
+
+  @Test
+  public void testStreamedRowsMatchMatrix() throws Exception {
+    LuminanceSource source = StripedImages.createImage(WIDTH, HEIGHT, 1);
+    BitMatrix matrix = new IntegralImageBinarizer(source).getBlackMatrix();
+
+    IntegralImageBinarizer streaming = new IntegralImageBinarizer(source);
+    BitArray row = null;
+    for (int y = 0; y < HEIGHT; y++) {
+      row = streaming.getBlackRow(y, row);
+      assertEquals(matrix.getRow(y, null).toString(), row.toString());
+    }
+
+    // Out of order, skipping ahead and going back
+    IntegralImageBinarizer random = new IntegralImageBinarizer(source);
+    Random r = new Random(1);
+    for (int i = 0; i < 100; i++) {
+      int y = r.nextInt(HEIGHT);
+      row = random.getBlackRow(y, row);
+      assertEquals(matrix.getRow(y, null).toString(), row.toString());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvenWindow() {
+    new IntegralImageBinarizer(StripedImages.createImage(WIDTH, HEIGHT, 0),
+                               IntegralImageBinarizer.Method.SAUVOLA, 40, 0.2);
+  }
+
+  private static BitMatrix threshold(LuminanceSource source,
+                                     IntegralImageBinarizer.Method method,
+                                     int windowSize,
+                                     double k) {
+    int radius = windowSize / 2;
+    byte[] luminances = source.getMatrix();
+    BitMatrix matrix = new BitMatrix(WIDTH, HEIGHT);
+    for (int y = 0; y < HEIGHT; y++) {
+      int top = Math.max(0, y - radius);
+      int bottom = Math.min(HEIGHT - 1, y + radius);
+      for (int x = 0; x < WIDTH; x++) {
+        int left = Math.max(0, x - radius);
+        int right = Math.min(WIDTH - 1, x + radius);
+        long sum = 0;
+        long squareSum = 0;
+        for (int yy = top; yy <= bottom; yy++) {
+          for (int xx = left; xx <= right; xx++) {
+            int value = luminances[yy * WIDTH + xx] & 0xFF;
+            sum += value;
+            squareSum += value * value;
+          }
+        }
+        double inverseCount = 1.0 / ((right - left + 1) * (bottom - top + 1));
+        double mean = sum * inverseCount;
+        double threshold = mean * (1.0 - k);
+        if (method == IntegralImageBinarizer.Method.SAUVOLA) {
+          double variance = squareSum * inverseCount - mean * mean;
+          threshold += mean * (k / 128) * Math.sqrt(Math.max(variance, 0.0));
+        }
+        if ((luminances[y * WIDTH + x] & 0xFF) <= threshold) {
+          matrix.set(x, y);
+        }
+      }
+    }
+    return matrix;
+  }
+
+}
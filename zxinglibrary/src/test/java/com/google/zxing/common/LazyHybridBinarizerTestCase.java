@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests {@link LazyHybridBinarizer}.
+ */
+public final class LazyHybridBinarizerTestCase extends Assert {
+
+  // Sizes that are and aren't multiples of the block and tile sizes
+  private static final int[][] SIZES = {{320, 240}, {333, 181}, {45, 70}, {1285, 723}};
+
+  @Test
+  public void testSameBitsAsHybridBinarizer() throws NotFoundException {
+    for (int[] size : SIZES) {
+      LuminanceSource source = StripedImages.createImage(size[0], size[1], 0);
+      BitMatrix expected = new HybridBinarizer(source).getBlackMatrix();
+
+      // Read a bit at a time, in no particular order
+      BitMatrix lazy = new LazyHybridBinarizer(source).getBlackMatrix();
+      Random r = new Random(size[0]);
+      for (int i = 0; i < 2000; i++) {
+        int x = r.nextInt(size[0]);
+        int y = r.nextInt(size[1]);
+        assertEquals(expected.get(x, y), lazy.get(x, y));
+      }
+      BitArray row = null;
+      for (int y = 0; y < size[1]; y += 7) {
+        row = lazy.getRow(y, row);
+        assertEquals(expected.getRow(y, null).toString(), row.toString());
+      }
+      assertEquals(expected, lazy);
+    }
+  }
+
+  @Test
+  public void testWritesKeepTheirTile() throws NotFoundException {
+    LuminanceSource source = StripedImages.createImage(320, 240, 1);
+    BitMatrix expected = new HybridBinarizer(source).getBlackMatrix().clone();
+    BitMatrix lazy = new LazyHybridBinarizer(source).getBlackMatrix();
+    // Writing first must not lose the rest of the tile, nor be undone when the tile is binarized
+    expected.flip(100, 100);
+    lazy.flip(100, 100);
+    expected.setRegion(200, 10, 50, 50);
+    lazy.setRegion(200, 10, 50, 50);
+    assertEquals(expected.getPopulationCount(0, 0, 320, 240), lazy.getPopulationCount(0, 0, 320, 240));
+    assertEquals(expected, lazy);
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link LuminancePyramid}.
+ */
+public final class LuminancePyramidTestCase extends Assert {
+
+  @Test
+  public void testLevelSizes() {
+    LuminancePyramid pyramid = new LuminancePyramid(createImage(1000, 601), 3, 100);
+    assertEquals(3, pyramid.getLevelCount());
+    assertEquals(500, pyramid.getLevel(1).getWidth());
+    assertEquals(300, pyramid.getLevel(1).getHeight());
+    assertEquals(250, pyramid.getLevel(2).getWidth());
+    assertEquals(150, pyramid.getLevel(2).getHeight());
+    assertEquals(4, LuminancePyramid.getScale(2));
+  }
+
+  @Test
+  public void testStopsAtMinDimension() {
+    assertEquals(2, new LuminancePyramid(createImage(1000, 400), 3, 150).getLevelCount());
+    assertEquals(1, new LuminancePyramid(createImage(1000, 400), 1, 1).getLevelCount());
+  }
+
+  @Test
+  public void testBoxFilter() {
+    LuminanceSource image = createImage(6, 4);
+    byte[] pixels = image.getMatrix();
+    byte[] halved = new LuminancePyramid(image, 2, 1).getLevel(1).getMatrix();
+    assertEquals(3 * 2, halved.length);
+    for (int y = 0; y < 2; y++) {
+      for (int x = 0; x < 3; x++) {
+        int i = 2 * y * 6 + 2 * x;
+        int sum = (pixels[i] & 0xff) + (pixels[i + 1] & 0xff) + (pixels[i + 6] & 0xff) + (pixels[i + 7] & 0xff);
+        assertEquals((sum + 2) / 4, halved[y * 3 + x] & 0xff);
+      }
+    }
+  }
+
+  private static LuminanceSource createImage(int width, int height) {
+    byte[] pixels = new byte[width * height];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = (byte) (i * 37);
+    }
+    return new PlanarYUVLuminanceSource(pixels, width, height, 0, 0, width, height, false);
+  }
+
+}
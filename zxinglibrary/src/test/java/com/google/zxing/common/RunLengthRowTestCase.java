@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests {@link RunLengthRow} against the {@link BitArray} it encodes.
+ */
+public final class RunLengthRowTestCase extends Assert {
+
+  @Test
+  public void testMatchesBitArray() {
+    Random random = new Random(0x5EED);
+    for (int i = 0; i < 100; i++) {
+      BitArray row = createRandom(random, 1 + random.nextInt(300));
+      RunLengthRow runs = new RunLengthRow(row);
+      assertEquals(row, runs.toBitArray(null));
+      int size = row.getSize();
+      for (int x = 0; x < size; x++) {
+        int run = runs.getRunIndex(x);
+        assertTrue(runs.getRunStart(run) <= x && x < runs.getRunEnd(run));
+        assertEquals(row.get(x), runs.isSet(run));
+        assertEquals(row.getNextSet(x), runs.getNextSet(x));
+        assertEquals(row.getNextUnset(x), runs.getNextUnset(x));
+        int end = x + random.nextInt(size - x + 1);
+        assertEquals(row.isRange(x, end, true), runs.isRange(x, end, true));
+        assertEquals(row.isRange(x, end, false), runs.isRange(x, end, false));
+      }
+      int start = random.nextInt(size);
+      int[] expected = new int[5];
+      int[] actual = new int[5];
+      assertEquals(row.getRunLengths(start, expected), runs.getRunLengths(start, actual));
+      assertArrayEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testReversed() {
+    Random random = new Random(0xBACC);
+    RunLengthRow reversed = new RunLengthRow();
+    for (int i = 0; i < 100; i++) {
+      BitArray row = createRandom(random, 1 + random.nextInt(300));
+      RunLengthRow runs = new RunLengthRow(row);
+      reversed.setReversed(runs);
+      runs.setReversed(runs);
+      row.reverse();
+      assertEquals(row, reversed.toBitArray(null));
+      assertEquals(row, runs.toBitArray(null));
+    }
+  }
+
+  private static BitArray createRandom(Random random, int size) {
+    BitArray row = new BitArray(size);
+    boolean set = random.nextBoolean();
+    for (int i = 0; i < size; i++) {
+      if (random.nextInt(4) == 0) {
+        set = !set;
+      }
+      if (set) {
+        row.set(i);
+      }
+    }
+    return row;
+  }
+
+}
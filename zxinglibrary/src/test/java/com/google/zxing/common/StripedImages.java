@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.PlanarYUVLuminanceSource;
+
+import java.util.Random;
+
+/**
+ * Images for the binarizer tests.
+ */
+final class StripedImages {
+
+  private StripedImages() {
+  }
+
+  /**
+   * @param seed seeds the noise, so the same arguments always give the same image
+   * @return dark and light stripes under a repeating gradient, with noise, and a flat area in the
+   *  top left corner for the black points to spread into
+   */
+  static LuminanceSource createImage(int width, int height, int seed) {
+    Random r = new Random(seed);
+    byte[] luminances = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int value;
+        if (x < width / 4 && y < height / 3) {
+          value = 200;
+        } else {
+          int shade = (x + y) / 8 % 64;
+          value = (((x / 5 + y / 9) & 0x01) == 0 ? 30 : 150) + shade;
+        }
+        luminances[y * width + x] = (byte) Math.min(255, value + r.nextInt(12));
+      }
+    }
+    return new PlanarYUVLuminanceSource(luminances, width, height, 0, 0, width, height, false);
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common.reedsolomon;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Checks that {@link ReusableReedSolomonDecoder} leaves exactly what {@link ReedSolomonDecoder}
+ * does, and fails in the same way, on blocks with anything from no errors to far too many, and
+ * that its byte variant corrects what the int one does.
+ */
+public final class ReusableReedSolomonDecoderTestCase extends Assert {
+
+  @Test
+  public void testMatchesReedSolomonDecoder() {
+    Random random = new Random(0xC0DE);
+    GenericGF[] fields = {
+        GenericGF.QR_CODE_FIELD_256, GenericGF.DATA_MATRIX_FIELD_256, GenericGF.AZTEC_PARAM,
+        GenericGF.AZTEC_DATA_6, GenericGF.AZTEC_DATA_10, GenericGF.AZTEC_DATA_12,
+    };
+    for (GenericGF field : fields) {
+      ReedSolomonEncoder encoder = new ReedSolomonEncoder(field);
+      ReedSolomonDecoder decoder = new ReedSolomonDecoder(field);
+      ReusableReedSolomonDecoder reusable = new ReusableReedSolomonDecoder(field);
+      for (int i = 0; i < 2000; i++) {
+        int ecCount = 2 + random.nextInt(Math.min(field.getSize() - 3, 40));
+        int dataCount = 1 + random.nextInt(Math.min(field.getSize() - 1 - ecCount, 60));
+        int[] block = new int[dataCount + ecCount];
+        for (int j = 0; j < dataCount; j++) {
+          block[j] = random.nextInt(field.getSize());
+        }
+        encoder.encode(block, ecCount);
+        int errors = random.nextInt(ecCount + 2);
+        for (int j = 0; j < errors; j++) {
+          block[random.nextInt(block.length)] = random.nextInt(field.getSize());
+        }
+        int[] expected = block.clone();
+        String expectedFailure = decode(decoder, expected, ecCount);
+        int[] actual = block.clone();
+        String actualFailure = decode(reusable, actual, ecCount);
+        assertEquals(expectedFailure, actualFailure);
+        assertArrayEquals(expected, actual);
+        if (field.getSize() <= 256 && expectedFailure == null) {
+          byte[] bytes = new byte[block.length];
+          for (int j = 0; j < block.length; j++) {
+            bytes[j] = (byte) block[j];
+          }
+          try {
+            reusable.decode(bytes, ecCount);
+          } catch (ReedSolomonException e) {
+            fail(e.toString());
+          }
+          for (int j = 0; j < block.length; j++) {
+            assertEquals(expected[j], bytes[j] & 0xFF);
+          }
+        }
+      }
+    }
+  }
+
+  private static String decode(Object decoder, int[] received, int twoS) {
+    try {
+      if (decoder instanceof ReedSolomonDecoder) {
+        ((ReedSolomonDecoder) decoder).decode(received, twoS);
+      } else {
+        ((ReusableReedSolomonDecoder) decoder).decode(received, twoS);
+      }
+      return null;
+    } catch (ReedSolomonException | RuntimeException e) {
+      return e.toString();
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.Reader;
+import com.google.zxing.Result;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests {@link ParallelMultipleBarcodeReader}.
+ */
+public final class ParallelMultipleBarcodeReaderTestCase extends Assert {
+
+  private static final int CODE_SIZE = 150;
+  private static final int SPACING = 250;
+  // Areas are shared with 3 helpers, whatever the processors here
+  private static final int THREADS = 4;
+
+  private static final ReaderFactory QR_CODE_READERS = new ReaderFactory() {
+    @Override
+    public Reader createReader() {
+      return new QRCodeReader();
+    }
+  };
+
+  @Test
+  public void testFindsSameCodesAsSerial() throws Exception {
+    String[][] texts = {{"A1", "A2", "A3"}, {"B1", "B2", "B3"}};
+    LuminanceSource source = QRCodeGrid.createImage(texts, CODE_SIZE, SPACING);
+    ExecutorService pool = Executors.newFixedThreadPool(3);
+    try {
+      Result[] parallel = new ParallelMultipleBarcodeReader(QR_CODE_READERS, pool, THREADS)
+          .decodeMultiple(new BinaryBitmap(new HybridBinarizer(source)));
+      Result[] serial = new GenericMultipleBarcodeReader(new QRCodeReader())
+          .decodeMultiple(new BinaryBitmap(new HybridBinarizer(source)));
+      assertEquals(sortedTexts(serial), sortedTexts(parallel));
+      // Top to bottom, then left to right
+      assertEquals("A1", parallel[0].getText());
+      assertEquals("B3", parallel[parallel.length - 1].getText());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testKeepsSameTextInDifferentPlaces() throws Exception {
+    String[][] texts = {{"SAME", "OTHER", "SAME"}};
+    LuminanceSource source = QRCodeGrid.createImage(texts, CODE_SIZE, SPACING);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      Result[] results = new ParallelMultipleBarcodeReader(QR_CODE_READERS, pool, THREADS)
+          .decodeMultiple(new BinaryBitmap(new HybridBinarizer(source)));
+      assertEquals(Arrays.asList("OTHER", "SAME", "SAME"), sortedTexts(results));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static List<String> sortedTexts(Result[] results) {
+    List<String> texts = new ArrayList<>();
+    for (Result result : results) {
+      texts.add(result.getText());
+    }
+    Collections.sort(texts);
+    return texts;
+  }
+
+}
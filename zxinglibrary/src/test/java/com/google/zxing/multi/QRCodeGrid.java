@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import java.util.Arrays;
+
+/**
+ * Images of many QR Codes, for the multiple barcode reader tests.
+ */
+final class QRCodeGrid {
+
+  private QRCodeGrid() {
+  }
+
+  /**
+   * @param texts one row of the grid per array; null leaves its place blank
+   * @param codeSize side of each code, quiet zone included, in pixels
+   * @param spacing distance between the centers of neighbouring codes, in pixels
+   * @return the codes on white, each centered in its own {@code spacing} square
+   */
+  static LuminanceSource createImage(String[][] texts, int codeSize, int spacing) throws WriterException {
+    int width = texts[0].length * spacing;
+    int height = texts.length * spacing;
+    byte[] luminances = new byte[width * height];
+    Arrays.fill(luminances, (byte) 0xFF);
+    QRCodeWriter writer = new QRCodeWriter();
+    for (int row = 0; row < texts.length; row++) {
+      for (int column = 0; column < texts[row].length; column++) {
+        if (texts[row][column] == null) {
+          continue;
+        }
+        BitMatrix code = writer.encode(texts[row][column], BarcodeFormat.QR_CODE, codeSize, codeSize);
+        int left = column * spacing + (spacing - codeSize) / 2;
+        int top = row * spacing + (spacing - codeSize) / 2;
+        for (int y = 0; y < code.getHeight(); y++) {
+          for (int x = 0; x < code.getWidth(); x++) {
+            if (code.get(x, y)) {
+              luminances[(top + y) * width + left + x] = 0;
+            }
+          }
+        }
+      }
+    }
+    return new PlanarYUVLuminanceSource(luminances, width, height, 0, 0, width, height, false);
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Reader;
+import com.google.zxing.Result;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.multi.qrcode.QRCodeMultiReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests {@link TiledMultipleBarcodeReader}.
+ */
+public final class TiledMultipleBarcodeReaderTestCase extends Assert {
+
+  // Version 1 codes with their quiet zone, 29 modules of 5 pixels
+  private static final int CODE_SIZE = 150;
+  private static final float MODULE_SIZE = 5.0f;
+  private static final int SPACING = 200;
+  // Tiles are shared with 3 helpers, whatever the processors here
+  private static final int THREADS = 4;
+
+  private static final ReaderFactory QR_CODE_READERS = new ReaderFactory() {
+    @Override
+    public Reader createReader() {
+      return new QRCodeMultiReader();
+    }
+  };
+
+  @Test
+  public void testFindsEveryCodeOnceInOrder() throws Exception {
+    String[][] texts = new String[4][6];
+    List<String> expected = new ArrayList<>();
+    for (int row = 0; row < texts.length; row++) {
+      for (int column = 0; column < texts[row].length; column++) {
+        texts[row][column] = "TAG-" + row + column;
+        expected.add(texts[row][column]);
+      }
+    }
+    LuminanceSource source = QRCodeGrid.createImage(texts, CODE_SIZE, SPACING);
+    ExecutorService pool = Executors.newFixedThreadPool(3);
+    try {
+      // Tiles as small as the codes allow, so most codes are found in several
+      Result[] results = new TiledMultipleBarcodeReader(QR_CODE_READERS, pool, MODULE_SIZE, 30, THREADS)
+          .decodeMultiple(new BinaryBitmap(new HybridBinarizer(source)));
+      assertEquals(expected, texts(results));
+
+      results = new TiledMultipleBarcodeReader(QR_CODE_READERS, pool, MODULE_SIZE,
+                                               TiledMultipleBarcodeReader.DEFAULT_MAX_CODE_MODULES, THREADS)
+          .decodeMultiple(new BinaryBitmap(new HybridBinarizer(source)));
+      assertEquals(expected, texts(results));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testKeepsSameTextInDifferentPlaces() throws Exception {
+    String[][] texts = {{"SAME", "OTHER", "SAME"}, {"SAME", "SAME", "SAME"}};
+    LuminanceSource source = QRCodeGrid.createImage(texts, CODE_SIZE, SPACING);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      Result[] results = new TiledMultipleBarcodeReader(QR_CODE_READERS, pool, MODULE_SIZE, 30, THREADS)
+          .decodeMultiple(new BinaryBitmap(new HybridBinarizer(source)));
+      assertEquals(Arrays.asList("SAME", "OTHER", "SAME", "SAME", "SAME", "SAME"), texts(results));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testNothingFound() throws Exception {
+    LuminanceSource source = QRCodeGrid.createImage(new String[][] {{null, null, null}}, CODE_SIZE, SPACING);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      new TiledMultipleBarcodeReader(QR_CODE_READERS, pool, MODULE_SIZE)
+          .decodeMultiple(new BinaryBitmap(new HybridBinarizer(source)));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static List<String> texts(Result[] results) {
+    List<String> texts = new ArrayList<>();
+    for (Result result : results) {
+      texts.add(result.getText());
+    }
+    return texts;
+  }
+
+}
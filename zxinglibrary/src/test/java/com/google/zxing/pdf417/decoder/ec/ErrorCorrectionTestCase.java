@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.pdf417.decoder.ec;
+
+import com.google.zxing.ChecksumException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests both {@link ErrorCorrection} algorithms on randomly damaged PDF417 codewords.
+ */
+public final class ErrorCorrectionTestCase extends Assert {
+
+  private static final ModulusGF FIELD = ModulusGF.PDF417_GF;
+
+  private final ErrorCorrection euclidean = new ErrorCorrection(ErrorCorrection.Algorithm.EUCLIDEAN);
+  private final ErrorCorrection berlekampMassey =
+      new ErrorCorrection(ErrorCorrection.Algorithm.BERLEKAMP_MASSEY);
+
+  @Test
+  public void testErrors() throws ChecksumException {
+    Random random = new Random(0x417);
+    for (int i = 0; i < 300; i++) {
+      int numECCodewords = 2 << random.nextInt(7);
+      int[] codewords = encode(random, 1 + random.nextInt(200), numECCodewords);
+      int[] received = codewords.clone();
+      int errors = damage(random, received, random.nextInt(numECCodewords / 2 + 1), null);
+
+      int[] expected = received.clone();
+      assertEquals(errors, euclidean.decode(expected, numECCodewords, null));
+      assertArrayEquals(codewords, expected);
+      int[] actual = received.clone();
+      assertEquals(errors, berlekampMassey.decode(actual, numECCodewords, null));
+      assertArrayEquals(codewords, actual);
+    }
+  }
+
+  @Test
+  public void testErrorsAndErasures() throws ChecksumException {
+    Random random = new Random(0x929);
+    for (int i = 0; i < 300; i++) {
+      int numECCodewords = 4 << random.nextInt(6);
+      int[] codewords = encode(random, 1 + random.nextInt(200), numECCodewords);
+      int[] received = codewords.clone();
+      int[] erasures = new int[random.nextInt(numECCodewords + 1)];
+      damage(random, received, (numECCodewords - erasures.length) / 2, erasures);
+      berlekampMassey.decode(received, numECCodewords, erasures);
+      assertArrayEquals(codewords, received);
+    }
+  }
+
+  @Test
+  public void testTooManyErrors() {
+    Random random = new Random(0xBAD);
+    int failures = 0;
+    for (int i = 0; i < 300; i++) {
+      int numECCodewords = 4 << random.nextInt(6);
+      int[] received = encode(random, 1 + random.nextInt(200), numECCodewords);
+      damage(random, received, numECCodewords / 2 + 1 + random.nextInt(numECCodewords / 2), null);
+      try {
+        berlekampMassey.decode(received, numECCodewords, null);
+      } catch (ChecksumException ignored) {
+        failures++;
+      }
+    }
+    // A few may decode to another valid codeword, but nearly all should be rejected
+    assertTrue(failures > 290);
+  }
+
+  /**
+   * Changes a number of distinct codewords to other values, and zeroes the erasures.
+   *
+   * @param erasures filled in with distinct positions, not among those in error; may be null
+   * @return number of codewords changed, including erasures
+   */
+  private static int damage(Random random, int[] received, int errors, int[] erasures) {
+    errors = Math.min(errors, received.length - (erasures == null ? 0 : erasures.length));
+    boolean[] damaged = new boolean[received.length];
+    int changed = 0;
+    for (int i = 0; i < errors; i++) {
+      int position = pickUndamaged(random, damaged);
+      received[position] = (received[position] + 1 + random.nextInt(FIELD.getSize() - 1)) % FIELD.getSize();
+      changed++;
+    }
+    if (erasures != null) {
+      for (int i = 0; i < erasures.length; i++) {
+        int position = pickUndamaged(random, damaged);
+        erasures[i] = position;
+        if (received[position] != 0) {
+          received[position] = 0;
+          changed++;
+        }
+      }
+    }
+    return changed;
+  }
+
+  private static int pickUndamaged(Random random, boolean[] damaged) {
+    int position;
+    do {
+      position = random.nextInt(damaged.length);
+    } while (damaged[position]);
+    damaged[position] = true;
+    return position;
+  }
+
+  /**
+   * @return random data codewords followed by their EC codewords, the negated remainder of
+   *  data(x) x^numECCodewords divided by the product of (x - 3^j) for j in [1, numECCodewords]
+   */
+  private static int[] encode(Random random, int numDataCodewords, int numECCodewords) {
+    int[] generator = {1};
+    for (int j = 1; j <= numECCodewords; j++) {
+      generator = new ModulusPoly(FIELD, generator)
+          .multiply(new ModulusPoly(FIELD, new int[] {1, FIELD.subtract(0, FIELD.exp(j))}))
+          .getCoefficients();
+    }
+    int[] codewords = new int[numDataCodewords + numECCodewords];
+    int[] remainder = new int[numDataCodewords + numECCodewords];
+    for (int i = 0; i < numDataCodewords; i++) {
+      codewords[i] = random.nextInt(FIELD.getSize());
+      remainder[i] = codewords[i];
+    }
+    for (int i = 0; i < numDataCodewords; i++) {
+      int scale = remainder[i];
+      for (int j = 0; j < generator.length; j++) {
+        remainder[i + j] = FIELD.subtract(remainder[i + j], FIELD.multiply(scale, generator[j]));
+      }
+    }
+    for (int i = numDataCodewords; i < codewords.length; i++) {
+      codewords[i] = FIELD.subtract(0, remainder[i]);
+    }
+    return codewords;
+  }
+
+}
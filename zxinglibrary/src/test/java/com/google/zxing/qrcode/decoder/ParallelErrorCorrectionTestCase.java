@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.qrcode.decoder;
+
+import com.google.zxing.ChecksumException;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests {@link ParallelErrorCorrection}, and {@link Decoder} with
+ * {@link DecodeHintType#ERROR_CORRECTION_EXECUTOR}.
+ */
+public final class ParallelErrorCorrectionTestCase extends Assert {
+
+  private static final int VERSION = 30;
+  private static final ErrorCorrectionLevel EC_LEVEL = ErrorCorrectionLevel.M;
+  private static final int THREADS = 4;
+
+  @Test
+  public void testSameTextWithAndWithoutExecutor() throws Exception {
+    String text = createText();
+    BitMatrix bits = encode(text);
+    assertTrue(Version.getVersionForNumber(VERSION).getECBlocksForLevel(EC_LEVEL).getNumBlocks() >=
+               ParallelErrorCorrection.MIN_BLOCKS);
+    damage(bits);
+
+    assertEquals(text, new Decoder().decode(bits.clone()).getText());
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Map<DecodeHintType,Object> hints = new EnumMap<>(DecodeHintType.class);
+      hints.put(DecodeHintType.ERROR_CORRECTION_EXECUTOR, executor);
+      assertEquals(text, new Decoder().decode(bits.clone(), hints).getText());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testSameBytesAsCleanSymbol() throws Exception {
+    BitMatrix bits = encode(createText());
+    byte[] expected = getDataCodewords(getDataBlocks(bits.clone()));
+    damage(bits);
+
+    DataBlock[] dataBlocks = getDataBlocks(bits);
+    byte[] resultBytes = new byte[expected.length];
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS - 1);
+    AtomicInteger helpers = new AtomicInteger();
+    try {
+      // However many processors there are here, the blocks are shared out among THREADS threads
+      new ParallelErrorCorrection(dataBlocks, resultBytes).correctErrors(counting(executor, helpers), THREADS);
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(THREADS - 1, helpers.get());
+    assertArrayEquals(expected, resultBytes);
+  }
+
+  @Test
+  public void testBlockPastCapacity() throws Exception {
+    DataBlock[] dataBlocks = getDataBlocks(encode(createText()));
+
+    // One more error than one block can correct; the rest are clean
+    byte[] codewords = dataBlocks[dataBlocks.length / 2].getCodewords();
+    int errors = Version.getVersionForNumber(VERSION).getECBlocksForLevel(EC_LEVEL).getECCodewordsPerBlock() / 2 + 1;
+    for (int i = 0; i < errors; i++) {
+      codewords[i] ^= (byte) 0x5A;
+    }
+
+    byte[] resultBytes = new byte[getDataCodewords(dataBlocks).length];
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS - 1);
+    AtomicInteger helpers = new AtomicInteger();
+    try {
+      new ParallelErrorCorrection(dataBlocks, resultBytes).correctErrors(counting(executor, helpers), THREADS);
+      fail("Expected ChecksumException");
+    } catch (ChecksumException ce) {
+      // good
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(THREADS - 1, helpers.get());
+  }
+
+  private static Executor counting(final Executor executor, final AtomicInteger helpers) {
+    return new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        helpers.incrementAndGet();
+        executor.execute(command);
+      }
+    };
+  }
+
+  // A few errors in every block on average, well within what each can correct
+  private static void damage(BitMatrix bits) {
+    Version version = Version.getVersionForNumber(VERSION);
+    BitMatrix functionPattern = version.buildFunctionPattern();
+    Random r = new Random(VERSION);
+    int flips = 3 * version.getECBlocksForLevel(EC_LEVEL).getNumBlocks();
+    while (flips > 0) {
+      int x = r.nextInt(bits.getWidth());
+      int y = r.nextInt(bits.getHeight());
+      if (!functionPattern.get(x, y)) {
+        bits.flip(x, y);
+        flips--;
+      }
+    }
+  }
+
+  private static DataBlock[] getDataBlocks(BitMatrix bits) throws Exception {
+    BitMatrixParser parser = new BitMatrixParser(bits);
+    Version version = parser.readVersion();
+    return DataBlock.getDataBlocks(parser.readCodewords(), version, EC_LEVEL);
+  }
+
+  // As they are before correction, so only right for a clean symbol
+  private static byte[] getDataCodewords(DataBlock[] dataBlocks) {
+    int totalBytes = 0;
+    for (DataBlock dataBlock : dataBlocks) {
+      totalBytes += dataBlock.getNumDataCodewords();
+    }
+    byte[] dataCodewords = new byte[totalBytes];
+    int offset = 0;
+    for (DataBlock dataBlock : dataBlocks) {
+      System.arraycopy(dataBlock.getCodewords(), 0, dataCodewords, offset, dataBlock.getNumDataCodewords());
+      offset += dataBlock.getNumDataCodewords();
+    }
+    return dataCodewords;
+  }
+
+  private static String createText() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; text.length() < 800; i++) {
+      text.append("Block ").append(i).append(';');
+    }
+    return text.toString();
+  }
+
+  // The symbol without quiet zone, one pixel per module
+  private static BitMatrix encode(String text) throws Exception {
+    Map<EncodeHintType,Object> hints = new EnumMap<>(EncodeHintType.class);
+    hints.put(EncodeHintType.QR_VERSION, VERSION);
+    ByteMatrix matrix = Encoder.encode(text, EC_LEVEL, hints).getMatrix();
+    BitMatrix bits = new BitMatrix(matrix.getWidth(), matrix.getHeight());
+    for (int y = 0; y < matrix.getHeight(); y++) {
+      for (int x = 0; x < matrix.getWidth(); x++) {
+        if (matrix.get(x, y) == 1) {
+          bits.set(x, y);
+        }
+      }
+    }
+    return bits;
+  }
+
+}
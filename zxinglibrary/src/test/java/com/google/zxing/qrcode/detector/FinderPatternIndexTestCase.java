@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.qrcode.detector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests {@link FinderPatternIndex}.
+ */
+public final class FinderPatternIndexTestCase extends Assert {
+
+  private static final int WIDTH = 500;
+  private static final int HEIGHT = 300;
+
+  @Test
+  public void testFindsSameAsScanningAll() {
+    Random r = new Random(0xF1);
+    List<FinderPattern> centers = new ArrayList<>();
+    FinderPatternIndex index = new FinderPatternIndex(WIDTH, HEIGHT);
+    for (int n = 0; n < 5000; n++) {
+      // Crowded, with some estimates just outside the image
+      float moduleSize = 1.0f + 20.0f * r.nextFloat() * r.nextFloat();
+      float i = -2.0f + (HEIGHT + 4) * r.nextFloat();
+      float j = -2.0f + (WIDTH + 4) * r.nextFloat();
+      int expected = scanAll(centers, moduleSize, i, j);
+      assertEquals(expected, index.find(centers, moduleSize, i, j));
+      if (expected >= 0) {
+        FinderPattern center = centers.get(expected);
+        FinderPattern combined = center.combineEstimate(i, j, moduleSize);
+        centers.set(expected, combined);
+        index.move(expected, center, combined);
+      } else {
+        FinderPattern center = new FinderPattern(j, i, moduleSize);
+        centers.add(center);
+        index.add(center);
+      }
+      if (n == 2500) {
+        Collections.shuffle(centers, r);
+        index.rebuild(centers);
+      }
+    }
+  }
+
+  private static int scanAll(List<FinderPattern> centers, float moduleSize, float i, float j) {
+    for (int index = 0; index < centers.size(); index++) {
+      if (centers.get(index).aboutEquals(moduleSize, i, j)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+}